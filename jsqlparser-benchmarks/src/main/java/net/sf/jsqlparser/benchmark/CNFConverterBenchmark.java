@@ -0,0 +1,75 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.util.cnfexpression.CNFConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the CNF conversion of predicates: an OR of <code>width</code> ANDs of three
+ * comparisons, as generated by filter UIs. Its CNF form has 3^width clauses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CNFConverterBenchmark {
+
+    /**
+     * Predicates with a CNF form small enough to compute it completely.
+     */
+    @State(Scope.Thread)
+    public static class Narrow {
+
+        @Param({"4", "8"})
+        private int width;
+
+        private Expression predicate;
+
+        @Setup
+        public void setUp() throws JSQLParserException {
+            predicate = predicate(width);
+        }
+    }
+
+    /**
+     * @return an OR of <code>width</code> ANDs of three comparisons
+     */
+    public static Expression predicate(int width) throws JSQLParserException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < width; i++) {
+            builder.append(i == 0 ? "" : " OR ")
+                    .append("(status = ").append(i)
+                    .append(" AND price > ").append(i * 10)
+                    .append(" AND name LIKE 'a").append(i).append("%')");
+        }
+        return CCJSqlParserUtil.parseCondExpression(builder.toString());
+    }
+
+    @Benchmark
+    public Expression cnf(Narrow narrow) {
+        return CNFConverter.convertToCNF(narrow.predicate);
+    }
+}
@@ -0,0 +1,69 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.util.deparser.StatementDeParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deparsing of already parsed statements. One operation is the deparsing of one statement of the
+ * selected class, the statements are used round robin.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeParseBenchmark {
+
+    @Param({"ALL", "SELECT", "INSERT", "UPDATE", "DELETE", "CREATE_TABLE", "OTHER"})
+    public SqlCorpus.StatementClass statementClass;
+
+    private Statement[] statements;
+    private int index;
+
+    @Setup
+    public void setup() {
+        List<Statement> list = SqlCorpus.parsedStatements(statementClass);
+        statements = list.toArray(new Statement[list.size()]);
+    }
+
+    private Statement next() {
+        Statement statement = statements[index];
+        index = (index + 1) % statements.length;
+        return statement;
+    }
+
+    @Benchmark
+    public String statementDeParser() {
+        StringBuilder buffer = new StringBuilder();
+        next().accept(new StatementDeParser(buffer));
+        return buffer.toString();
+    }
+
+    @Benchmark
+    public String toStringDeParse() {
+        return next().toString();
+    }
+}
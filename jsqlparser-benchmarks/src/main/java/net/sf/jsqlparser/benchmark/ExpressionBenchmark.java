@@ -0,0 +1,114 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectExpressionItem;
+import net.sf.jsqlparser.statement.select.SelectItem;
+import net.sf.jsqlparser.statement.update.Update;
+import net.sf.jsqlparser.util.cnfexpression.CNFConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and CNF conversion of expressions. The select item expressions and the where
+ * conditions of the corpus statements are used as input, round robin.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExpressionBenchmark {
+
+    private String[] expressions;
+    private String[] conditions;
+    private Expression[] parsedConditions;
+    private int expressionIndex;
+    private int conditionIndex;
+
+    @Setup
+    public void setup() throws JSQLParserException {
+        List<String> expressionList = new ArrayList<>();
+        List<Expression> conditionList = new ArrayList<>();
+        for (Statement statement : SqlCorpus.parsedStatements(SqlCorpus.StatementClass.ALL)) {
+            if (statement instanceof Select && ((Select) statement).getSelectBody() instanceof PlainSelect) {
+                PlainSelect plainSelect = (PlainSelect) ((Select) statement).getSelectBody();
+                for (SelectItem item : plainSelect.getSelectItems()) {
+                    if (item instanceof SelectExpressionItem) {
+                        expressionList.add(((SelectExpressionItem) item).getExpression().toString());
+                    }
+                }
+                addCondition(conditionList, plainSelect.getWhere());
+            } else if (statement instanceof Update) {
+                addCondition(conditionList, ((Update) statement).getWhere());
+            } else if (statement instanceof Delete) {
+                addCondition(conditionList, ((Delete) statement).getWhere());
+            }
+        }
+        expressions = expressionList.toArray(new String[expressionList.size()]);
+        parsedConditions = conditionList.toArray(new Expression[conditionList.size()]);
+        conditions = new String[parsedConditions.length];
+        for (int i = 0; i < conditions.length; i++) {
+            conditions[i] = parsedConditions[i].toString();
+        }
+    }
+
+    private static void addCondition(List<Expression> list, Expression condition) {
+        if (condition == null) {
+            return;
+        }
+        try {
+            CNFConverter.convertToCNF(condition);
+            list.add(condition);
+        } catch (RuntimeException ex) {
+            // condition not supported by the CNFConverter
+        }
+    }
+
+    @Benchmark
+    public Expression parseExpression() throws JSQLParserException {
+        String expression = expressions[expressionIndex];
+        expressionIndex = (expressionIndex + 1) % expressions.length;
+        return CCJSqlParserUtil.parseExpression(expression);
+    }
+
+    @Benchmark
+    public Expression parseCondExpression() throws JSQLParserException {
+        String condition = conditions[conditionIndex];
+        conditionIndex = (conditionIndex + 1) % conditions.length;
+        return CCJSqlParserUtil.parseCondExpression(condition);
+    }
+
+    @Benchmark
+    public Expression convertToCNF() {
+        Expression condition = parsedConditions[conditionIndex];
+        conditionIndex = (conditionIndex + 1) % parsedConditions.length;
+        return CNFConverter.convertToCNF(condition);
+    }
+}
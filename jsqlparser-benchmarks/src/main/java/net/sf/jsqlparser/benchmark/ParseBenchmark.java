@@ -0,0 +1,81 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.Statements;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of single statements and of statement lists. One operation of {@link #parse()} is the
+ * parsing of one statement of the selected class, the statements are used round robin. One
+ * operation of {@link #parseStatements()} is the parsing of all statements of the selected class
+ * as one script.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseBenchmark {
+
+    @Param({"ALL", "SELECT", "INSERT", "UPDATE", "DELETE", "CREATE_TABLE", "OTHER"})
+    public SqlCorpus.StatementClass statementClass;
+
+    private String[] statements;
+    private String script;
+    private int index;
+
+    @Setup
+    public void setup() throws JSQLParserException {
+        List<String> list = new ArrayList<>();
+        StringBuilder buf = new StringBuilder();
+        for (String sql : SqlCorpus.statements(statementClass)) {
+            list.add(sql);
+            try {
+                CCJSqlParserUtil.parseStatements(sql + ";\n");
+                buf.append(sql).append(";\n");
+            } catch (JSQLParserException ex) {
+                // not usable within a statement list
+            }
+        }
+        statements = list.toArray(new String[list.size()]);
+        script = buf.toString();
+        CCJSqlParserUtil.parseStatements(script);
+    }
+
+    @Benchmark
+    public Statement parse() throws JSQLParserException {
+        String sql = statements[index];
+        index = (index + 1) % statements.length;
+        return CCJSqlParserUtil.parse(sql);
+    }
+
+    @Benchmark
+    public Statements parseStatements() throws JSQLParserException {
+        return CCJSqlParserUtil.parseStatements(script);
+    }
+}
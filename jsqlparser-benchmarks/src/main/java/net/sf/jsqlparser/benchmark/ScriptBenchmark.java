@@ -0,0 +1,72 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statements;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Steady state throughput of the parser on a script of a hundred typical statements.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScriptBenchmark {
+
+    private static final String[] STATEMENTS = {
+        "SELECT a.id, a.name, b.value FROM schema1.table_a a INNER JOIN table_b b ON a.id = b.a_id "
+        + "WHERE a.created >= CURRENT_TIMESTAMP AND b.value <> 'x' ORDER BY a.name DESC",
+        "SELECT count(*), max(price) AS max_price FROM orders WHERE status IN ('open', 'paid') "
+        + "GROUP BY customer_id HAVING count(*) > 10",
+        "SELECT * FROM (SELECT id, row_number() OVER (PARTITION BY kind ORDER BY ts) AS rn FROM events) t "
+        + "WHERE t.rn = 1",
+        "SELECT CASE WHEN amount > 100 THEN 'large' ELSE 'small' END, coalesce(note, '') || '!' FROM payments",
+        "SELECT DATE '2020-01-01', TIMESTAMP '2020-01-01 10:00:00', INTERVAL '1' DAY FROM dual",
+        "INSERT INTO customers (id, first_name, last_name, email) VALUES (1, 'John', 'Doe', 'john@doe.com')",
+        "UPDATE accounts SET balance = balance - 10.5, modified = CURRENT_DATE WHERE id = 42",
+        "DELETE FROM sessions WHERE last_access < CURRENT_TIMESTAMP",
+        "CREATE TABLE audit (id BIGINT NOT NULL, created TIMESTAMP WITH TIME ZONE, "
+        + "payload VARCHAR (4000), PRIMARY KEY (id))",
+        "MERGE INTO target t USING source s ON (t.id = s.id) WHEN MATCHED THEN UPDATE SET t.value = s.value"};
+
+    /**
+     * The script, also used by the benchmarks of the current version.
+     */
+    public static final String SCRIPT;
+
+    static {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            for (String statement : STATEMENTS) {
+                builder.append(statement).append(";\n");
+            }
+        }
+        SCRIPT = builder.toString();
+    }
+
+    @Benchmark
+    public Statements parseStatements() throws JSQLParserException {
+        return CCJSqlParserUtil.parseStatements(SCRIPT);
+    }
+}
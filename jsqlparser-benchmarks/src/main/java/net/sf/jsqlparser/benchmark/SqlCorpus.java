@@ -0,0 +1,225 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.create.table.CreateTable;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.update.Update;
+
+/**
+ * The statements used as benchmark input. They are read from the corpora of the main project's
+ * test resources: <code>simple_parsing.txt</code>, <code>RUBiS-select-requests.txt</code>,
+ * <code>RUBiS-create-requests.txt</code> and the oracle-tests directory. Only statements the
+ * current parser accepts are kept, so the same corpus can be used to compare different versions
+ * of JSqlParser.
+ */
+public final class SqlCorpus {
+
+    /**
+     * Grouping of the corpus by the parsed statement type. ALL contains every statement.
+     */
+    public enum StatementClass {
+        ALL, SELECT, INSERT, UPDATE, DELETE, CREATE_TABLE, OTHER;
+
+        public static StatementClass of(Statement statement) {
+            if (statement instanceof Select) {
+                return SELECT;
+            } else if (statement instanceof Insert) {
+                return INSERT;
+            } else if (statement instanceof Update) {
+                return UPDATE;
+            } else if (statement instanceof Delete) {
+                return DELETE;
+            } else if (statement instanceof CreateTable) {
+                return CREATE_TABLE;
+            }
+            return OTHER;
+        }
+    }
+
+    private static final String ORACLE_TESTS = "/net/sf/jsqlparser/statement/oracle-tests";
+
+    private static List<String> allStatements;
+
+    private SqlCorpus() {
+    }
+
+    /**
+     * All parseable statements of the given class.
+     */
+    public static List<String> statements(StatementClass statementClass) {
+        List<String> result = new ArrayList<>();
+        for (String sql : allStatements()) {
+            try {
+                Statement statement = CCJSqlParserUtil.parse(sql);
+                if (statementClass == StatementClass.ALL || StatementClass.of(statement) == statementClass) {
+                    result.add(sql);
+                }
+            } catch (JSQLParserException ex) {
+                // the corpus contains statements the parser does not support yet
+            }
+        }
+        if (result.isEmpty()) {
+            throw new IllegalStateException("no statements of class " + statementClass + " in corpus");
+        }
+        return result;
+    }
+
+    /**
+     * All parseable statements of the given class, already parsed.
+     */
+    public static List<Statement> parsedStatements(StatementClass statementClass) {
+        List<Statement> result = new ArrayList<>();
+        for (String sql : statements(statementClass)) {
+            try {
+                result.add(CCJSqlParserUtil.parse(sql));
+            } catch (JSQLParserException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        return result;
+    }
+
+    private static synchronized List<String> allStatements() {
+        if (allStatements == null) {
+            List<String> list = new ArrayList<>();
+            try {
+                readSimpleParsing(list);
+                readRubisRequests("/RUBiS-select-requests.txt", list);
+                readRubisRequests("/RUBiS-create-requests.txt", list);
+                readOracleTests(list);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            allStatements = Collections.unmodifiableList(list);
+        }
+        return allStatements;
+    }
+
+    private static BufferedReader open(String resource) {
+        InputStream is = SqlCorpus.class.getResourceAsStream(resource);
+        if (is == null) {
+            throw new IllegalStateException("corpus resource " + resource + " not found");
+        }
+        return new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Same format as used by CCJSqlParserManagerTest: statements are separated by empty lines,
+     * lines starting with // are comments.
+     */
+    private static void readSimpleParsing(List<String> list) throws IOException {
+        try (BufferedReader in = open("/simple_parsing.txt")) {
+            StringBuilder buf = new StringBuilder();
+            String line;
+            while ((line = getLine(in)) != null) {
+                if (line.isEmpty()) {
+                    addIfNotEmpty(list, buf);
+                } else {
+                    buf.append(line).append("\n");
+                }
+            }
+            addIfNotEmpty(list, buf);
+        }
+    }
+
+    /**
+     * Same format as used by SpeedTest and CreateTableTest: a statement is enclosed by #begin and
+     * #end, followed by its validity flag.
+     */
+    private static void readRubisRequests(String resource, List<String> list) throws IOException {
+        try (BufferedReader in = open(resource)) {
+            String line;
+            while ((line = getLine(in)) != null) {
+                if (!line.equals("#begin")) {
+                    continue;
+                }
+                StringBuilder buf = new StringBuilder();
+                while ((line = getLine(in)) != null && !line.equals("#end")) {
+                    buf.append(line).append("\n");
+                }
+                if ("true".equals(getLine(in))) {
+                    addIfNotEmpty(list, buf);
+                }
+            }
+        }
+    }
+
+    private static void readOracleTests(List<String> list) throws IOException {
+        URL url = SqlCorpus.class.getResource(ORACLE_TESTS);
+        if (url == null) {
+            throw new IllegalStateException("corpus resource " + ORACLE_TESTS + " not found");
+        }
+        try {
+            URI uri = url.toURI();
+            if ("jar".equals(uri.getScheme())) {
+                try (FileSystem fs = FileSystems.newFileSystem(uri, Collections.<String, Object>emptyMap())) {
+                    readSqlFiles(fs.getPath(ORACLE_TESTS), list);
+                }
+            } else {
+                readSqlFiles(Paths.get(uri), list);
+            }
+        } catch (URISyntaxException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private static void readSqlFiles(Path dir, List<String> list) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dir)) {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(".sql"))
+                    .sorted().collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            list.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void addIfNotEmpty(List<String> list, StringBuilder buf) {
+        if (buf.length() > 0) {
+            list.add(buf.toString());
+            buf.setLength(0);
+        }
+    }
+
+    private static String getLine(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (!line.startsWith("//")) {
+                break;
+            }
+        }
+        return line;
+    }
+}
@@ -0,0 +1,61 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.benchmark.current;
+
+import java.util.concurrent.TimeUnit;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.benchmark.CNFConverterBenchmark;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.util.cnfexpression.CNFConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the budgeted CNF conversion and the DNF conversion of the predicates of
+ * {@link CNFConverterBenchmark}, wider than a complete CNF conversion could handle. Their DNF
+ * form is the predicate itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NormalFormBenchmark {
+
+    @Param({"8", "32", "128"})
+    private int width;
+
+    private Expression predicate;
+
+    @Setup
+    public void setUp() throws JSQLParserException {
+        predicate = CNFConverterBenchmark.predicate(width);
+    }
+
+    @Benchmark
+    public Expression cnfWithBudget() {
+        return CNFConverter.convertToCNF(predicate, 1000);
+    }
+
+    @Benchmark
+    public Expression dnf() {
+        return CNFConverter.convertToDNF(predicate);
+    }
+}
@@ -0,0 +1,35 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser;
+
+import net.sf.jsqlparser.parser.ParseAbortedException;
+
+/**
+ * Parsing was stopped, because the time out of the parser elapsed or the parser was cancelled.
+ * The statement text may be valid.
+ */
+public class JSQLParserAbortedException extends JSQLParserException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean cancelled;
+
+    public JSQLParserAbortedException(ParseAbortedException cause) {
+        super(cause.getMessage(), cause);
+        this.cancelled = cause.isCancelled();
+    }
+
+    /**
+     * @return true, if the parser was cancelled, false if its time out elapsed
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
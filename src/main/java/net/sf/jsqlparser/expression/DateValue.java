@@ -20,6 +20,9 @@ public class DateValue extends ASTNodeAccessImpl implements Expression {
 
     private Date value;
 
+    public DateValue() {
+    }
+
     public DateValue(String value) {
         this.value = Date.valueOf(value.substring(1, value.length() - 1));
     }
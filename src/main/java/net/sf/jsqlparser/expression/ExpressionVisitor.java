@@ -15,6 +15,8 @@ import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
 import net.sf.jsqlparser.expression.operators.relational.*;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.statement.select.SubSelect;
+import net.sf.jsqlparser.util.cnfexpression.MultiAndExpression;
+import net.sf.jsqlparser.util.cnfexpression.MultiOrExpression;
 
 public interface ExpressionVisitor {
 
@@ -62,6 +64,10 @@ public interface ExpressionVisitor {
 
     void visit(OrExpression orExpression);
 
+    void visit(MultiAndExpression multiAndExpression);
+
+    void visit(MultiOrExpression multiOrExpression);
+
     void visit(Between between);
 
     void visit(EqualsTo equalsTo);
@@ -27,6 +27,9 @@ import net.sf.jsqlparser.statement.select.SelectItemVisitor;
 import net.sf.jsqlparser.statement.select.SelectVisitor;
 import net.sf.jsqlparser.statement.select.SubSelect;
 import net.sf.jsqlparser.statement.select.WithItem;
+import net.sf.jsqlparser.util.cnfexpression.MultiAndExpression;
+import net.sf.jsqlparser.util.cnfexpression.MultiOrExpression;
+import net.sf.jsqlparser.util.cnfexpression.MultipleExpression;
 
 public class ExpressionVisitorAdapter implements ExpressionVisitor, ItemsListVisitor, PivotVisitor, SelectItemVisitor {
 
@@ -50,9 +53,15 @@ public class ExpressionVisitorAdapter implements ExpressionVisitor, ItemsListVis
         if (function.getParameters() != null) {
             function.getParameters().accept(this);
         }
+        if (function.getNamedParameters() != null) {
+            function.getNamedParameters().accept(this);
+        }
         if (function.getKeep() != null) {
             function.getKeep().accept(this);
         }
+        if (function.getAttribute() != null) {
+            function.getAttribute().accept(this);
+        }
     }
 
     @Override
@@ -140,6 +149,16 @@ public class ExpressionVisitorAdapter implements ExpressionVisitor, ItemsListVis
         visitBinaryExpression(expr);
     }
 
+    @Override
+    public void visit(MultiAndExpression expr) {
+        visitMultipleExpression(expr);
+    }
+
+    @Override
+    public void visit(MultiOrExpression expr) {
+        visitMultipleExpression(expr);
+    }
+
     @Override
     public void visit(Between expr) {
         expr.getLeftExpression().accept(this);
@@ -255,12 +274,12 @@ public class ExpressionVisitorAdapter implements ExpressionVisitor, ItemsListVis
 
     @Override
     public void visit(AllComparisonExpression expr) {
-
+        visit(expr.getSubSelect());
     }
 
     @Override
     public void visit(AnyComparisonExpression expr) {
-
+        visit(expr.getSubSelect());
     }
 
     @Override
@@ -312,14 +331,28 @@ public class ExpressionVisitorAdapter implements ExpressionVisitor, ItemsListVis
         if (expr.getKeep() != null) {
             expr.getKeep().accept(this);
         }
-        for (OrderByElement element : expr.getOrderByElements()) {
-            element.getExpression().accept(this);
+        if (expr.getPartitionExpressionList() != null) {
+            expr.getPartitionExpressionList().accept(this);
+        }
+        if (expr.getOrderByElements() != null) {
+            for (OrderByElement element : expr.getOrderByElements()) {
+                element.getExpression().accept(this);
+            }
         }
 
-        if (expr.getWindowElement() != null) {
-            expr.getWindowElement().getRange().getStart().getExpression().accept(this);
-            expr.getWindowElement().getRange().getEnd().getExpression().accept(this);
-            expr.getWindowElement().getOffset().getExpression().accept(this);
+        WindowElement windowElement = expr.getWindowElement();
+        if (windowElement != null) {
+            if (windowElement.getRange() != null) {
+                visit(windowElement.getRange().getStart());
+                visit(windowElement.getRange().getEnd());
+            }
+            visit(windowElement.getOffset());
+        }
+    }
+
+    private void visit(WindowOffset offset) {
+        if (offset != null && offset.getExpression() != null) {
+            offset.getExpression().accept(this);
         }
     }
 
@@ -330,12 +363,19 @@ public class ExpressionVisitorAdapter implements ExpressionVisitor, ItemsListVis
 
     @Override
     public void visit(IntervalExpression expr) {
+        if (expr.getExpression() != null) {
+            expr.getExpression().accept(this);
+        }
     }
 
     @Override
     public void visit(OracleHierarchicalExpression expr) {
-        expr.getConnectExpression().accept(this);
-        expr.getStartExpression().accept(this);
+        if (expr.getConnectExpression() != null) {
+            expr.getConnectExpression().accept(this);
+        }
+        if (expr.getStartExpression() != null) {
+            expr.getStartExpression().accept(this);
+        }
     }
 
     @Override
@@ -345,8 +385,15 @@ public class ExpressionVisitorAdapter implements ExpressionVisitor, ItemsListVis
 
     @Override
     public void visit(ExpressionList expressionList) {
-        for (Expression expr : expressionList.getExpressions()) {
-            expr.accept(this);
+        if (expressionList instanceof LiteralExpressionList) {
+            LiteralExpressionList literals = (LiteralExpressionList) expressionList;
+            for (int i = 0; i < literals.size(); i++) {
+                literals.getExpression(i).accept(this);
+            }
+        } else if (expressionList.getExpressions() != null) {
+            for (Expression expr : expressionList.getExpressions()) {
+                expr.accept(this);
+            }
         }
     }
 
@@ -384,6 +431,12 @@ public class ExpressionVisitorAdapter implements ExpressionVisitor, ItemsListVis
         expr.getRightExpression().accept(this);
     }
 
+    protected void visitMultipleExpression(MultipleExpression expr) {
+        for (Expression child : expr.getList()) {
+            child.accept(this);
+        }
+    }
+
     @Override
     public void visit(JsonExpression jsonExpr) {
         visit(jsonExpr.getColumn());
@@ -27,6 +27,10 @@ public class IntervalExpression extends ASTNodeAccessImpl implements Expression
         this.intervalKeyword = intervalKeyword;
     }
 
+    public boolean isUsingIntervalKeyword() {
+        return intervalKeyword;
+    }
+
     public String getParameter() {
         return parameter;
     }
@@ -55,6 +55,14 @@ public class JsonExpression extends ASTNodeAccessImpl implements Expression {
         operators.add(operator);
     }
 
+    public List<String> getIdentList() {
+        return idents;
+    }
+
+    public List<String> getOperatorList() {
+        return operators;
+    }
+
     @Override
     public String toString() {
         StringBuilder b = new StringBuilder();
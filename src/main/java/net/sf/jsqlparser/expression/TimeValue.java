@@ -20,6 +20,9 @@ public class TimeValue extends ASTNodeAccessImpl implements Expression {
 
     private Time value;
 
+    public TimeValue() {
+    }
+
     public TimeValue(String value) {
         this.value = Time.valueOf(value.substring(1, value.length() - 1));
     }
@@ -0,0 +1,199 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.expression.operators.relational;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.StringValue;
+
+/**
+ * A list of integer and string literals, as in a IN (1, 2, 3) or a row of VALUES, which keeps the
+ * literals in arrays instead of expression objects. The parser builds them for lists made of such
+ * literals only, if literal lists are requested.
+ *
+ * As long as every literal is an integer, that prints like its long value, the values are kept in
+ * a long array. Otherwise the texts of the literals are packed into one buffer, with an array of
+ * their end offsets.
+ *
+ * The first call of {@link #getExpressions()} expands the literals into {@link LongValue} and
+ * {@link StringValue} objects, the list behaves like any other expression list afterwards.
+ * {@link #size()} and {@link #getExpression(int)} do not expand the list, the visitors and
+ * deparsers of the library use them to traverse the literals one by one.
+ */
+public class LiteralExpressionList extends ExpressionList {
+
+    private static final int LONG_DIGITS = 18;
+
+    private int size;
+    private long[] values = new long[10];
+    private StringBuilder texts;
+    private int[] ends;
+    private boolean compact = true;
+
+    public LiteralExpressionList() {
+    }
+
+    /**
+     * Copies the literals of the given list, without expanding it.
+     */
+    public LiteralExpressionList(LiteralExpressionList list) {
+        if (!list.compact) {
+            setExpressions(new ArrayList<>(list.getExpressions()));
+            return;
+        }
+        size = list.size;
+        if (list.texts == null) {
+            values = Arrays.copyOf(list.values, size);
+        } else {
+            values = null;
+            texts = new StringBuilder(list.texts);
+            ends = Arrays.copyOf(list.ends, size);
+        }
+    }
+
+    /**
+     * Adds a literal given by its SQL text, either an unsigned integer or a string literal.
+     */
+    public void addLiteral(String literal) {
+        if (!compact) {
+            super.getExpressions().add(toExpression(literal));
+            return;
+        }
+        if (isInteger(literal)) {
+            if (texts == null && literal.length() <= LONG_DIGITS
+                    && (literal.charAt(0) != '0' || literal.length() == 1)) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, grow(size));
+                }
+                values[size++] = Long.parseLong(literal);
+                return;
+            }
+            addText(literal);
+        } else if (literal.length() > 1 && literal.charAt(literal.length() - 1) == '\'') {
+            // the prefix is printed as StringValue prints it
+            addText(literal.charAt(0) == '\'' ? literal : new StringValue(literal).toString());
+        } else {
+            throw new IllegalArgumentException("Not an integer or string literal: " + literal);
+        }
+    }
+
+    private void addText(String literal) {
+        if (texts == null) {
+            texts = new StringBuilder();
+            ends = new int[values.length];
+            for (int i = 0; i < size; i++) {
+                texts.append(values[i]);
+                ends[i] = texts.length();
+            }
+            values = null;
+        }
+        if (size == ends.length) {
+            ends = Arrays.copyOf(ends, grow(size));
+        }
+        texts.append(literal);
+        ends[size++] = texts.length();
+    }
+
+    private static int grow(int length) {
+        return length + (length >> 1) + 1;
+    }
+
+    private static boolean isInteger(String literal) {
+        if (literal.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (!isDigit(literal.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static Expression toExpression(String literal) {
+        return isDigit(literal.charAt(0)) ? new LongValue(literal) : new StringValue(literal);
+    }
+
+    /**
+     * @return true, as long as the literals are kept in arrays, i.e. the list has not been expanded
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public int size() {
+        return compact ? size : super.getExpressions().size();
+    }
+
+    /**
+     * Gives the expression at the index. For a compact list a new expression is created for each
+     * call, changing it does not change the list.
+     */
+    public Expression getExpression(int index) {
+        if (!compact) {
+            return super.getExpressions().get(index);
+        }
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (texts == null) {
+            return new LongValue(values[index]);
+        }
+        return toExpression(texts.substring(index == 0 ? 0 : ends[index - 1], ends[index]));
+    }
+
+    @Override
+    public List<Expression> getExpressions() {
+        if (compact) {
+            List<Expression> expressions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                expressions.add(getExpression(i));
+            }
+            setExpressions(expressions);
+        }
+        return super.getExpressions();
+    }
+
+    @Override
+    public void setExpressions(List<Expression> list) {
+        compact = false;
+        values = null;
+        texts = null;
+        ends = null;
+        size = 0;
+        super.setExpressions(list);
+    }
+
+    @Override
+    public String toString() {
+        if (!compact) {
+            return super.toString();
+        }
+        StringBuilder builder = new StringBuilder("(");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            if (texts == null) {
+                builder.append(values[i]);
+            } else {
+                builder.append(texts, i == 0 ? 0 : ends[i - 1], ends[i]);
+            }
+        }
+        return builder.append(")").toString();
+    }
+}
@@ -38,12 +38,17 @@ public class MultiExpressionList implements ItemsList {
 
     public void addExpressionList(ExpressionList el) {
         if (!exprList.isEmpty()
-                && exprList.get(0).getExpressions().size() != el.getExpressions().size()) {
+                && size(exprList.get(0)) != size(el)) {
             throw new IllegalArgumentException("different count of parameters");
         }
         exprList.add(el);
     }
 
+    private static int size(ExpressionList list) {
+        return list instanceof LiteralExpressionList ? ((LiteralExpressionList) list).size()
+                : list.getExpressions().size();
+    }
+
     public void addExpressionList(List<Expression> list) {
         addExpressionList(new ExpressionList(list));
     }
@@ -0,0 +1,46 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+/**
+ * Base class of the generated {@link CCJSqlParser}. JavaCC generates and calls the trace methods
+ * only with the options DEBUG_PARSER and DEBUG_LOOKAHEAD, which the grammar-profiling profile of
+ * the build sets. They are declared here, so the {@link GrammarProfiler} can override them in
+ * every build. Otherwise they are never called.
+ */
+abstract class AbstractJSqlParser {
+
+    /**
+     * Called on entering a production, with the name of the production. Within a lookahead the
+     * name is followed by "(LOOKING AHEAD...)".
+     */
+    protected void trace_call(String s) {
+    }
+
+    /**
+     * Called on leaving a production. Within a lookahead the name is followed by
+     * "(LOOKAHEAD SUCCEEDED)" or "(LOOKAHEAD FAILED)". A lookahead, which reached its number of
+     * tokens, ends with an exception and leaves its productions without this call.
+     */
+    protected void trace_return(String s) {
+    }
+
+    /**
+     * Called for every consumed token.
+     */
+    protected void trace_token(Token t, String where) {
+    }
+
+    /**
+     * Called for every token visited by a lookahead, with the kind the lookahead expected.
+     */
+    protected void trace_scan(Token t1, int t2) {
+    }
+}
@@ -22,7 +22,7 @@ public class CCJSqlParserManager implements JSqlParser {
         try {
             return parser.Statement();
         } catch (Exception ex) {
-            throw new JSQLParserException(ex);
+            throw CCJSqlParserUtil.toJSQLParserException(ex);
         }
     }
 }
@@ -11,7 +11,11 @@ package net.sf.jsqlparser.parser;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.function.Consumer;
+import net.sf.jsqlparser.JSQLParserAbortedException;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.statement.Statement;
@@ -24,6 +28,8 @@ import net.sf.jsqlparser.statement.Statements;
  */
 public final class CCJSqlParserUtil {
 
+    private static final ThreadLocal<PooledParser> POOLED_PARSER = ThreadLocal.withInitial(PooledParser::new);
+
     private CCJSqlParserUtil() {
     }
 
@@ -32,7 +38,7 @@ public final class CCJSqlParserUtil {
         try {
             return parser.Statement();
         } catch (Exception ex) {
-            throw new JSQLParserException(ex);
+            throw toJSQLParserException(ex);
         }
     }
 
@@ -40,6 +46,10 @@ public final class CCJSqlParserUtil {
         return parse(sql, null);
     }
 
+    /**
+     * Parse a statement. The consumer allows to configure the parser before parsing, e.g.
+     * <code>parser -&gt; parser.withAstNodes(false)</code> to build only the statement object model.
+     */
     public static Statement parse(String sql, Consumer<CCJSqlParser> consumer) throws JSQLParserException {
         CCJSqlParser parser = new CCJSqlParser(new StringProvider(sql));
         if (consumer != null) {
@@ -48,7 +58,63 @@ public final class CCJSqlParserUtil {
         try {
             return parser.Statement();
         } catch (Exception ex) {
-            throw new JSQLParserException(ex);
+            throw toJSQLParserException(ex);
+        }
+    }
+
+    /**
+     * Parse a statement using a parser instance that is kept by the current thread and reset for
+     * every call. This avoids building the parser, token manager and jjtree state for each
+     * statement. A parser given to the consumer must not be kept after the call.
+     */
+    public static Statement parsePooled(String sql) throws JSQLParserException {
+        return parsePooled(sql, null);
+    }
+
+    public static Statement parsePooled(String sql, Consumer<CCJSqlParser> consumer) throws JSQLParserException {
+        PooledParser pooled = POOLED_PARSER.get();
+        if (pooled.inUse) {
+            return parse(sql, consumer);
+        }
+        pooled.inUse = true;
+        try {
+            CCJSqlParser parser = pooled.reset(sql);
+            if (consumer != null) {
+                consumer.accept(parser);
+            }
+            return parser.Statement();
+        } catch (Exception ex) {
+            throw toJSQLParserException(ex);
+        } finally {
+            pooled.inUse = false;
+        }
+    }
+
+    /**
+     * Parse a statement list using the parser instance kept by the current thread.
+     *
+     * @see #parsePooled(java.lang.String)
+     */
+    public static Statements parseStatementsPooled(String sqls) throws JSQLParserException {
+        return parseStatementsPooled(sqls, null);
+    }
+
+    public static Statements parseStatementsPooled(String sqls, Consumer<CCJSqlParser> consumer) throws JSQLParserException {
+        PooledParser pooled = POOLED_PARSER.get();
+        if (pooled.inUse) {
+            return parseStatements(sqls, consumer);
+        }
+        pooled.inUse = true;
+        try {
+            CCJSqlParser parser = pooled.reset(sqls);
+            if (consumer != null) {
+                consumer.accept(parser);
+            }
+            return parser.Statements();
+        } catch (Exception ex) {
+            throw toJSQLParserException(ex);
+        } finally {
+            pooled.inUse = false;
         }
     }
 
@@ -58,7 +124,7 @@ public final class CCJSqlParserUtil {
             parser.Statement();
             return parser.jjtree.rootNode();
         } catch (Exception ex) {
-            throw new JSQLParserException(ex);
+            throw toJSQLParserException(ex);
         }
     }
 
@@ -67,7 +133,7 @@ public final class CCJSqlParserUtil {
             CCJSqlParser parser = new CCJSqlParser(new StreamProvider(is));
             return parser.Statement();
         } catch (Exception ex) {
-            throw new JSQLParserException(ex);
+            throw toJSQLParserException(ex);
         }
     }
 
@@ -76,7 +142,29 @@ public final class CCJSqlParserUtil {
             CCJSqlParser parser = new CCJSqlParser(new StreamProvider(is, encoding));
             return parser.Statement();
         } catch (Exception ex) {
-            throw new JSQLParserException(ex);
+            throw toJSQLParserException(ex);
+        }
+    }
+
+    /**
+     * Parse a statement from an UTF-8 encoded file.
+     *
+     * @see MappedFileProvider
+     */
+    public static Statement parse(Path path) throws JSQLParserException {
+        return parse(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse a statement from a file, which is read using memory mapping.
+     *
+     * @see MappedFileProvider
+     */
+    public static Statement parse(Path path, Charset charset) throws JSQLParserException {
+        try (MappedFileProvider provider = new MappedFileProvider(path, charset)) {
+            return new CCJSqlParser(provider).Statement();
+        } catch (Exception ex) {
+            throw toJSQLParserException(ex);
         }
     }
 
@@ -94,9 +182,103 @@ public final class CCJSqlParserUtil {
             return expr;
         } catch (JSQLParserException ex) {
             throw ex;
+        } catch (ParseException | ParseAbortedException ex) {
+            throw toJSQLParserException(ex);
+        }
+    }
+
+    /**
+     * Parse a statement without throwing an exception, if it is invalid. A failure is cheap, since
+     * the parser only records where it stopped. This suits input, which is often no SQL at all.
+     *
+     * @see ParseResult
+     */
+    public static ParseResult<Statement> tryParse(String sql) {
+        return tryParse(sql, null);
+    }
+
+    /**
+     * Parse a statement without throwing an exception, if it is invalid. The consumer allows to
+     * configure the parser before parsing.
+     *
+     * @see #tryParse(java.lang.String)
+     */
+    public static ParseResult<Statement> tryParse(String sql, Consumer<CCJSqlParser> consumer) {
+        return tryParse(sql, consumer, CCJSqlParser::Statement, () -> parse(sql, consumer));
+    }
+
+    /**
+     * Parse an expression without throwing an exception, if it is invalid.
+     *
+     * @see #tryParse(java.lang.String)
+     */
+    public static ParseResult<Expression> tryParseExpression(String expression) {
+        return tryParseExpression(expression, true);
+    }
+
+    /**
+     * Parse an expression without throwing an exception, if it is invalid. If a partial parse is
+     * not allowed, the first token after the expression is a syntax error.
+     *
+     * @see #tryParse(java.lang.String)
+     */
+    public static ParseResult<Expression> tryParseExpression(String expression, boolean allowPartialParse) {
+        return tryParse(expression, null, parser -> {
+            Expression expr = parser.SimpleExpression();
+            if (!allowPartialParse && parser.getToken(1).kind != CCJSqlParserTokenManager.EOF) {
+                throw parser.generateParseException();
+            }
+            return expr;
+        }, () -> parseExpression(expression, allowPartialParse));
+    }
+
+    private static <T> ParseResult<T> tryParse(String sql, Consumer<CCJSqlParser> consumer,
+            ParserMethod<T> method, FailingParse failingParse) {
+        PooledParser pooled = POOLED_PARSER.get();
+        if (pooled.inUse) {
+            return tryParse(new TryParser(new StringProvider(sql)), consumer, method, failingParse);
+        }
+        pooled.inUse = true;
+        try {
+            return tryParse(pooled.reset(sql), consumer, method, failingParse);
+        } finally {
+            pooled.inUse = false;
+        }
+    }
+
+    private static <T> ParseResult<T> tryParse(TryParser parser, Consumer<CCJSqlParser> consumer,
+            ParserMethod<T> method, FailingParse failingParse) {
+        if (consumer != null) {
+            consumer.accept(parser);
+        }
+        parser.cheapSyntaxErrors = true;
+        try {
+            return ParseResult.parsed(method.parse(parser));
         } catch (ParseException ex) {
-            throw new JSQLParserException(ex);
+            Token token = parser.token.next != null ? parser.token.next : parser.token;
+            return ParseResult.syntaxError(token, () -> exceptionOf(failingParse));
+        } catch (TokenMgrException ex) {
+            SimpleCharStream stream = parser.token_source.input_stream;
+            return ParseResult.lexicalError(stream.getEndLine(), stream.getEndColumn(), new JSQLParserException(ex));
+        } catch (ParseAbortedException ex) {
+            return ParseResult.aborted(toJSQLParserException(ex));
+        } catch (RuntimeException ex) {
+            return ParseResult.invalid(parser.token, toJSQLParserException(ex));
+        } finally {
+            parser.cheapSyntaxErrors = false;
+        }
+    }
+
+    /**
+     * Parses again with the throwing method to get the full exception of a syntax error.
+     */
+    private static JSQLParserException exceptionOf(FailingParse failingParse) {
+        try {
+            failingParse.parse();
+        } catch (JSQLParserException ex) {
+            return ex;
         }
+        return new JSQLParserException("the syntax error could not be reproduced");
     }
 
     public static Expression parseCondExpression(String condExpr) throws JSQLParserException {
@@ -121,8 +303,8 @@ public final class CCJSqlParserUtil {
             return expr;
         } catch (JSQLParserException ex) {
             throw ex;
-        } catch (ParseException ex) {
-            throw new JSQLParserException(ex);
+        } catch (ParseException | ParseAbortedException ex) {
+            throw toJSQLParserException(ex);
         }
     }
 
@@ -130,31 +312,161 @@ public final class CCJSqlParserUtil {
      * Parse a statement list.
      */
     public static Statements parseStatements(String sqls) throws JSQLParserException {
+        return parseStatements(sqls, null);
+    }
+
+    /**
+     * Parse a statement list. The consumer allows to configure the parser before parsing.
+     */
+    public static Statements parseStatements(String sqls, Consumer<CCJSqlParser> consumer) throws JSQLParserException {
         CCJSqlParser parser = new CCJSqlParser(new StringProvider(sqls));
+        if (consumer != null) {
+            consumer.accept(parser);
+        }
         try {
             return parser.Statements();
         } catch (Exception ex) {
-            throw new JSQLParserException(ex);
+            throw toJSQLParserException(ex);
         }
     }
 
+    /**
+     * Parse a statement list on the common fork join pool.
+     *
+     * @see ParallelStatementsParser
+     */
+    public static Statements parseStatementsParallel(String sqls) throws JSQLParserException {
+        return new ParallelStatementsParser().parseStatements(sqls);
+    }
+
+    /**
+     * Parse a statement list on the common fork join pool. The listener gets the statements in
+     * order, together with their offsets.
+     *
+     * @see ParallelStatementsParser
+     */
+    public static void streamStatementsParallel(String sqls, StatementListener listener) throws JSQLParserException {
+        new ParallelStatementsParser().streamStatements(sqls, listener);
+    }
+
+    /**
+     * Parse the statements of a stream one by one. Only the current statement is kept, so this is
+     * suitable for huge scripts.
+     */
     public static void streamStatements(StatementListener listener, InputStream is, String encoding) throws JSQLParserException {
         try {
-            CCJSqlParser parser = new CCJSqlParser(new StreamProvider(is, encoding));
-            while (true) {
-                Statement stmt = parser.SingleStatement();
-                listener.accept(stmt);
-                if (parser.getToken(1).kind == CCJSqlParserTokenManager.ST_SEMICOLON) {
-                    parser.getNextToken();
-                }
-
-                if (parser.getToken(1).kind == CCJSqlParserTokenManager.EOF) {
-                    break;
-                }
-            }
+            streamStatements(listener, new CCJSqlParser(new StreamProvider(is, encoding)));
         } catch (Exception ex) {
-            throw new JSQLParserException(ex);
+            throw toJSQLParserException(ex);
+        }
+    }
+
+    /**
+     * Parse the statements of a file one by one, which is read using memory mapping. Only the
+     * current statement is kept, so this is suitable for huge scripts.
+     *
+     * @see MappedFileProvider
+     */
+    public static void streamStatements(Path path, Charset charset, StatementListener listener) throws JSQLParserException {
+        try (MappedFileProvider provider = new MappedFileProvider(path, charset)) {
+            streamStatements(listener, new CCJSqlParser(provider));
+        } catch (Exception ex) {
+            throw toJSQLParserException(ex);
+        }
+    }
+
+    /**
+     * After each statement the parser releases its tokens, nodes and the buffer of the char
+     * stream, so the memory needed does not grow with the script.
+     */
+    private static void streamStatements(StatementListener listener, CCJSqlParser parser) throws ParseException {
+        while (true) {
+            Statement stmt = parser.SingleStatement();
+            listener.accept(stmt);
+            if (parser.getToken(1).kind == CCJSqlParserTokenManager.ST_SEMICOLON) {
+                parser.getNextToken();
+            }
+
+            if (parser.getToken(1).kind == CCJSqlParserTokenManager.EOF) {
+                break;
+            }
+            parser.releaseParsedStatements();
+        }
+    }
+
+    /**
+     * Wraps an exception of the parser. An aborted parse gives a
+     * {@link JSQLParserAbortedException}, so it can be told apart from a syntax error.
+     */
+    static JSQLParserException toJSQLParserException(Exception ex) {
+        if (ex instanceof ParseAbortedException) {
+            return new JSQLParserAbortedException((ParseAbortedException) ex);
+        }
+        return new JSQLParserException(ex);
+    }
+
+    /**
+     * The parser of a thread. A consumer could parse itself using the pooled methods, so a
+     * parser in use is not handed out again.
+     */
+    private static final class PooledParser {
+
+        private TryParser parser;
+        private boolean inUse;
+
+        private TryParser reset(String sql) {
+            if (parser == null) {
+                parser = new TryParser(new StringProvider(sql));
+            } else {
+                parser.reset(sql);
+            }
+            return parser;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ParserMethod<T> {
+
+        T parse(CCJSqlParser parser) throws ParseException;
+    }
+
+    @FunctionalInterface
+    private interface FailingParse {
+
+        void parse() throws JSQLParserException;
+    }
+
+    /**
+     * A parser, which signals syntax errors by a single exception without message and stack trace
+     * on request. The generated parser collects the expected tokens and formats the message for
+     * every syntax error. Without error recovery the exception is not kept, so that is not needed
+     * for tryParse.
+     */
+    private static final class TryParser extends CCJSqlParser {
+
+        private final ParseException syntaxError = new SyntaxError();
+        private boolean cheapSyntaxErrors;
+
+        private TryParser(Provider stream) {
+            super(stream);
+        }
+
+        @Override
+        public ParseException generateParseException() {
+            if (cheapSyntaxErrors && !errorRecovery) {
+                return syntaxError;
+            }
+            return super.generateParseException();
         }
     }
 
+    private static final class SyntaxError extends ParseException {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
 }
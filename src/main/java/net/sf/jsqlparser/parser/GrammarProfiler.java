@@ -0,0 +1,389 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.Statements;
+
+/**
+ * Profiles the productions of the grammar while parsing a corpus, to find those which make
+ * parsing slow. For each production it counts the calls, the time spent in the production itself,
+ * the lookaheads it does and the tokens they visit.
+ *
+ * A lookahead scans the tokens after the current one to choose an alternative and the parser
+ * backtracks to the current token afterwards. The depth of a scan is the number of tokens it
+ * reads ahead. A scan is all lookahead done before the parser goes on, including the alternatives
+ * tried one after another. It is counted at the production choosing the alternative, while the
+ * productions evaluated by the scan count their lookahead calls and the tokens they visit.
+ *
+ * Profiling needs a parser generated with tracing, which the build creates with the
+ * grammar-profiling profile:
+ *
+ * <pre>
+ * mvn clean package -Pgrammar-profiling
+ * java -cp target/classes net.sf.jsqlparser.parser.GrammarProfiler [-csv] corpus/*.sql
+ * </pre>
+ *
+ * The normal build does not trace, so it has no overhead, and this class is not available. The
+ * profiling build is meant for profiling only. Like every parser generated with DEBUG_PARSER, its
+ * parsers print a trace to standard out, unless disable_tracing() is called. The parsers of the
+ * profiler do not.
+ */
+public class GrammarProfiler {
+
+    private final Map<String, ProductionProfile> profiles = new HashMap<>();
+    /**
+     * Profiles by the traced names, which are literals of the generated parser.
+     */
+    private final Map<String, ProductionProfile> profilesByTrace = new HashMap<>();
+
+    /**
+     * @throws IllegalStateException if the parser was not generated with tracing
+     */
+    public GrammarProfiler() {
+        if (!isAvailable()) {
+            throw new IllegalStateException("The parser was not generated with tracing, "
+                    + "build it with the grammar-profiling profile");
+        }
+    }
+
+    /**
+     * @return true, if the parser was generated with tracing
+     */
+    public static boolean isAvailable() {
+        try {
+            CCJSqlParser.class.getDeclaredMethod("trace_call", String.class);
+            return true;
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a parser, which adds to the profile while it parses.
+     */
+    public CCJSqlParser createParser(Provider stream) {
+        return new ProfilingParser(stream);
+    }
+
+    public Statement parse(String sql) throws JSQLParserException {
+        try {
+            return createParser(new StringProvider(sql)).Statement();
+        } catch (Exception ex) {
+            throw CCJSqlParserUtil.toJSQLParserException(ex);
+        }
+    }
+
+    public Statements parseStatements(String sqls) throws JSQLParserException {
+        try {
+            return createParser(new StringProvider(sqls)).Statements();
+        } catch (Exception ex) {
+            throw CCJSqlParserUtil.toJSQLParserException(ex);
+        }
+    }
+
+    /**
+     * @return the profiles of the productions used so far, the most expensive first
+     */
+    public List<ProductionProfile> getProfiles() {
+        List<ProductionProfile> list = new ArrayList<>(profiles.values());
+        list.sort(Comparator.comparingLong(ProductionProfile::getSelfTimeNanos).reversed()
+                .thenComparing(ProductionProfile::getName));
+        return list;
+    }
+
+    public ProductionProfile getProfile(String production) {
+        return profiles.get(production);
+    }
+
+    public void reset() {
+        profiles.clear();
+        profilesByTrace.clear();
+    }
+
+    /**
+     * Writes the profiles as a table.
+     */
+    public void writeReport(Appendable out) throws IOException {
+        String format = "%-32s %10s %10s %10s %12s %10s %12s %9s %9s%n";
+        out.append(String.format(format, "production", "calls", "self ms", "la calls", "la tokens", "scans",
+                "scanned", "avg depth", "max depth"));
+        for (ProductionProfile profile : getProfiles()) {
+            out.append(String.format(format, profile.getName(), profile.getCalls(),
+                    String.format("%.3f", profile.getSelfTimeNanos() / 1e6), profile.getLookaheadCalls(),
+                    profile.getLookaheadTokens(), profile.getScans(), profile.getScannedTokens(),
+                    String.format("%.2f", profile.getAverageScanDepth()), profile.getMaxScanDepth()));
+        }
+    }
+
+    /**
+     * Writes the profiles as comma separated values.
+     */
+    public void writeCsv(Appendable out) throws IOException {
+        out.append("production,calls,selfTimeNanos,lookaheadCalls,lookaheadTokens,scans,scannedTokens,"
+                + "scanDepth,maxScanDepth\n");
+        for (ProductionProfile profile : getProfiles()) {
+            out.append(profile.getName()).append(',').append(Long.toString(profile.getCalls())).append(',')
+                    .append(Long.toString(profile.getSelfTimeNanos())).append(',')
+                    .append(Long.toString(profile.getLookaheadCalls())).append(',')
+                    .append(Long.toString(profile.getLookaheadTokens())).append(',')
+                    .append(Long.toString(profile.getScans())).append(',')
+                    .append(Long.toString(profile.getScannedTokens())).append(',')
+                    .append(Long.toString(profile.getScanDepth())).append(',')
+                    .append(Integer.toString(profile.getMaxScanDepth())).append('\n');
+        }
+    }
+
+    /**
+     * Parses the statements of the files and writes the report to standard out. With the option
+     * -csv the report is written as comma separated values.
+     */
+    public static void main(String[] args) throws IOException {
+        boolean csv = args.length > 0 && "-csv".equals(args[0]);
+        GrammarProfiler profiler = new GrammarProfiler();
+        for (String file : Arrays.asList(args).subList(csv ? 1 : 0, args.length)) {
+            String sqls = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+            try {
+                profiler.parseStatements(sqls);
+            } catch (JSQLParserException ex) {
+                System.err.println(file + ": " + (ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage()));
+            }
+        }
+        if (csv) {
+            profiler.writeCsv(System.out);
+        } else {
+            profiler.writeReport(System.out);
+        }
+    }
+
+    private ProductionProfile profileOf(String trace) {
+        ProductionProfile profile = profilesByTrace.get(trace);
+        if (profile == null) {
+            int end = trace.indexOf('(');
+            String name = end < 0 ? trace : trace.substring(0, end);
+            profile = profiles.computeIfAbsent(name, ProductionProfile::new);
+            profilesByTrace.put(trace, profile);
+        }
+        return profile;
+    }
+
+    /**
+     * The counts of a production.
+     */
+    public static final class ProductionProfile {
+
+        private final String name;
+        private long calls;
+        private long selfTimeNanos;
+        private long lookaheadCalls;
+        private long lookaheadTokens;
+        private long scans;
+        private long scannedTokens;
+        private long scanDepth;
+        private int maxScanDepth;
+
+        private ProductionProfile(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return how often the production was parsed
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * @return the time spent in the production without the productions it called, but with
+         * its lookaheads
+         */
+        public long getSelfTimeNanos() {
+            return selfTimeNanos;
+        }
+
+        /**
+         * @return how often the production was evaluated by a lookahead
+         */
+        public long getLookaheadCalls() {
+            return lookaheadCalls;
+        }
+
+        /**
+         * @return the number of tokens visited by the production within lookaheads
+         */
+        public long getLookaheadTokens() {
+            return lookaheadTokens;
+        }
+
+        /**
+         * @return the number of lookahead scans done by the production
+         */
+        public long getScans() {
+            return scans;
+        }
+
+        /**
+         * @return the number of tokens visited by the scans, a token visited again after an
+         * alternative failed counts again
+         */
+        public long getScannedTokens() {
+            return scannedTokens;
+        }
+
+        /**
+         * @return the sum of the depths of the scans
+         */
+        public long getScanDepth() {
+            return scanDepth;
+        }
+
+        public double getAverageScanDepth() {
+            return scans == 0 ? 0 : (double) scanDepth / scans;
+        }
+
+        /**
+         * @return the depth of the deepest scan
+         */
+        public int getMaxScanDepth() {
+            return maxScanDepth;
+        }
+
+        @Override
+        public String toString() {
+            return name + " calls=" + calls + " selfTimeNanos=" + selfTimeNanos + " lookaheadCalls="
+                    + lookaheadCalls + " lookaheadTokens=" + lookaheadTokens + " scans=" + scans
+                    + " scannedTokens=" + scannedTokens + " maxScanDepth=" + maxScanDepth;
+        }
+    }
+
+    /**
+     * Records the traced events. The generated parser calls the trace methods on entering and
+     * leaving a production, for consumed tokens and for tokens visited by a lookahead.
+     */
+    private final class ProfilingParser extends CCJSqlParser {
+
+        private ProductionProfile[] productions = new ProductionProfile[64];
+        private long[] startNanos = new long[64];
+        private long[] childNanos = new long[64];
+        private int depth = 0;
+
+        /**
+         * The productions of the current lookahead. A lookahead, which ends with an exception,
+         * does not return from them, so they are cleared on the next parsing event.
+         */
+        private final List<ProductionProfile> lookahead = new ArrayList<>();
+        private boolean inScan = false;
+        private ProductionProfile scanOwner;
+        private Token scanPosition;
+        private int scanPositionDepth;
+        private int currentScanDepth;
+
+        private ProfilingParser(Provider stream) {
+            super(stream);
+        }
+
+        @Override
+        protected void trace_call(String s) {
+            ProductionProfile profile = profileOf(s);
+            if (s.indexOf('(') >= 0) {
+                profile.lookaheadCalls++;
+                lookahead.add(profile);
+                return;
+            }
+            endScan();
+            profile.calls++;
+            if (depth == productions.length) {
+                productions = Arrays.copyOf(productions, 2 * depth);
+                startNanos = Arrays.copyOf(startNanos, 2 * depth);
+                childNanos = Arrays.copyOf(childNanos, 2 * depth);
+            }
+            productions[depth] = profile;
+            childNanos[depth] = 0;
+            startNanos[depth++] = System.nanoTime();
+        }
+
+        @Override
+        protected void trace_return(String s) {
+            if (s.indexOf('(') >= 0) {
+                if (!lookahead.isEmpty()) {
+                    lookahead.remove(lookahead.size() - 1);
+                }
+                return;
+            }
+            endScan();
+            if (depth == 0) {
+                return;
+            }
+            long elapsed = System.nanoTime() - startNanos[--depth];
+            productions[depth].selfTimeNanos += elapsed - childNanos[depth];
+            if (depth > 0) {
+                childNanos[depth - 1] += elapsed;
+            }
+        }
+
+        @Override
+        protected void trace_token(Token t, String where) {
+            endScan();
+        }
+
+        @Override
+        protected void trace_scan(Token t1, int t2) {
+            if (!inScan) {
+                startScan();
+            }
+            if (!lookahead.isEmpty()) {
+                lookahead.get(lookahead.size() - 1).lookaheadTokens++;
+            }
+            scanOwner.scannedTokens++;
+            if (scanPosition != null && t1 == scanPosition.next) {
+                scanPositionDepth++;
+            } else if (t1 != scanPosition) {
+                scanPositionDepth = 1;
+                for (Token t = token.next; t != null && t != t1; t = t.next) {
+                    scanPositionDepth++;
+                }
+            }
+            scanPosition = t1;
+            currentScanDepth = Math.max(currentScanDepth, scanPositionDepth);
+        }
+
+        private void startScan() {
+            inScan = true;
+            scanOwner = depth > 0 ? productions[depth - 1] : profileOf("<none>");
+            scanOwner.scans++;
+        }
+
+        private void endScan() {
+            lookahead.clear();
+            if (inScan) {
+                inScan = false;
+                scanOwner.scanDepth += currentScanDepth;
+                scanOwner.maxScanDepth = Math.max(scanOwner.maxScanDepth, currentScanDepth);
+                scanPosition = null;
+                currentScanDepth = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file through memory mapped windows of a {@link FileChannel}. UTF-8, US-ASCII and
+ * ISO-8859-1 are decoded directly from the mapped bytes, where ASCII characters need only a
+ * cast. Other charsets use a {@link CharsetDecoder} on the mapped bytes. Malformed input is
+ * replaced by U+FFFD and a leading UTF-8 byte order mark is skipped.
+ *
+ * Files larger than the window size are mapped window by window, so files beyond 2 GB are
+ * supported. Lines and columns of their tokens stay exact, while the absolute offsets of the
+ * tokens wrap around beyond 2^31 characters.
+ */
+public class MappedFileProvider implements Provider, Closeable {
+
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int DECODE_BUFFER_SIZE = 8192;
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private enum Decoding {
+        UTF8, ASCII, LATIN1, DECODER
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    private final Decoding decoding;
+    private final CharsetDecoder decoder;
+    private final CharBuffer decoded;
+
+    private long windowStart;
+    private MappedByteBuffer window;
+    /**
+     * The low surrogate of a supplementary character, which did not fit into the last read.
+     */
+    private char pending;
+    private boolean endOfInput;
+    private boolean flushed;
+
+    public MappedFileProvider(Path path, Charset charset) throws IOException {
+        this(path, charset, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileProvider(Path path, Charset charset, int windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            decoding = Decoding.UTF8;
+            decoder = null;
+            decoded = null;
+        } else if (StandardCharsets.US_ASCII.equals(charset)) {
+            decoding = Decoding.ASCII;
+            decoder = null;
+            decoded = null;
+        } else if (StandardCharsets.ISO_8859_1.equals(charset)) {
+            decoding = Decoding.LATIN1;
+            decoder = null;
+            decoded = null;
+        } else {
+            decoding = Decoding.DECODER;
+            decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            decoded = CharBuffer.allocate(DECODE_BUFFER_SIZE);
+            decoded.flip();
+        }
+        map(0);
+        if (decoding == Decoding.UTF8 && window.remaining() >= 3 && (window.get(0) & 0xFF) == 0xEF
+                && (window.get(1) & 0xFF) == 0xBB && (window.get(2) & 0xFF) == 0xBF) {
+            window.position(3);
+        }
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+    }
+
+    /**
+     * Maps the next window, so that it starts with the unread bytes of the current one.
+     *
+     * @return false, if the file has no further bytes
+     */
+    private boolean remap() throws IOException {
+        long position = windowStart + window.position();
+        if (position >= size) {
+            return false;
+        }
+        map(position);
+        return true;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        int count = 0;
+        if (pending != 0) {
+            buffer[offset] = pending;
+            pending = 0;
+            count++;
+        }
+        if (decoding == Decoding.DECODER) {
+            count += decode(buffer, offset + count, length - count);
+        } else {
+            while (count < length) {
+                if (!window.hasRemaining() && !remap()) {
+                    break;
+                }
+                count += readDirect(buffer, offset + count, length - count);
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    private int readDirect(char[] buffer, int offset, int length) throws IOException {
+        int count = 0;
+        while (count < length && window.hasRemaining()) {
+            int b = window.get();
+            if (b >= 0) {
+                buffer[offset + count++] = (char) b;
+            } else if (decoding == Decoding.LATIN1) {
+                buffer[offset + count++] = (char) (b & 0xFF);
+            } else if (decoding == Decoding.ASCII) {
+                buffer[offset + count++] = REPLACEMENT;
+            } else {
+                int codePoint = readUtf8(b & 0xFF);
+                if (codePoint < 0) {
+                    // sequence continues in the next window
+                    return count;
+                }
+                if (Character.isSupplementaryCodePoint(codePoint)) {
+                    buffer[offset + count++] = Character.highSurrogate(codePoint);
+                    if (count < length) {
+                        buffer[offset + count++] = Character.lowSurrogate(codePoint);
+                    } else {
+                        pending = Character.lowSurrogate(codePoint);
+                    }
+                } else {
+                    buffer[offset + count++] = (char) codePoint;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Decodes a multibyte UTF-8 sequence, whose lead byte was read.
+     *
+     * @return the code point, or -1 if the sequence is cut by the end of the window. Then the
+     * window is positioned at the lead byte again.
+     */
+    private int readUtf8(int lead) throws IOException {
+        int length;
+        int codePoint;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            length = 1;
+            codePoint = lead & 0x1F;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            length = 2;
+            codePoint = lead & 0x0F;
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            length = 3;
+            codePoint = lead & 0x07;
+        } else {
+            return REPLACEMENT;
+        }
+        if (window.remaining() < length && windowStart + window.limit() < size) {
+            window.position(window.position() - 1);
+            remap();
+            return -1;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!window.hasRemaining()) {
+                return REPLACEMENT;
+            }
+            int b = window.get(window.position()) & 0xFF;
+            if ((b & 0xC0) != 0x80) {
+                return REPLACEMENT;
+            }
+            window.get();
+            codePoint = codePoint << 6 | b & 0x3F;
+        }
+        if (length == 2 && (codePoint < 0x800 || Character.isSurrogate((char) codePoint))
+                || length == 3 && (codePoint < 0x10000 || codePoint > Character.MAX_CODE_POINT)) {
+            return REPLACEMENT;
+        }
+        return codePoint;
+    }
+
+    private int decode(char[] buffer, int offset, int length) throws IOException {
+        if (!decoded.hasRemaining()) {
+            fill();
+        }
+        int count = Math.min(length, decoded.remaining());
+        decoded.get(buffer, offset, count);
+        return count;
+    }
+
+    /**
+     * Decodes into an own buffer, since the decoder needs room for both chars of a surrogate
+     * pair.
+     */
+    private void fill() throws IOException {
+        decoded.clear();
+        while (decoded.hasRemaining() && !flushed) {
+            if (endOfInput) {
+                flushed = decoder.flush(decoded).isUnderflow();
+                break;
+            }
+            boolean lastWindow = windowStart + window.limit() >= size;
+            CoderResult result = decoder.decode(window, decoded, lastWindow);
+            if (result.isOverflow()) {
+                break;
+            }
+            if (lastWindow) {
+                endOfInput = true;
+            } else {
+                remap();
+            }
+        }
+        decoded.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
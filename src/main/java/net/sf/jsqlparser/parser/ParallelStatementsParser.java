@@ -0,0 +1,172 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.Statements;
+
+/**
+ * Parses the statements of a script in parallel. The script is split into statements by a
+ * {@link StatementSplitter} and the statements are parsed on a fork join pool, using the pooled
+ * parser of each worker thread. The results are returned in script order. The jdbc parameters
+ * are numbered through the whole script, as by {@link CCJSqlParserUtil#parseStatements(String)}.
+ *
+ * Scripts are processed in batches of statements, so a listener gets the first statements while
+ * the rest of the script is not yet parsed. If a statement could not be parsed, all statements
+ * before it are given to the listener and an exception naming the offset of the statement is
+ * thrown.
+ */
+public class ParallelStatementsParser {
+
+    private static final int DEFAULT_BATCH_SIZE = 4096;
+    private static final int SEQUENTIAL_THRESHOLD = 8;
+
+    private final ForkJoinPool pool;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    public ParallelStatementsParser() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelStatementsParser(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param batchSize maximum number of statements parsed before they are given to the listener
+     */
+    public ParallelStatementsParser withBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batch size must be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public Statements parseStatements(String sqls) throws JSQLParserException {
+        List<Statement> list = new ArrayList<>();
+        streamStatements(sqls, list::add);
+        Statements statements = new Statements();
+        statements.setStatements(list);
+        return statements;
+    }
+
+    /**
+     * Gives all statements of the script in script order to
+     * {@link StatementListener#accept(net.sf.jsqlparser.statement.Statement, int, int)}.
+     */
+    public void streamStatements(String sqls, StatementListener listener) throws JSQLParserException {
+        StatementSplitter splitter = new StatementSplitter(sqls);
+        int[] offsets = new int[2 * batchSize];
+        int parameterCount = 0;
+        while (true) {
+            int count = 0;
+            while (count < batchSize && splitter.next()) {
+                offsets[2 * count] = splitter.getBegin();
+                offsets[2 * count + 1] = splitter.getEnd();
+                count++;
+            }
+            if (count == 0) {
+                break;
+            }
+            Object[] results = new Object[count];
+            JdbcParameter[][] parameters = new JdbcParameter[count][];
+            pool.invoke(new ParseTask(sqls, offsets, results, parameters, 0, count));
+            for (int i = 0; i < count; i++) {
+                if (results[i] instanceof JSQLParserException) {
+                    throw new JSQLParserException("could not parse statement at offset " + offsets[2 * i],
+                            (JSQLParserException) results[i]);
+                }
+                parameterCount = renumber(parameters[i], parameterCount);
+                for (Statement statement : ((Statements) results[i]).getStatements()) {
+                    listener.accept(statement, offsets[2 * i], offsets[2 * i + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Continues the numbering of the jdbc parameters of a statement after the ones before it. A
+     * parameter with a fixed index keeps it.
+     *
+     * @return the number of jdbc parameters up to and including the statement
+     */
+    private static int renumber(JdbcParameter[] parameters, int parameterCount) {
+        if (parameters == null) {
+            return parameterCount;
+        }
+        for (JdbcParameter parameter : parameters) {
+            if (!parameter.isUseFixedIndex()) {
+                parameter.setIndex(parameter.getIndex() + parameterCount);
+            }
+        }
+        return parameterCount + parameters.length;
+    }
+
+    /**
+     * Parses a range of the statements of a batch. Every result is either the parsed
+     * {@link Statements} or the exception. The jdbc parameters of a statement are kept, if it has
+     * any.
+     */
+    private static final class ParseTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String sqls;
+        private final int[] offsets;
+        private final Object[] results;
+        private final JdbcParameter[][] parameters;
+        private final int from;
+        private final int to;
+
+        private ParseTask(String sqls, int[] offsets, Object[] results, JdbcParameter[][] parameters, int from, int to) {
+            this.sqls = sqls;
+            this.offsets = offsets;
+            this.results = results;
+            this.parameters = parameters;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                List<JdbcParameter> jdbcParameters = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    try {
+                        results[i] = CCJSqlParserUtil.parseStatementsPooled(
+                                sqls.substring(offsets[2 * i], offsets[2 * i + 1]),
+                                parser -> parser.jdbcParameters = jdbcParameters);
+                    } catch (JSQLParserException ex) {
+                        results[i] = ex;
+                    }
+                    if (!jdbcParameters.isEmpty()) {
+                        parameters[i] = jdbcParameters.toArray(new JdbcParameter[0]);
+                        jdbcParameters.clear();
+                    }
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParseTask(sqls, offsets, results, parameters, from, middle),
+                        new ParseTask(sqls, offsets, results, parameters, middle, to));
+            }
+        }
+    }
+}
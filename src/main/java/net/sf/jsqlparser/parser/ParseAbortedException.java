@@ -0,0 +1,38 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+/**
+ * Thrown by the parser, if its time out elapsed or it was cancelled. The parser methods only
+ * declare {@link ParseException}, which is thrown for syntax errors, so this exception is
+ * unchecked. {@link CCJSqlParserUtil} converts it to a
+ * {@link net.sf.jsqlparser.JSQLParserAbortedException}.
+ *
+ * @see CCJSqlParser#withTimeOut(long)
+ * @see CCJSqlParser#cancel()
+ */
+public class ParseAbortedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean cancelled;
+
+    public ParseAbortedException(boolean cancelled) {
+        super(cancelled ? "parsing was cancelled" : "parsing timed out");
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * @return true, if the parser was cancelled, false if its time out elapsed
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
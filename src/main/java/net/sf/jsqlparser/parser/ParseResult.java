@@ -0,0 +1,172 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.util.function.Supplier;
+import net.sf.jsqlparser.JSQLParserException;
+
+/**
+ * The outcome of {@link CCJSqlParserUtil#tryParse(String)} and
+ * {@link CCJSqlParserUtil#tryParseExpression(String)}: the parsed object or where and why
+ * parsing failed. A failure only records the position and the token at which the parser
+ * stopped. The exception with the expected tokens, which the throwing methods give, is built
+ * on demand by {@link #getException()}.
+ *
+ * @param <T> the type of the parsed object
+ */
+public final class ParseResult<T> {
+
+    public enum Kind {
+        PARSED,
+        /**
+         * The parser did not expect a token.
+         */
+        SYNTAX_ERROR,
+        /**
+         * The token manager found no token.
+         */
+        LEXICAL_ERROR,
+        /**
+         * The parser rejected the input otherwise, e.g. rows of VALUES with different numbers of
+         * expressions.
+         */
+        INVALID,
+        /**
+         * The parser was cancelled or its time out elapsed.
+         */
+        ABORTED
+    }
+
+    private final Kind kind;
+    private final T value;
+    private final int line;
+    private final int column;
+    private final int tokenKind;
+    private final String tokenImage;
+    private Supplier<JSQLParserException> exceptionSupplier;
+    private JSQLParserException exception;
+
+    private ParseResult(Kind kind, T value, int line, int column, int tokenKind, String tokenImage,
+            Supplier<JSQLParserException> exceptionSupplier) {
+        this.kind = kind;
+        this.value = value;
+        this.line = line;
+        this.column = column;
+        this.tokenKind = tokenKind;
+        this.tokenImage = tokenImage;
+        this.exceptionSupplier = exceptionSupplier;
+    }
+
+    static <T> ParseResult<T> parsed(T value) {
+        return new ParseResult<>(Kind.PARSED, value, 0, 0, -1, null, null);
+    }
+
+    /**
+     * A syntax error at the token, whose exception is supplied on demand.
+     */
+    static <T> ParseResult<T> syntaxError(Token token, Supplier<JSQLParserException> exceptionSupplier) {
+        return new ParseResult<>(Kind.SYNTAX_ERROR, null, token.beginLine, token.beginColumn, token.kind,
+                token.image, exceptionSupplier);
+    }
+
+    static <T> ParseResult<T> lexicalError(int line, int column, JSQLParserException exception) {
+        return new ParseResult<>(Kind.LEXICAL_ERROR, null, line, column, -1, null, () -> exception);
+    }
+
+    /**
+     * An error thrown by an action of the parser, after the given token was consumed.
+     */
+    static <T> ParseResult<T> invalid(Token token, JSQLParserException exception) {
+        return new ParseResult<>(Kind.INVALID, null, token.beginLine, token.beginColumn, -1, null,
+                () -> exception);
+    }
+
+    static <T> ParseResult<T> aborted(JSQLParserException exception) {
+        return new ParseResult<>(Kind.ABORTED, null, 0, 0, -1, null, () -> exception);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isParsed() {
+        return kind == Kind.PARSED;
+    }
+
+    /**
+     * @return the parsed object, null if parsing failed
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * @return the line of the error, 0 if there is none or it is unknown
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * @return the column of the error, 0 if there is none or it is unknown
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * @return the kind of the unexpected token of a syntax error, one of the
+     * {@link CCJSqlParserConstants}, otherwise -1
+     */
+    public int getTokenKind() {
+        return tokenKind;
+    }
+
+    /**
+     * @return the image of the unexpected token of a syntax error, otherwise null
+     */
+    public String getTokenImage() {
+        return tokenImage;
+    }
+
+    /**
+     * Returns the exception the throwing method would have thrown. For a syntax error it is built
+     * by parsing the input again, which collects the expected tokens.
+     *
+     * @return the exception, null if parsing succeeded
+     */
+    public synchronized JSQLParserException getException() {
+        if (exceptionSupplier != null) {
+            exception = exceptionSupplier.get();
+            exceptionSupplier = null;
+        }
+        return exception;
+    }
+
+    /**
+     * @return the parsed object
+     * @throws JSQLParserException if parsing failed
+     */
+    public T getValueOrThrow() throws JSQLParserException {
+        if (kind != Kind.PARSED) {
+            throw getException();
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        if (kind == Kind.PARSED) {
+            return kind + " " + value;
+        }
+        return kind + (line > 0 ? " at line " + line + ", column " + column : "")
+                + (tokenImage != null ? " \"" + tokenImage + "\"" : "");
+    }
+}
@@ -0,0 +1,221 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.util.DeepCopier;
+
+/**
+ * A size bounded cache of parsed statements. The least recently used statement is evicted, if
+ * the maximum size is reached. This class is thread safe.
+ *
+ * Since statements are mutable, the cached statements are never given to the caller. Every call
+ * to {@link #parse(java.lang.String)} returns a copy of the cached statement, so modifications of
+ * a returned statement do not change the cache.
+ *
+ * Optionally the cache keys are normalized: whitespace is collapsed and the text outside of
+ * quotes is uppercased. So statements that differ only in formatting share one entry. Then the
+ * returned statement keeps the formatting of unquoted names of the first parsed text.
+ */
+public class ParsedStatementCache {
+
+    private final int maximumSize;
+    private final boolean normalizeKeys;
+    private final UnaryOperator<Statement> copier;
+    private final Map<String, Statement> entries;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public ParsedStatementCache(int maximumSize) {
+        this(maximumSize, false);
+    }
+
+    public ParsedStatementCache(int maximumSize, boolean normalizeKeys) {
+        this(maximumSize, normalizeKeys, null);
+    }
+
+    /**
+     * @param maximumSize maximum number of cached statements
+     * @param normalizeKeys true: use whitespace and case normalized statement texts as keys
+     * @param copier creates the statement given to the caller from the cached one. null uses a
+     * {@link DeepCopier}. If the callers never modify statements,
+     * <code>UnaryOperator.identity()</code> could be used to share the cached statements.
+     */
+    public ParsedStatementCache(int maximumSize, boolean normalizeKeys, UnaryOperator<Statement> copier) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.normalizeKeys = normalizeKeys;
+        this.copier = copier;
+        this.entries = new LinkedHashMap<String, Statement>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Statement> eldest) {
+                if (size() > ParsedStatementCache.this.maximumSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a copy of the cached statement for this text. If there is none, the text is parsed
+     * and the result is cached. Texts that could not be parsed are not cached.
+     */
+    public Statement parse(String sql) throws JSQLParserException {
+        String key = normalizeKeys ? normalize(sql) : sql;
+        Statement statement;
+        synchronized (this) {
+            statement = entries.get(key);
+            if (statement != null) {
+                hitCount++;
+            } else {
+                missCount++;
+            }
+        }
+        if (statement != null) {
+            return copy(statement);
+        }
+
+        // parse outside of the lock, so a slow statement does not block other threads
+        statement = CCJSqlParserUtil.parsePooled(sql, parser -> parser.withAstNodes(false));
+        synchronized (this) {
+            entries.put(key, statement);
+        }
+        return copy(statement);
+    }
+
+    private Statement copy(Statement statement) {
+        if (copier != null) {
+            return copier.apply(statement);
+        }
+        return new DeepCopier().copyStatement(statement);
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public boolean isNormalizeKeys() {
+        return normalizeKeys;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ParsedStatementCache{size=" + entries.size() + ", maximumSize=" + maximumSize
+                + ", hitCount=" + hitCount + ", missCount=" + missCount
+                + ", evictionCount=" + evictionCount + "}";
+    }
+
+    /**
+     * Collapses whitespace to one blank and uppercases all characters outside of quotes and
+     * comments. Quoted texts (', ", `, []) and comments are kept as they are, so two texts with
+     * the same normalized form always give the same statement.
+     */
+    public static String normalize(String sql) {
+        StringBuilder buf = new StringBuilder(sql.length());
+        boolean whitespace = false;
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                whitespace = true;
+                i++;
+                continue;
+            }
+            if (whitespace && buf.length() > 0) {
+                buf.append(' ');
+            }
+            whitespace = false;
+            int end = endOfVerbatimPart(sql, i);
+            if (end > i) {
+                buf.append(sql, i, end);
+                i = end;
+            } else {
+                buf.append(Character.toUpperCase(c));
+                i++;
+            }
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Returns the end of a quoted text or comment starting at this position, or the position
+     * itself, if there is none. An unterminated part extends to the end of the text.
+     */
+    private static int endOfVerbatimPart(String sql, int start) {
+        char c = sql.charAt(start);
+        String terminator;
+        switch (c) {
+            case '\'':
+            case '"':
+            case '`':
+                terminator = String.valueOf(c);
+                break;
+            case '[':
+                terminator = "]";
+                break;
+            case '-':
+                terminator = sql.startsWith("--", start) ? "\n" : null;
+                break;
+            case '/':
+                terminator = sql.startsWith("/*", start) ? "*/" : null;
+                break;
+            default:
+                terminator = null;
+                break;
+        }
+        if (terminator == null) {
+            return start;
+        }
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\\' && terminator.length() == 1 && c != '-') {
+                i += 2;
+            } else if (sql.startsWith(terminator, i) && (c != '/' || i > start + 1)) {
+                return i + terminator.length();
+            } else {
+                i++;
+            }
+        }
+        return sql.length();
+    }
+
+}
@@ -9,6 +9,16 @@
  */
 package net.sf.jsqlparser.parser;
 
+/**
+ * The char stream of the parser. Lines and columns are not tracked per character. Only the
+ * offsets, at which lines start, and the offsets of tabs, if a tab size other than 1 is set, are
+ * recorded. Line and column of a token are derived from its offsets.
+ *
+ * The token manager still asks for them once per token, since the generated {@link Token} holds
+ * them in public fields, which the generated {@link ParseException} and users of the AST nodes
+ * read directly. The line of the last lookup is kept, so the tokens of a line and of the next
+ * line are found without searching.
+ */
 public class SimpleCharStream {
 
     /**
@@ -23,11 +33,41 @@ public class SimpleCharStream {
      * Position in buffer.
      */
     public int bufpos = -1;
-    protected int bufline[];
-    protected int bufcolumn[];
 
-    protected int column = 0;
-    protected int line = 1;
+    /**
+     * Absolute offsets of the characters starting a line. The first line starts at 0.
+     */
+    private long[] lineStarts = new long[16];
+    private int lineCount = 1;
+    /**
+     * Number of lines before the first line of the index, which were released.
+     */
+    private int releasedLines = 0;
+    /**
+     * Index of the line of the last lookup, since tokens are looked up in ascending order.
+     */
+    private int lastLine = 0;
+    /**
+     * Absolute offsets of tabs, only recorded if the tab size is not 1.
+     */
+    private long[] tabs = new long[0];
+    private int tabCount = 0;
+
+    private int startLine = 1;
+    private int startColumn = 1;
+    private int initialBufferSize;
+    /**
+     * Absolute offset of the first character of the current token.
+     */
+    private long tokenBeginOffset = -1;
+    private java.io.IOException endOfInput;
+
+    private static final int IMAGE_CACHE_SIZE = 512;
+    private static final int MAX_CACHED_IMAGE_LENGTH = 32;
+    /**
+     * Images of recent short tokens by their hash. The cache is kept on ReInit.
+     */
+    private final String[] imageCache = new String[IMAGE_CACHE_SIZE];
 
     protected boolean prevCharIsCR = false;
     protected boolean prevCharIsLF = false;
@@ -41,7 +81,10 @@ public class SimpleCharStream {
     protected int tabSize = 1;
     protected boolean trackLineColumn = true;
 
-    protected int totalCharsRead = 0;
+    /**
+     * Absolute offsets are longs, since a streamed input may be longer than 2^31 characters.
+     */
+    protected long totalCharsRead = 0;
     protected int absoluteTokenBegin = 0;
 
     public void setTabSize(int i) {
@@ -52,14 +95,24 @@ public class SimpleCharStream {
         return tabSize;
     }
 
+    /**
+     * @return the number of characters read up to and including the first character of the
+     * current token. Like the absolute offsets of the tokens, it wraps around for inputs longer
+     * than 2^31 characters, while lines and columns stay exact.
+     */
     public final int getAbsoluteTokenBegin() {
         return absoluteTokenBegin;
     }
 
+    /**
+     * The buffer is doubled, so a long token is copied only a logarithmic number of times.
+     */
     protected void ExpandBuff(boolean wrapAround) {
-        char[] newbuffer = new char[bufsize + 2048];
-        int newbufline[] = new int[bufsize + 2048];
-        int newbufcolumn[] = new int[bufsize + 2048];
+        int newbufsize = bufsize + Math.max(2048, bufsize);
+        if (newbufsize < 0) {
+            newbufsize = Integer.MAX_VALUE - 8;
+        }
+        char[] newbuffer = new char[newbufsize];
 
         try {
             if (wrapAround) {
@@ -67,36 +120,68 @@ public class SimpleCharStream {
                 System.arraycopy(buffer, 0, newbuffer, bufsize - tokenBegin, bufpos);
                 buffer = newbuffer;
 
-                System.arraycopy(bufline, tokenBegin, newbufline, 0, bufsize - tokenBegin);
-                System.arraycopy(bufline, 0, newbufline, bufsize - tokenBegin, bufpos);
-                bufline = newbufline;
-
-                System.arraycopy(bufcolumn, tokenBegin, newbufcolumn, 0, bufsize - tokenBegin);
-                System.arraycopy(bufcolumn, 0, newbufcolumn, bufsize - tokenBegin, bufpos);
-                bufcolumn = newbufcolumn;
-
                 maxNextCharInd = bufpos += bufsize - tokenBegin;
             } else {
                 System.arraycopy(buffer, tokenBegin, newbuffer, 0, bufsize - tokenBegin);
                 buffer = newbuffer;
 
-                System.arraycopy(bufline, tokenBegin, newbufline, 0, bufsize - tokenBegin);
-                bufline = newbufline;
-
-                System.arraycopy(bufcolumn, tokenBegin, newbufcolumn, 0, bufsize - tokenBegin);
-                bufcolumn = newbufcolumn;
-
                 maxNextCharInd = bufpos -= tokenBegin;
             }
         } catch (Throwable t) {
             throw new RuntimeException(t.getMessage());
         }
 
-        bufsize += 2048;
+        bufsize = newbufsize;
         available = bufsize;
         tokenBegin = 0;
     }
 
+    /**
+     * Shrinks a buffer, which was expanded for a long token, back to its initial size and releases
+     * the line index before the current line. This must only be called between tokens, since
+     * only the characters read ahead are kept. Line and column of the tokens read before are not
+     * available afterwards.
+     */
+    public void releaseBuffer() {
+        if (!isStringProvider && bufsize > initialBufferSize) {
+            int first = bufpos + 1;
+            int ahead = first <= maxNextCharInd ? maxNextCharInd - first : bufsize - first + maxNextCharInd;
+            int newbufsize = Math.max(initialBufferSize, ahead + 1);
+            if (newbufsize < bufsize) {
+                char[] newbuffer = new char[newbufsize];
+                if (first <= maxNextCharInd) {
+                    System.arraycopy(buffer, first, newbuffer, 1, ahead);
+                } else {
+                    System.arraycopy(buffer, first, newbuffer, 1, bufsize - first);
+                    System.arraycopy(buffer, 0, newbuffer, 1 + bufsize - first, maxNextCharInd);
+                }
+                buffer = newbuffer;
+                available = bufsize = newbufsize;
+                tokenBegin = bufpos = 0;
+                maxNextCharInd = ahead + 1;
+            }
+        }
+        releaseLines(lineIndex(Math.max(totalCharsRead - 1, 0)));
+    }
+
+    private void releaseLines(int count) {
+        if (count == 0) {
+            return;
+        }
+        long firstOffset = lineStarts[count];
+        lineCount -= count;
+        releasedLines += count;
+        if (lineStarts.length > 16 && lineStarts.length > 4 * lineCount) {
+            lineStarts = java.util.Arrays.copyOfRange(lineStarts, count, count + Math.max(16, 2 * lineCount));
+        } else {
+            System.arraycopy(lineStarts, count, lineStarts, 0, lineCount);
+        }
+        lastLine = 0;
+        int releasedTabs = firstTabAtOrAfter(firstOffset);
+        tabCount -= releasedTabs;
+        System.arraycopy(tabs, releasedTabs, tabs, 0, tabCount);
+    }
+
     protected void FillBuff() throws java.io.IOException {
         if (!isStringProvider && maxNextCharInd == available) {
             if (available == bufsize) {
@@ -122,13 +207,13 @@ public class SimpleCharStream {
             if (inputStream instanceof StringProvider) {
                 i = ((StringProvider) inputStream)._string.length();
                 if (maxNextCharInd == i) {
-                    throw new java.io.IOException();
+                    throw endOfInput();
                 }
                 maxNextCharInd = i;
             } else {
                 if ((i = inputStream.read(buffer, maxNextCharInd, available - maxNextCharInd)) == -1) {
                     inputStream.close();
-                    throw new java.io.IOException();
+                    throw endOfInput();
                 } else {
                     maxNextCharInd += i;
                 }
@@ -139,11 +224,39 @@ public class SimpleCharStream {
             backup(0);
             if (tokenBegin == -1) {
                 tokenBegin = bufpos;
+                tokenBeginOffset = totalCharsRead - 1;
             }
             throw e;
         }
     }
 
+    /**
+     * The token manager only detects the end of the input by an IOException. It is reached at
+     * least once for every parsed input and possibly more often during lookahead. So the exception
+     * is created only once per stream and without a stack trace. It is not shared between streams,
+     * since a stream is used by one thread only.
+     */
+    private java.io.IOException endOfInput() {
+        if (endOfInput == null) {
+            endOfInput = new EndOfInputException();
+        }
+        return endOfInput;
+    }
+
+    private static final class EndOfInputException extends java.io.IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private EndOfInputException() {
+            super("end of input");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
     /**
      * Start.
      */
@@ -151,22 +264,26 @@ public class SimpleCharStream {
         tokenBegin = -1;
         char c = readChar();
         tokenBegin = bufpos;
-        absoluteTokenBegin = totalCharsRead;
+        absoluteTokenBegin = (int) totalCharsRead;
+        tokenBeginOffset = totalCharsRead - 1;
         return c;
     }
 
+    /**
+     * Records the line start and tab offsets for a newly read character. A line starts after a
+     * line feed or after a carriage return, which is not followed by a line feed.
+     */
     protected void UpdateLineColumn(char c) {
-        column++;
-
+        long offset = totalCharsRead - 1;
         if (prevCharIsLF) {
             prevCharIsLF = false;
-            line += column = 1;
+            addLineStart(offset);
         } else if (prevCharIsCR) {
             prevCharIsCR = false;
             if (c == '\n') {
                 prevCharIsLF = true;
             } else {
-                line += column = 1;
+                addLineStart(offset);
             }
         }
 
@@ -178,15 +295,92 @@ public class SimpleCharStream {
                 prevCharIsLF = true;
                 break;
             case '\t':
-                column--;
-                column += tabSize - (column % tabSize);
+                if (tabSize != 1) {
+                    if (tabCount == tabs.length) {
+                        tabs = java.util.Arrays.copyOf(tabs, Math.max(16, 2 * tabCount));
+                    }
+                    tabs[tabCount++] = offset;
+                }
                 break;
             default:
                 break;
         }
+    }
+
+    private void addLineStart(long offset) {
+        if (lineCount == lineStarts.length) {
+            lineStarts = java.util.Arrays.copyOf(lineStarts, 2 * lineCount);
+        }
+        lineStarts[lineCount++] = offset;
+    }
 
-        bufline[bufpos] = line;
-        bufcolumn[bufpos] = column;
+    /**
+     * Index of the line containing the character at the absolute offset. The line of the last
+     * lookup and the line after it are checked before searching.
+     */
+    private int lineIndex(long offset) {
+        int index = lastLine;
+        if (index + 1 < lineCount && offset >= lineStarts[index + 1]
+                && (index + 2 >= lineCount || offset < lineStarts[index + 2])) {
+            index++;
+            lastLine = index;
+        } else if (offset < lineStarts[index] || index + 1 < lineCount && offset >= lineStarts[index + 1]) {
+            int low = 0;
+            int high = lineCount - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (lineStarts[middle] <= offset) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            index = low;
+            lastLine = index;
+        }
+        return index;
+    }
+
+    /**
+     * Line of the character at the absolute offset.
+     */
+    public int getLineAt(long offset) {
+        return startLine + releasedLines + lineIndex(offset);
+    }
+
+    /**
+     * Column of the character at the absolute offset. Tabs are expanded to the tab size.
+     */
+    public int getColumnAt(long offset) {
+        int index = lineIndex(offset);
+        long lineStart = lineStarts[index];
+        int column = index == 0 && releasedLines == 0 ? startColumn - 1 : 0;
+        if (tabCount == 0) {
+            return column + (int) (offset - lineStart) + 1;
+        }
+        long position = lineStart;
+        int tab = firstTabAtOrAfter(lineStart);
+        while (tab < tabCount && tabs[tab] <= offset) {
+            column += (int) (tabs[tab] - position);
+            column += tabSize - column % tabSize;
+            position = tabs[tab] + 1;
+            tab++;
+        }
+        return column + (int) (offset - position) + 1;
+    }
+
+    private int firstTabAtOrAfter(long offset) {
+        int low = 0;
+        int high = tabCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (tabs[middle] < offset) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
     }
 
     private char readChar(int pos) {
@@ -230,7 +424,7 @@ public class SimpleCharStream {
      */
 
     public int getColumn() {
-        return bufcolumn[bufpos];
+        return getEndColumn();
     }
 
     @Deprecated
@@ -239,35 +433,35 @@ public class SimpleCharStream {
      */
 
     public int getLine() {
-        return bufline[bufpos];
+        return getEndLine();
     }
 
     /**
      * Get token end column number.
      */
     public int getEndColumn() {
-        return bufcolumn[bufpos];
+        return getColumnAt(totalCharsRead - 1);
     }
 
     /**
      * Get token end line number.
      */
     public int getEndLine() {
-        return bufline[bufpos];
+        return getLineAt(totalCharsRead - 1);
     }
 
     /**
      * Get token beginning column number.
      */
     public int getBeginColumn() {
-        return bufcolumn[tokenBegin];
+        return getColumnAt(tokenBeginOffset);
     }
 
     /**
      * Get token beginning line number.
      */
     public int getBeginLine() {
-        return bufline[tokenBegin];
+        return getLineAt(tokenBeginOffset);
     }
 
     /**
@@ -289,19 +483,15 @@ public class SimpleCharStream {
             int startcolumn, int buffersize) {
         inputStream = dstream;
         isStringProvider = dstream instanceof StringProvider;
-        line = startline;
-        column = startcolumn - 1;
+        startLine = startline;
+        startColumn = startcolumn;
+        initialBufferSize = buffersize;
 
         if (isStringProvider) {
-            int bs = ((StringProvider) inputStream)._string.length();
-            available = bufsize = bs;
-            bufline = new int[bs];
-            bufcolumn = new int[bs];
+            available = bufsize = ((StringProvider) inputStream)._string.length();
         } else {
             available = bufsize = buffersize;
             buffer = new char[buffersize];
-            bufline = new int[buffersize];
-            bufcolumn = new int[buffersize];
         }
     }
 
@@ -327,23 +517,26 @@ public class SimpleCharStream {
             int startcolumn, int buffersize) {
         inputStream = dstream;
         isStringProvider = dstream instanceof StringProvider;
-        line = startline;
-        column = startcolumn - 1;
+        startLine = startline;
+        startColumn = startcolumn;
+        initialBufferSize = buffersize;
         if (isStringProvider) {
-            int bs = ((StringProvider) inputStream)._string.length();
-            available = bufsize = bs;
-            bufline = new int[bs];
-            bufcolumn = new int[bs];
+            available = bufsize = ((StringProvider) inputStream)._string.length();
         } else {
+            available = bufsize = buffersize;
             if (buffer == null || buffersize != buffer.length) {
-                available = bufsize = buffersize;
                 buffer = new char[buffersize];
-                bufline = new int[buffersize];
-                bufcolumn = new int[buffersize];
             }
         }
         prevCharIsLF = prevCharIsCR = false;
         tokenBegin = inBuf = maxNextCharInd = 0;
+        totalCharsRead = absoluteTokenBegin = 0;
+        tokenBeginOffset = -1;
+        lineStarts[0] = 0;
+        lineCount = 1;
+        releasedLines = 0;
+        lastLine = 0;
+        tabCount = 0;
         bufpos = -1;
     }
 
@@ -363,9 +556,46 @@ public class SimpleCharStream {
     }
 
     /**
-     * Get token literal value.
+     * Get token literal value. The images of short tokens, which are mostly keywords and
+     * identifiers, are taken from a cache, so a recurring token does not allocate a new string.
      */
     public String GetImage() {
+        int length = bufpos >= tokenBegin ? bufpos - tokenBegin + 1 : bufsize - tokenBegin + bufpos + 1;
+        if (length > MAX_CACHED_IMAGE_LENGTH) {
+            return newImage();
+        }
+        int hash = 0;
+        for (int i = 0, pos = tokenBegin; i < length; i++) {
+            hash = 31 * hash + readChar(pos);
+            if (++pos == bufsize) {
+                pos = 0;
+            }
+        }
+        int index = (hash ^ hash >>> 16) & IMAGE_CACHE_SIZE - 1;
+        String image = imageCache[index];
+        if (image == null || image.hashCode() != hash || !isImage(image, length)) {
+            image = newImage();
+            imageCache[index] = image;
+        }
+        return image;
+    }
+
+    private boolean isImage(String image, int length) {
+        if (image.length() != length) {
+            return false;
+        }
+        for (int i = 0, pos = tokenBegin; i < length; i++) {
+            if (image.charAt(i) != readChar(pos)) {
+                return false;
+            }
+            if (++pos == bufsize) {
+                pos = 0;
+            }
+        }
+        return true;
+    }
+
+    private String newImage() {
         if (isStringProvider) {
             String data = ((StringProvider) inputStream)._string;
             if (bufpos >= tokenBegin) {
@@ -417,53 +647,19 @@ public class SimpleCharStream {
      */
     public void Done() {
         buffer = null;
-        bufline = null;
-        bufcolumn = null;
     }
 
     /**
-     * Method to adjust line and column numbers for the start of a token.
+     * Method to adjust line and column numbers for the start of a token. The lines after the
+     * token are shifted by the same number of lines. Adjusting the column is only supported for a
+     * token in the first line.
      */
-    @SuppressWarnings("checkstyle:parameterassignment")
     public void adjustBeginLineColumn(int newLine, int newCol) {
-        int start = tokenBegin;
-        int len;
-
-        if (bufpos >= tokenBegin) {
-            len = bufpos - tokenBegin + inBuf + 1;
-        } else {
-            len = bufsize - tokenBegin + bufpos + 1 + inBuf;
+        int index = lineIndex(tokenBeginOffset);
+        startLine = newLine - releasedLines - index;
+        if (index == 0 && releasedLines == 0) {
+            startColumn += newCol - getBeginColumn();
         }
-
-        int i = 0;
-        int j = 0;
-        int k = 0;
-        int nextColDiff = 0;
-        int columnDiff = 0;
-
-        while (i < len && bufline[j = start % bufsize] == bufline[k = ++start % bufsize]) {
-            bufline[j] = newLine;
-            nextColDiff = columnDiff + bufcolumn[k] - bufcolumn[j];
-            bufcolumn[j] = newCol + columnDiff;
-            columnDiff = nextColDiff;
-            i++;
-        }
-
-        if (i < len) {
-            bufline[j] = newLine++;
-            bufcolumn[j] = newCol + columnDiff;
-
-            while (i++ < len) {
-                if (bufline[j = start % bufsize] != bufline[++start % bufsize]) {
-                    bufline[j] = newLine++;
-                } else {
-                    bufline[j] = newLine;
-                }
-            }
-        }
-
-        line = bufline[j];
-        column = bufcolumn[j];
     }
 
     boolean getTrackLineColumn() {
@@ -0,0 +1,66 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+/**
+ * Node factory of the generated parser (jjtree option NODE_FACTORY). If the parser is configured
+ * to not build AST nodes, one stateless node is returned for all productions. So no parallel node
+ * tree is built and no tokens are retained by the parsed statement.
+ *
+ * @see CCJSqlParser#withAstNodes(boolean)
+ */
+public final class SimpleNodeFactory {
+
+    private static final SimpleNode DISCARDED_NODE = new DiscardedNode();
+
+    private SimpleNodeFactory() {
+    }
+
+    /**
+     * The created nodes do not reference the parser, since this would keep its buffers alive as
+     * long as the parsed statement.
+     */
+    public static SimpleNode jjtCreate(CCJSqlParser parser, int id) {
+        if (parser.astNodes) {
+            return new SimpleNode(id);
+        }
+        return DISCARDED_NODE;
+    }
+
+    /**
+     * A node that ignores everything set on it, so it could be shared.
+     */
+    private static final class DiscardedNode extends SimpleNode {
+
+        private DiscardedNode() {
+            super(CCJSqlParserTreeConstants.JJTSTATEMENT);
+        }
+
+        @Override
+        public void jjtSetParent(Node n) {
+        }
+
+        @Override
+        public void jjtAddChild(Node n, int i) {
+        }
+
+        @Override
+        public void jjtSetValue(Object value) {
+        }
+
+        @Override
+        public void jjtSetFirstToken(Token token) {
+        }
+
+        @Override
+        public void jjtSetLastToken(Token token) {
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+/**
+ * Divides SQL into parts without the token manager: words, character literals, quoted
+ * identifiers and single other characters. Whitespace and comments are skipped. Used by the
+ * {@link StatementSplitter} and the {@link StatementClassifier}, which only need to know the words
+ * outside of quotes and comments.
+ */
+final class SqlScanner {
+
+    private final CharSequence text;
+
+    SqlScanner(CharSequence text) {
+        this.text = text;
+    }
+
+    int length() {
+        return text.length();
+    }
+
+    char charAt(int position) {
+        return text.charAt(position);
+    }
+
+    /**
+     * Skips whitespace and comments.
+     *
+     * @return the start of the next part, or the length of the text
+     */
+    int skip(int start) {
+        int i = start;
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '-' && startsWith("--", i)) {
+                i = endOfLineComment(i);
+            } else if (c == '/' && startsWith("/*", i)) {
+                i = endOfBlockComment(i);
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * @return the end of the part starting at the position
+     */
+    int endOfPart(int position) {
+        char c = text.charAt(position);
+        if (c == '\'') {
+            return endOfCharLiteral(position);
+        } else if (c == '"' || c == '`') {
+            return endOfQuotedIdentifier(position, c);
+        } else if (c == '[') {
+            return endOfBracketIdentifier(position);
+        } else if (isWordPart(c)) {
+            return endOfWord(position);
+        }
+        return position + 1;
+    }
+
+    private boolean startsWith(String prefix, int offset) {
+        if (offset + prefix.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(offset + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int endOfLineComment(int start) {
+        int i = start + 2;
+        while (i < text.length() && text.charAt(i) != '\n' && text.charAt(i) != '\r') {
+            i++;
+        }
+        return i;
+    }
+
+    private int endOfBlockComment(int start) {
+        int i = start + 2;
+        while (i < text.length()) {
+            if (text.charAt(i) == '*' && startsWith("*/", i)) {
+                return i + 2;
+            }
+            i++;
+        }
+        return text.length();
+    }
+
+    /**
+     * A character literal may escape quotes by doubling them or using a backslash.
+     */
+    private int endOfCharLiteral(int start) {
+        int i = start + 1;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '\'') {
+                if (i + 1 < text.length() && text.charAt(i + 1) == '\'') {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return text.length();
+    }
+
+    private int endOfQuotedIdentifier(int start, char quote) {
+        int i = start + 1;
+        while (i < text.length()) {
+            if (text.charAt(i) == quote) {
+                return i + 1;
+            }
+            i++;
+        }
+        return text.length();
+    }
+
+    /**
+     * Like the token manager, a bracket quotes an identifier if it does not start with a digit and
+     * ends on the same line. Otherwise it is a single character, e.g. of an array index.
+     */
+    private int endOfBracketIdentifier(int start) {
+        int i = start + 1;
+        if (i < text.length() && Character.isDigit(text.charAt(i))) {
+            return start + 1;
+        }
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == ']') {
+                return i > start + 1 ? i + 1 : start + 1;
+            } else if (c == '\n' || c == '\r') {
+                return start + 1;
+            }
+            i++;
+        }
+        return start + 1;
+    }
+
+    private int endOfWord(int start) {
+        int i = start + 1;
+        while (i < text.length() && isWordPart(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#' || c == '@';
+    }
+
+    /**
+     * Compares a part case insensitively to an upper case keyword.
+     */
+    boolean isKeyword(String keyword, int start, int end) {
+        if (end - start != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (Character.toUpperCase(text.charAt(start + i)) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
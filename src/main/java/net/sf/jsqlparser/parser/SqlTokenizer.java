@@ -0,0 +1,188 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.util.Arrays;
+
+/**
+ * Splits SQL into the tokens of the parser without parsing it, e.g. for syntax highlighting,
+ * classifying or masking statements. The token manager of the parser is used, but no
+ * {@link Token} objects, images or line and column numbers are created. A token is given by its
+ * kind, one of the {@link CCJSqlParserConstants}, and its offsets. Comments are included with the
+ * kinds {@link CCJSqlParserConstants#LINE_COMMENT} and
+ * {@link CCJSqlParserConstants#MULTI_LINE_COMMENT}.
+ *
+ * The tokenizer works like an iterator:
+ *
+ * <pre>
+ * SqlTokenizer tokenizer = new SqlTokenizer(sql);
+ * while (tokenizer.next()) {
+ *     String image = sql.substring(tokenizer.getBegin(), tokenizer.getEnd());
+ * }
+ * </pre>
+ *
+ * or reads the tokens as triples of kind, begin and end into an int array with
+ * {@link #read(int[])}. Invalid input gives a {@link TokenMgrException}.
+ */
+public class SqlTokenizer {
+
+    private final TokenManager tokenManager;
+    /**
+     * Triples of the tokens read by the token manager, but not yet returned.
+     */
+    private int[] queue = new int[3 * 8];
+    private int queueStart = 0;
+    private int queueEnd = 0;
+    private boolean endOfInput = false;
+
+    private int kind = -1;
+    private int begin = -1;
+    private int end = -1;
+
+    public SqlTokenizer(String sql) {
+        this(new StringProvider(sql));
+    }
+
+    public SqlTokenizer(Provider provider) {
+        tokenManager = new TokenManager(new SimpleCharStream(provider));
+    }
+
+    /**
+     * Like {@link CCJSqlParser#withSquareBracketQuotation(boolean)}, square brackets quote
+     * identifiers.
+     */
+    public SqlTokenizer withSquareBracketQuotation(boolean allowSquareBracketQuotation) {
+        tokenManager.allowSquareBracketQuotation = allowSquareBracketQuotation;
+        return this;
+    }
+
+    /**
+     * Moves to the next token.
+     *
+     * @return false, if there is no further token
+     */
+    public boolean next() {
+        if (queueStart == queueEnd && !fill()) {
+            kind = begin = end = -1;
+            return false;
+        }
+        kind = queue[queueStart];
+        begin = queue[queueStart + 1];
+        end = queue[queueStart + 2];
+        queueStart += 3;
+        return true;
+    }
+
+    /**
+     * Kind of the current token, one of the {@link CCJSqlParserConstants}.
+     */
+    public int getKind() {
+        return kind;
+    }
+
+    /**
+     * Offset of the first character of the current token.
+     */
+    public int getBegin() {
+        return begin;
+    }
+
+    /**
+     * Offset after the last character of the current token.
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Reads the next tokens into the buffer, each as the triple of kind, begin and end.
+     *
+     * @return the number of tokens read, 0 at the end of the input
+     */
+    public int read(int[] buffer) {
+        int length = buffer.length - buffer.length % 3;
+        int position = 0;
+        while (position < length) {
+            if (queueStart == queueEnd && !fill()) {
+                break;
+            }
+            int count = Math.min(length - position, queueEnd - queueStart);
+            System.arraycopy(queue, queueStart, buffer, position, count);
+            queueStart += count;
+            position += count;
+        }
+        return position / 3;
+    }
+
+    /**
+     * Returns all tokens of the SQL, each as the triple of kind, begin and end.
+     */
+    public static int[] tokenize(String sql) {
+        SqlTokenizer tokenizer = new SqlTokenizer(sql);
+        while (!tokenizer.endOfInput) {
+            tokenizer.tokenManager.getNextToken();
+        }
+        return Arrays.copyOf(tokenizer.queue, tokenizer.queueEnd);
+    }
+
+    /**
+     * Reads the next token and the comments before it into the queue.
+     */
+    private boolean fill() {
+        queueStart = queueEnd = 0;
+        while (queueEnd == 0 && !endOfInput) {
+            tokenManager.getNextToken();
+        }
+        return queueEnd > 0;
+    }
+
+    private void add(int tokenKind, int tokenBegin, int tokenEnd) {
+        if (queueEnd == queue.length) {
+            queue = Arrays.copyOf(queue, 2 * queue.length);
+        }
+        queue[queueEnd++] = tokenKind;
+        queue[queueEnd++] = tokenBegin;
+        queue[queueEnd++] = tokenEnd;
+    }
+
+    /**
+     * Fills a single token without image, lines and columns and records every token and
+     * comment. Only the image of a quoted identifier is needed, since its lexical action reads it.
+     */
+    private final class TokenManager extends CCJSqlParserTokenManager {
+
+        private final Token token = new Token();
+
+        private TokenManager(SimpleCharStream stream) {
+            super(stream);
+        }
+
+        @Override
+        protected Token jjFillToken() {
+            token.kind = jjmatchedKind;
+            token.image = jjmatchedKind == S_QUOTED_IDENTIFIER ? input_stream.GetImage() : null;
+            token.specialToken = null;
+            token.next = null;
+            if (jjmatchedKind == LINE_COMMENT || jjmatchedKind == MULTI_LINE_COMMENT) {
+                add(jjmatchedKind, input_stream.getAbsoluteTokenBegin() - 1, (int) input_stream.totalCharsRead);
+            }
+            return token;
+        }
+
+        @Override
+        public void CommonTokenAction(Token t) {
+            if (t.kind == EOF) {
+                endOfInput = true;
+            } else {
+                add(t.kind, input_stream.getAbsoluteTokenBegin() - 1, (int) input_stream.totalCharsRead);
+            }
+        }
+    }
+}
@@ -0,0 +1,511 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Commit;
+import net.sf.jsqlparser.statement.SetStatement;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.StatementVisitorAdapter;
+import net.sf.jsqlparser.statement.UseStatement;
+import net.sf.jsqlparser.statement.alter.Alter;
+import net.sf.jsqlparser.statement.create.index.CreateIndex;
+import net.sf.jsqlparser.statement.create.table.CreateTable;
+import net.sf.jsqlparser.statement.create.view.AlterView;
+import net.sf.jsqlparser.statement.create.view.CreateView;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.drop.Drop;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.merge.Merge;
+import net.sf.jsqlparser.statement.replace.Replace;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectBody;
+import net.sf.jsqlparser.statement.select.SetOperationList;
+import net.sf.jsqlparser.statement.truncate.Truncate;
+import net.sf.jsqlparser.statement.update.Update;
+import net.sf.jsqlparser.statement.upsert.Upsert;
+
+/**
+ * Classifies a statement without parsing it, e.g. to route it to a read or write connection. The
+ * type is taken from the first words and the primary table and FOR UPDATE are found by a scan of
+ * the words outside of quotes, comments and brackets. For a statement the parser accepts, the
+ * result is the same as {@link #classify(Statement)} of the parsed statement. Other input gives
+ * some classification, but is not rejected.
+ */
+public final class StatementClassifier {
+
+    public enum Type {
+        SELECT, INSERT, UPDATE, DELETE, MERGE, UPSERT, REPLACE,
+        /**
+         * CREATE, ALTER, DROP and TRUNCATE.
+         */
+        DDL,
+        /**
+         * COMMIT.
+         */
+        TRANSACTION,
+        SET, USE, OTHER
+    }
+
+    /**
+     * The type of a statement, its primary table and whether a SELECT locks its rows.
+     */
+    public static final class Classification {
+
+        private final Type type;
+        private final Table table;
+        private final boolean forUpdate;
+
+        public Classification(Type type, Table table, boolean forUpdate) {
+            this.type = type;
+            this.table = table;
+            this.forUpdate = forUpdate;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * The table a statement reads from or writes to: the table of the first FROM of a SELECT,
+         * the modified table of INSERT, UPDATE, DELETE, MERGE, UPSERT and REPLACE and the table
+         * of CREATE TABLE, CREATE INDEX, ALTER TABLE, DROP TABLE and TRUNCATE. Otherwise null.
+         */
+        public Table getTable() {
+            return table;
+        }
+
+        public boolean isForUpdate() {
+            return forUpdate;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Classification)) {
+                return false;
+            }
+            Classification other = (Classification) obj;
+            return type == other.type && forUpdate == other.forUpdate
+                    && Objects.equals(tableName(), other.tableName());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, tableName(), forUpdate);
+        }
+
+        private String tableName() {
+            return table == null ? null : table.getFullyQualifiedName();
+        }
+
+        @Override
+        public String toString() {
+            return type + (table == null ? "" : " " + table.getFullyQualifiedName()) + (forUpdate ? " FOR UPDATE" : "");
+        }
+    }
+
+    private final SqlScanner scanner;
+    /**
+     * The current part and the bracket depth after it.
+     */
+    private int begin;
+    private int end;
+    private int depth;
+
+    private StatementClassifier(String sql) {
+        scanner = new SqlScanner(sql);
+    }
+
+    /**
+     * Classifies the first statement of the SQL.
+     */
+    public static Classification classify(String sql) {
+        return new StatementClassifier(sql).classify();
+    }
+
+    /**
+     * Classifies a parsed statement.
+     */
+    public static Classification classify(Statement statement) {
+        ParsedStatementClassifier classifier = new ParsedStatementClassifier();
+        statement.accept(classifier);
+        return classifier.classification;
+    }
+
+    private Classification classify() {
+        if (!next()) {
+            return new Classification(Type.OTHER, null, false);
+        }
+        if (is('(')) {
+            return classifyParenthesizedSelect();
+        } else if (isKeyword("SELECT")) {
+            return classifySelect();
+        } else if (isKeyword("WITH")) {
+            return classifyWith();
+        } else if (isKeyword("INSERT")) {
+            next();
+            while (isKeyword("LOW_PRIORITY") || isKeyword("DELAYED") || isKeyword("HIGH_PRIORITY")
+                    || isKeyword("IGNORE") || isKeyword("INTO")) {
+                next();
+            }
+            return new Classification(Type.INSERT, table(), false);
+        } else if (isKeyword("UPDATE")) {
+            next();
+            return new Classification(Type.UPDATE, table(), false);
+        } else if (isKeyword("DELETE")) {
+            return new Classification(Type.DELETE, deleteTable(), false);
+        } else if (isKeyword("MERGE")) {
+            next();
+            next();
+            return new Classification(Type.MERGE, table(), false);
+        } else if (isKeyword("UPSERT")) {
+            return new Classification(Type.UPSERT, tableAfterOptionalInto(), false);
+        } else if (isKeyword("REPLACE")) {
+            return new Classification(Type.REPLACE, tableAfterOptionalInto(), false);
+        } else if (isKeyword("CREATE")) {
+            return new Classification(Type.DDL, createTable(), false);
+        } else if (isKeyword("ALTER") || isKeyword("DROP") || isKeyword("TRUNCATE")) {
+            return new Classification(Type.DDL, next() && isKeyword("TABLE") ? tableAfterTableKeyword() : null,
+                    false);
+        } else if (isKeyword("COMMIT")) {
+            return new Classification(Type.TRANSACTION, null, false);
+        } else if (isKeyword("SET")) {
+            return new Classification(Type.SET, null, false);
+        } else if (isKeyword("USE")) {
+            return new Classification(Type.USE, null, false);
+        }
+        return new Classification(Type.OTHER, null, false);
+    }
+
+    /**
+     * A select in brackets, maybe the first of a set operation.
+     */
+    private Classification classifyParenthesizedSelect() {
+        while (is('(')) {
+            if (!next()) {
+                return new Classification(Type.SELECT, null, false);
+            }
+        }
+        return isKeyword("WITH") ? classifyWith() : classifySelect();
+    }
+
+    /**
+     * The statement follows the WITH items on the same depth. It is the first SELECT or INSERT, or
+     * a bracket right after the closing bracket of a WITH item.
+     */
+    private Classification classifyWith() {
+        int withDepth = depth;
+        boolean closed = false;
+        while (next()) {
+            if (depth == withDepth) {
+                if (isKeyword("SELECT")) {
+                    return classifySelect();
+                } else if (isKeyword("INSERT")) {
+                    return classify();
+                }
+                closed = is(')');
+            } else if (closed && is('(') && depth == withDepth + 1) {
+                return classifyParenthesizedSelect();
+            }
+        }
+        return new Classification(Type.SELECT, null, false);
+    }
+
+    /**
+     * Scans from the SELECT for the first FROM and FOR UPDATE on the depth of the SELECT or below,
+     * which belongs to this select or the other selects of a set operation.
+     */
+    private Classification classifySelect() {
+        int selectDepth = depth;
+        Table table = null;
+        boolean fromSeen = false;
+        boolean forUpdate = false;
+        while (next()) {
+            if (depth > selectDepth || !isWord()) {
+                continue;
+            }
+            if (!fromSeen && depth == selectDepth && isKeyword("FROM")) {
+                fromSeen = true;
+                if (next() && isName()) {
+                    table = table();
+                    if (is('(')) {
+                        table = null;
+                    }
+                }
+                if (!isWord()) {
+                    continue;
+                }
+            }
+            if (isKeyword("FOR") && next() && isKeyword("UPDATE")) {
+                forUpdate = true;
+            }
+        }
+        return new Classification(Type.SELECT, table, forUpdate);
+    }
+
+    /**
+     * Like the grammar, the table of DELETE t1, t2 FROM t1 JOIN ... is the one after FROM.
+     */
+    private Table deleteTable() {
+        if (!next()) {
+            return null;
+        }
+        if (isKeyword("FROM")) {
+            next();
+            return table();
+        }
+        Table first = table();
+        while (depth == 0 && (isName() || is(',') || is('.'))) {
+            if (isKeyword("FROM")) {
+                next();
+                return table();
+            } else if (isKeyword("WHERE") || isKeyword("ORDER") || isKeyword("LIMIT") || isKeyword("JOIN")) {
+                break;
+            }
+            if (!next()) {
+                break;
+            }
+        }
+        return first;
+    }
+
+    private Table tableAfterOptionalInto() {
+        next();
+        if (isKeyword("INTO")) {
+            next();
+        }
+        return table();
+    }
+
+    private Table createTable() {
+        while (next() && depth == 0) {
+            if (isKeyword("TABLE")) {
+                return tableAfterTableKeyword();
+            } else if (isKeyword("INDEX")) {
+                while (next()) {
+                    if (depth == 0 && isKeyword("ON")) {
+                        next();
+                        return table();
+                    }
+                }
+                return null;
+            } else if (isKeyword("VIEW")) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Table after the keyword TABLE, optionally after IF [NOT] EXISTS.
+     */
+    private Table tableAfterTableKeyword() {
+        next();
+        if (isKeyword("IF")) {
+            next();
+            if (isKeyword("NOT")) {
+                next();
+            }
+            next();
+        }
+        return table();
+    }
+
+    /**
+     * Reads a table name at the current part. Like the grammar, empty parts between dots are
+     * null. The current part is the one after the name afterwards.
+     */
+    private Table table() {
+        if (begin >= end || !isName()) {
+            return null;
+        }
+        List<String> parts = new ArrayList<>();
+        parts.add(image());
+        while (next() && is('.')) {
+            while (next() && is('.')) {
+                parts.add(null);
+            }
+            if (begin >= end || !isName()) {
+                break;
+            }
+            parts.add(image());
+        }
+        return new Table(parts);
+    }
+
+    /**
+     * Moves to the next part.
+     *
+     * @return false at the end of the statement
+     */
+    private boolean next() {
+        begin = scanner.skip(end);
+        if (begin >= scanner.length() || depth == 0 && scanner.charAt(begin) == ';') {
+            begin = end = scanner.length();
+            return false;
+        }
+        end = scanner.endOfPart(begin);
+        if (is('(')) {
+            depth++;
+        } else if (is(')')) {
+            depth--;
+        }
+        return true;
+    }
+
+    private boolean is(char c) {
+        return end == begin + 1 && scanner.charAt(begin) == c;
+    }
+
+    private boolean isWord() {
+        return begin < end && SqlScanner.isWordPart(scanner.charAt(begin));
+    }
+
+    private boolean isName() {
+        if (begin >= end) {
+            return false;
+        }
+        char c = scanner.charAt(begin);
+        return isWord() || c == '"' || c == '`' || c == '[' && end > begin + 1;
+    }
+
+    private boolean isKeyword(String keyword) {
+        return isWord() && scanner.isKeyword(keyword, begin, end);
+    }
+
+    private String image() {
+        StringBuilder image = new StringBuilder(end - begin);
+        for (int i = begin; i < end; i++) {
+            image.append(scanner.charAt(i));
+        }
+        return image.toString();
+    }
+
+    /**
+     * The classification of parsed statements, which the classification of SQL has to match.
+     */
+    private static final class ParsedStatementClassifier extends StatementVisitorAdapter {
+
+        private Classification classification = new Classification(Type.OTHER, null, false);
+
+        private void set(Type type, Table table) {
+            classification = new Classification(type, table, false);
+        }
+
+        @Override
+        public void visit(Select select) {
+            SelectBody body = select.getSelectBody();
+            Table table = null;
+            boolean forUpdate = false;
+            List<SelectBody> bodies = new ArrayList<>();
+            if (body instanceof SetOperationList) {
+                bodies.addAll(((SetOperationList) body).getSelects());
+            } else {
+                bodies.add(body);
+            }
+            for (int i = 0; i < bodies.size(); i++) {
+                if (bodies.get(i) instanceof PlainSelect) {
+                    PlainSelect plainSelect = (PlainSelect) bodies.get(i);
+                    FromItem fromItem = plainSelect.getFromItem();
+                    if (i == 0 && fromItem instanceof Table) {
+                        table = (Table) fromItem;
+                    }
+                    forUpdate |= plainSelect.isForUpdate();
+                }
+            }
+            classification = new Classification(Type.SELECT, table, forUpdate);
+        }
+
+        @Override
+        public void visit(Insert insert) {
+            set(Type.INSERT, insert.getTable());
+        }
+
+        @Override
+        public void visit(Update update) {
+            set(Type.UPDATE, update.getTable());
+        }
+
+        @Override
+        public void visit(Delete delete) {
+            set(Type.DELETE, delete.getTable());
+        }
+
+        @Override
+        public void visit(Merge merge) {
+            set(Type.MERGE, merge.getTable());
+        }
+
+        @Override
+        public void visit(Upsert upsert) {
+            set(Type.UPSERT, upsert.getTable());
+        }
+
+        @Override
+        public void visit(Replace replace) {
+            set(Type.REPLACE, replace.getTable());
+        }
+
+        @Override
+        public void visit(CreateTable createTable) {
+            set(Type.DDL, createTable.getTable());
+        }
+
+        @Override
+        public void visit(CreateIndex createIndex) {
+            set(Type.DDL, createIndex.getTable());
+        }
+
+        @Override
+        public void visit(CreateView createView) {
+            set(Type.DDL, null);
+        }
+
+        @Override
+        public void visit(AlterView alterView) {
+            set(Type.DDL, null);
+        }
+
+        @Override
+        public void visit(Alter alter) {
+            set(Type.DDL, alter.getTable());
+        }
+
+        @Override
+        public void visit(Drop drop) {
+            set(Type.DDL, "TABLE".equalsIgnoreCase(drop.getType()) ? drop.getName() : null);
+        }
+
+        @Override
+        public void visit(Truncate truncate) {
+            set(Type.DDL, truncate.getTable());
+        }
+
+        @Override
+        public void visit(Commit commit) {
+            set(Type.TRANSACTION, null);
+        }
+
+        @Override
+        public void visit(SetStatement set) {
+            set(Type.SET, null);
+        }
+
+        @Override
+        public void visit(UseStatement use) {
+            set(Type.USE, null);
+        }
+    }
+}
@@ -18,4 +18,15 @@ import net.sf.jsqlparser.statement.Statement;
 public interface StatementListener {
 
     void accept(Statement statement);
+
+    /**
+     * Called instead of {@link #accept(net.sf.jsqlparser.statement.Statement)} by parsers that
+     * know the position of the statement within the parsed text.
+     *
+     * @param beginOffset offset of the first character of the statement
+     * @param endOffset offset after the last character of the statement
+     */
+    default void accept(Statement statement, int beginOffset, int endOffset) {
+        accept(statement);
+    }
 }
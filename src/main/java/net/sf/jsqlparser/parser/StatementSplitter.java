@@ -0,0 +1,100 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+/**
+ * Finds the statements of a script without parsing it. The statements are separated by
+ * semicolons outside of quotes, comments and BEGIN ... END blocks. Within a block CASE ... END is
+ * counted as well, so the END of a case expression does not close the block.
+ *
+ * The splitter works like an iterator:
+ *
+ * <pre>
+ * StatementSplitter splitter = new StatementSplitter(sql);
+ * while (splitter.next()) {
+ *     String statement = sql.substring(splitter.getBegin(), splitter.getEnd());
+ * }
+ * </pre>
+ *
+ * Each range starts at the first character of a statement and ends after its last character,
+ * without the semicolon and surrounding whitespace or comments. Ranges without any statement
+ * text, e.g. between two semicolons, are skipped.
+ */
+public class StatementSplitter {
+
+    private final SqlScanner scanner;
+    private int position;
+    private int begin = -1;
+    private int end = -1;
+
+    public StatementSplitter(CharSequence text) {
+        this(text, 0);
+    }
+
+    public StatementSplitter(CharSequence text, int start) {
+        this.scanner = new SqlScanner(text);
+        this.position = start;
+    }
+
+    /**
+     * Moves to the next statement.
+     *
+     * @return false, if there is no further statement
+     */
+    public boolean next() {
+        begin = -1;
+        end = -1;
+        boolean block = false;
+        int depth = 0;
+        while ((position = scanner.skip(position)) < scanner.length()) {
+            char c = scanner.charAt(position);
+            if (c == ';' && depth == 0) {
+                position++;
+                if (begin >= 0) {
+                    return true;
+                }
+                continue;
+            }
+            int partEnd = scanner.endOfPart(position);
+            if (SqlScanner.isWordPart(c)) {
+                if (begin < 0 && scanner.isKeyword("BEGIN", position, partEnd)) {
+                    block = true;
+                    depth = 1;
+                } else if (block && depth > 0) {
+                    if (scanner.isKeyword("BEGIN", position, partEnd) || scanner.isKeyword("CASE", position, partEnd)) {
+                        depth++;
+                    } else if (scanner.isKeyword("END", position, partEnd)) {
+                        depth--;
+                    }
+                }
+            }
+            if (begin < 0) {
+                begin = position;
+            }
+            end = partEnd;
+            position = partEnd;
+        }
+        return begin >= 0;
+    }
+
+    /**
+     * Offset of the first character of the current statement.
+     */
+    public int getBegin() {
+        return begin;
+    }
+
+    /**
+     * Offset after the last character of the current statement.
+     */
+    public int getEnd() {
+        return end;
+    }
+}
@@ -111,6 +111,15 @@ public class Table extends ASTNodeAccessImpl implements FromItem, MultiPartName
         }
     }
 
+    /**
+     * The parts of the fully qualified name, starting with the server. Missing parts are null.
+     */
+    public List<String> getNameParts() {
+        List<String> parts = new ArrayList<>(partItems);
+        Collections.reverse(parts);
+        return parts;
+    }
+
     @Override
     public String getFullyQualifiedName() {
         StringBuilder fqn = new StringBuilder();
@@ -315,6 +315,10 @@ public class AlterExpression {
             return colDataType;
         }
 
+        public boolean isWithType() {
+            return withType;
+        }
+
         public List<String> getColumnSpecs() {
             if (columnSpecs == null) {
                 return Collections.emptyList();
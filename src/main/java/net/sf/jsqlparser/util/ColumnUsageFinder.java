@@ -0,0 +1,923 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import net.sf.jsqlparser.expression.Alias;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Block;
+import net.sf.jsqlparser.statement.Commit;
+import net.sf.jsqlparser.statement.DeclareStatement;
+import net.sf.jsqlparser.statement.DescribeStatement;
+import net.sf.jsqlparser.statement.ExplainStatement;
+import net.sf.jsqlparser.statement.SetStatement;
+import net.sf.jsqlparser.statement.ShowColumnsStatement;
+import net.sf.jsqlparser.statement.ShowStatement;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.StatementVisitor;
+import net.sf.jsqlparser.statement.Statements;
+import net.sf.jsqlparser.statement.UseStatement;
+import net.sf.jsqlparser.statement.alter.Alter;
+import net.sf.jsqlparser.statement.comment.Comment;
+import net.sf.jsqlparser.statement.create.index.CreateIndex;
+import net.sf.jsqlparser.statement.create.table.CreateTable;
+import net.sf.jsqlparser.statement.create.view.AlterView;
+import net.sf.jsqlparser.statement.create.view.CreateView;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.drop.Drop;
+import net.sf.jsqlparser.statement.execute.Execute;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.merge.Merge;
+import net.sf.jsqlparser.statement.replace.Replace;
+import net.sf.jsqlparser.statement.select.AllColumns;
+import net.sf.jsqlparser.statement.select.AllTableColumns;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.FromItemVisitor;
+import net.sf.jsqlparser.statement.select.Join;
+import net.sf.jsqlparser.statement.select.LateralSubSelect;
+import net.sf.jsqlparser.statement.select.Limit;
+import net.sf.jsqlparser.statement.select.OrderByElement;
+import net.sf.jsqlparser.statement.select.ParenthesisFromItem;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectBody;
+import net.sf.jsqlparser.statement.select.SelectExpressionItem;
+import net.sf.jsqlparser.statement.select.SelectItem;
+import net.sf.jsqlparser.statement.select.SelectVisitor;
+import net.sf.jsqlparser.statement.select.SetOperationList;
+import net.sf.jsqlparser.statement.select.SubJoin;
+import net.sf.jsqlparser.statement.select.SubSelect;
+import net.sf.jsqlparser.statement.select.TableFunction;
+import net.sf.jsqlparser.statement.select.ValuesList;
+import net.sf.jsqlparser.statement.select.WithItem;
+import net.sf.jsqlparser.statement.truncate.Truncate;
+import net.sf.jsqlparser.statement.update.Update;
+import net.sf.jsqlparser.statement.upsert.Upsert;
+import net.sf.jsqlparser.statement.values.ValuesStatement;
+
+/**
+ * Finds the columns a statement reads or writes, in a single pass. Every column is resolved
+ * through the aliases, WITH items, sub selects and joins of its query to the table it belongs to,
+ * and tagged with the clause it is used in.
+ *
+ * The from items of each query form a scope, which maps their aliases or names to the tables or
+ * derived tables they stand for. A qualified column is resolved by the innermost scope containing
+ * its qualifier. An unqualified column is resolved when only one from item of the innermost scope
+ * can have it, i.e. there is only one table, or only one derived table with that column. Otherwise
+ * its table is unknown. A column of a derived table is resolved further to the column of the
+ * select list it stands for, if that is a plain column.
+ *
+ * An instance is reusable, the usages of a call are cleared by the next one. It is not thread
+ * safe.
+ */
+public class ColumnUsageFinder {
+
+    /**
+     * The clause a column is used in.
+     */
+    public enum Clause {
+        SELECT,
+        JOIN,
+        WHERE,
+        GROUP_BY,
+        HAVING,
+        ORDER_BY,
+        /**
+         * The columns and values of the SET of an UPDATE, a MERGE or an ON DUPLICATE KEY UPDATE.
+         */
+        SET,
+        /**
+         * The columns and values of an INSERT, REPLACE or UPSERT.
+         */
+        INSERT,
+        /**
+         * Every other clause, e.g. LIMIT or TOP.
+         */
+        OTHER
+    }
+
+    /**
+     * A column read or written by a statement.
+     */
+    public static final class ColumnUsage {
+
+        private final Column column;
+        private final Table table;
+        private final String columnName;
+        private final Clause clause;
+        private final boolean written;
+
+        private ColumnUsage(Column column, Table table, String columnName, Clause clause, boolean written) {
+            this.column = column;
+            this.table = table;
+            this.columnName = columnName;
+            this.clause = clause;
+            this.written = written;
+        }
+
+        /**
+         * @return the column as written in the statement, or null for the columns of a table
+         * selected by <code>*</code>
+         */
+        public Column getColumn() {
+            return column;
+        }
+
+        /**
+         * @return the table the column belongs to, or null if it is unknown or a computed column
+         * of a derived table
+         */
+        public Table getTable() {
+            return table;
+        }
+
+        /**
+         * @return the name of the column in its table, or <code>*</code> for all of its columns
+         */
+        public String getColumnName() {
+            return columnName;
+        }
+
+        public Clause getClause() {
+            return clause;
+        }
+
+        public boolean isWritten() {
+            return written;
+        }
+
+        @Override
+        public String toString() {
+            return (table == null ? "" : table.getFullyQualifiedName() + ".") + columnName + " " + clause
+                    + (written ? " written" : "");
+        }
+    }
+
+    private final List<ColumnUsage> usages = new ArrayList<>();
+    private final List<ColumnUsage> usagesView = Collections.unmodifiableList(usages);
+    private final List<String> withItemNames = new ArrayList<>();
+    private final List<Source> withItemSources = new ArrayList<>();
+    private final List<Scope> scopes = new ArrayList<>();
+    private int depth;
+    private final UsageVisitor visitor = new UsageVisitor();
+    private final SourceVisitor sourceVisitor = new SourceVisitor();
+
+    /**
+     * Finds the columns of the statement, replacing the ones found before.
+     *
+     * @return this finder
+     */
+    public ColumnUsageFinder find(Statement statement) {
+        clear();
+        statement.accept(visitor);
+        return this;
+    }
+
+    /**
+     * Finds the columns of the statements, replacing the ones found before.
+     *
+     * @return this finder
+     */
+    public ColumnUsageFinder find(Statements statements) {
+        clear();
+        statements.accept(visitor);
+        return this;
+    }
+
+    /**
+     * @return the column usages in the order they were visited
+     */
+    public List<ColumnUsage> getColumnUsages() {
+        return usagesView;
+    }
+
+    private void clear() {
+        usages.clear();
+        withItemNames.clear();
+        withItemSources.clear();
+        depth = 0;
+    }
+
+    private static String fold(String name) {
+        int length = name.length();
+        if (length > 1 && (name.charAt(0) == '"' || name.charAt(0) == '`' || name.charAt(0) == '[')) {
+            return name.substring(1, length - 1).toLowerCase(Locale.ROOT);
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private Scope pushScope() {
+        if (depth == scopes.size()) {
+            scopes.add(new Scope());
+        }
+        Scope scope = scopes.get(depth++);
+        scope.clear();
+        return scope;
+    }
+
+    private void popScope() {
+        depth--;
+    }
+
+    private Scope scope() {
+        return scopes.get(depth - 1);
+    }
+
+    private void addSource(Source source, Alias alias) {
+        Scope scope = scope();
+        scope.sources.add(source);
+        if (alias != null) {
+            scope.names.put(fold(alias.getName()), source);
+        }
+    }
+
+    private void addTable(Table table) {
+        int withItem = table.getSchemaName() == null ? withItemNames.lastIndexOf(fold(table.getName())) : -1;
+        Source source = withItem >= 0 ? withItemSources.get(withItem) : new Source(table);
+        Scope scope = scope();
+        scope.sources.add(source);
+        if (table.getAlias() != null) {
+            scope.names.put(fold(table.getAlias().getName()), source);
+        } else {
+            scope.names.put(fold(table.getName()), source);
+            if (table.getSchemaName() != null) {
+                scope.names.put(fold(table.getFullyQualifiedName()), source);
+            }
+        }
+    }
+
+    /**
+     * @return the origin of the column, or null if its table is unknown
+     */
+    private Origin resolve(Column column) {
+        Table qualifier = column.getTable();
+        if (qualifier == null || qualifier.getName() == null) {
+            return resolve(column.getColumnName());
+        }
+        String key = fold(qualifier.getSchemaName() == null ? qualifier.getName()
+                : qualifier.getFullyQualifiedName());
+        for (int i = depth - 1; i >= 0; i--) {
+            Source source = scopes.get(i).names.get(key);
+            if (source != null) {
+                return source.resolve(column.getColumnName());
+            }
+        }
+        return new Origin(qualifier, column.getColumnName());
+    }
+
+    private Origin resolve(String columnName) {
+        for (int i = depth - 1; i >= 0; i--) {
+            Source candidate = null;
+            for (Source source : scopes.get(i).sources) {
+                if (source.mayHave(columnName)) {
+                    if (candidate != null) {
+                        return null;
+                    }
+                    candidate = source;
+                }
+            }
+            if (candidate != null) {
+                return candidate.resolve(columnName);
+            }
+        }
+        return null;
+    }
+
+    private void add(Column column, Origin origin, Clause clause, boolean written) {
+        if (origin == null) {
+            usages.add(new ColumnUsage(column, null, column.getColumnName(), clause, written));
+        } else {
+            usages.add(new ColumnUsage(column, origin.table, origin.columnName, clause, written));
+        }
+    }
+
+    /**
+     * Adds the written columns, the unqualified ones belong to the target table.
+     */
+    private void addWritten(List<Column> columns, Table target, Clause clause) {
+        if (columns != null) {
+            for (Column column : columns) {
+                Origin origin = column.getTable() == null || column.getTable().getName() == null
+                        ? new Origin(target, column.getColumnName()) : resolve(column);
+                add(column, origin, clause, true);
+            }
+        }
+    }
+
+    /**
+     * A column of a table.
+     */
+    private static final class Origin {
+
+        private final Table table;
+        private final String columnName;
+
+        private Origin(Table table, String columnName) {
+            this.table = table;
+            this.columnName = columnName;
+        }
+    }
+
+    /**
+     * A table, or a derived table with the origins of its columns, which may be null for computed
+     * columns.
+     */
+    private static final class Source {
+
+        private final Table table;
+        private final Map<String, Origin> columns;
+        private final List<Source> allColumnsOf;
+
+        private Source(Table table) {
+            this.table = table;
+            this.columns = null;
+            this.allColumnsOf = null;
+        }
+
+        private Source(Map<String, Origin> columns, List<Source> allColumnsOf) {
+            this.table = null;
+            this.columns = columns;
+            this.allColumnsOf = allColumnsOf;
+        }
+
+        private boolean mayHave(String columnName) {
+            return table != null || !allColumnsOf.isEmpty() || columns.containsKey(fold(columnName));
+        }
+
+        private Origin resolve(String columnName) {
+            if (table != null) {
+                return new Origin(table, columnName);
+            }
+            String key = fold(columnName);
+            if (columns.containsKey(key)) {
+                return columns.get(key);
+            }
+            return allColumnsOf.size() == 1 ? allColumnsOf.get(0).resolve(columnName) : null;
+        }
+    }
+
+    /**
+     * The from items of a query and the origins of its select list.
+     */
+    private static final class Scope {
+
+        private final List<Source> sources = new ArrayList<>();
+        private final Map<String, Source> names = new HashMap<>();
+        private Map<String, Origin> selectItems;
+
+        private void clear() {
+            sources.clear();
+            names.clear();
+            selectItems = null;
+        }
+    }
+
+    /**
+     * Adds the from items to the current scope.
+     */
+    private final class SourceVisitor implements FromItemVisitor {
+
+        @Override
+        public void visit(Table table) {
+            addTable(table);
+        }
+
+        @Override
+        public void visit(SubSelect subSelect) {
+            addSource(visitor.derive(subSelect), subSelect.getAlias());
+        }
+
+        @Override
+        public void visit(SubJoin subjoin) {
+            visitor.visitFromItems(subjoin.getLeft(), subjoin.getJoinList());
+        }
+
+        @Override
+        public void visit(LateralSubSelect lateralSubSelect) {
+            Alias alias = lateralSubSelect.getAlias() != null ? lateralSubSelect.getAlias()
+                    : lateralSubSelect.getSubSelect().getAlias();
+            addSource(visitor.derive(lateralSubSelect.getSubSelect()), alias);
+        }
+
+        @Override
+        public void visit(ValuesList valuesList) {
+            Map<String, Origin> columns = new LinkedHashMap<>();
+            if (valuesList.getColumnNames() != null) {
+                for (String columnName : valuesList.getColumnNames()) {
+                    columns.put(fold(columnName), null);
+                }
+            }
+            addSource(new Source(columns, Collections.<Source>emptyList()), valuesList.getAlias());
+        }
+
+        @Override
+        public void visit(TableFunction tableFunction) {
+            visitor.visitExpression(tableFunction.getFunction(), Clause.OTHER);
+            addSource(new Source(new HashMap<String, Origin>(), Collections.<Source>emptyList()),
+                    tableFunction.getAlias());
+        }
+
+        @Override
+        public void visit(ParenthesisFromItem parenthesis) {
+            parenthesis.getFromItem().accept(this);
+        }
+    }
+
+    /**
+     * Visits every part of a statement, which can contain a column.
+     */
+    private final class UsageVisitor extends ExpressionVisitorAdapter implements SelectVisitor, StatementVisitor {
+
+        private Clause clause = Clause.OTHER;
+        private Map<String, Origin> selectItems;
+        private List<Source> allColumnsOf;
+
+        private UsageVisitor() {
+            setSelectVisitor(this);
+        }
+
+        private void visitExpression(Expression expression, Clause expressionClause) {
+            if (expression != null) {
+                clause = expressionClause;
+                expression.accept(this);
+            }
+        }
+
+        private void visitExpressions(List<? extends Expression> expressions, Clause expressionClause) {
+            if (expressions != null) {
+                for (Expression expression : expressions) {
+                    visitExpression(expression, expressionClause);
+                }
+            }
+        }
+
+        private void visitOrderBy(List<OrderByElement> elements) {
+            if (elements != null) {
+                for (OrderByElement element : elements) {
+                    visitExpression(element.getExpression(), Clause.ORDER_BY);
+                }
+            }
+        }
+
+        private void visitLimit(Limit limit) {
+            if (limit != null) {
+                visitExpression(limit.getOffset(), Clause.OTHER);
+                visitExpression(limit.getRowCount(), Clause.OTHER);
+            }
+        }
+
+        private void visitWithItems(List<WithItem> items) {
+            if (items != null) {
+                for (WithItem item : items) {
+                    item.accept(this);
+                }
+            }
+        }
+
+        /**
+         * Adds the from items and joins to the current scope. Each join condition sees the from
+         * items before it.
+         */
+        private void visitFromItems(FromItem fromItem, List<Join> joins) {
+            if (fromItem != null) {
+                fromItem.accept(sourceVisitor);
+            }
+            if (joins != null) {
+                for (Join join : joins) {
+                    join.getRightItem().accept(sourceVisitor);
+                    visitExpression(join.getOnExpression(), Clause.JOIN);
+                    if (join.getUsingColumns() != null) {
+                        for (Column column : join.getUsingColumns()) {
+                            add(column, resolve(column), Clause.JOIN, false);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Visits a derived table in a scope of its own.
+         */
+        private Source derive(SubSelect subSelect) {
+            int scope = withItemNames.size();
+            visitWithItems(subSelect.getWithItemsList());
+            Source source = derive(subSelect.getSelectBody());
+            closeScope(scope);
+            return source;
+        }
+
+        /**
+         * Removes the WITH items declared since the scope was opened.
+         */
+        private void closeScope(int scope) {
+            withItemNames.subList(scope, withItemNames.size()).clear();
+            withItemSources.subList(scope, withItemSources.size()).clear();
+        }
+
+        private Source derive(SelectBody selectBody) {
+            Clause outerClause = clause;
+            selectBody.accept(this);
+            clause = outerClause;
+            return new Source(selectItems, allColumnsOf);
+        }
+
+        @Override
+        public void visit(Column column) {
+            Origin origin;
+            if (column.getTable() == null && depth > 0 && scope().selectItems != null
+                    && (clause == Clause.GROUP_BY || clause == Clause.HAVING || clause == Clause.ORDER_BY)
+                    && scope().selectItems.containsKey(fold(column.getColumnName()))) {
+                origin = scope().selectItems.get(fold(column.getColumnName()));
+                if (origin == null) {
+                    // an alias of a computed select item
+                    return;
+                }
+            } else {
+                origin = resolve(column);
+            }
+            add(column, origin, clause, false);
+        }
+
+        @Override
+        public void visit(SubSelect subSelect) {
+            derive(subSelect);
+        }
+
+        @Override
+        public void visit(Select select) {
+            int scope = withItemNames.size();
+            visitWithItems(select.getWithItemsList());
+            derive(select.getSelectBody());
+            closeScope(scope);
+        }
+
+        @Override
+        public void visit(PlainSelect plainSelect) {
+            Scope scope = pushScope();
+            visitFromItems(plainSelect.getFromItem(), plainSelect.getJoins());
+
+            if (plainSelect.getDistinct() != null && plainSelect.getDistinct().getOnSelectItems() != null) {
+                visitSelectItems(plainSelect.getDistinct().getOnSelectItems());
+            }
+            if (plainSelect.getTop() != null) {
+                visitExpression(plainSelect.getTop().getExpression(), Clause.OTHER);
+            }
+            Map<String, Origin> columns = new LinkedHashMap<>();
+            List<Source> all = new ArrayList<>();
+            visitSelectItems(plainSelect.getSelectItems(), columns, all);
+            scope.selectItems = columns;
+
+            visitExpression(plainSelect.getWhere(), Clause.WHERE);
+            if (plainSelect.getOracleHierarchical() != null) {
+                clause = Clause.WHERE;
+                plainSelect.getOracleHierarchical().accept(this);
+            }
+            if (plainSelect.getGroupBy() != null) {
+                visitExpressions(plainSelect.getGroupBy().getGroupByExpressions(), Clause.GROUP_BY);
+                if (plainSelect.getGroupBy().getGroupingSets() != null) {
+                    for (Object groupingSet : plainSelect.getGroupBy().getGroupingSets()) {
+                        clause = Clause.GROUP_BY;
+                        if (groupingSet instanceof Expression) {
+                            ((Expression) groupingSet).accept(this);
+                        } else if (groupingSet instanceof ExpressionList) {
+                            ((ExpressionList) groupingSet).accept(this);
+                        }
+                    }
+                }
+            }
+            visitExpression(plainSelect.getHaving(), Clause.HAVING);
+            visitOrderBy(plainSelect.getOrderByElements());
+            visitLimit(plainSelect.getLimit());
+            popScope();
+
+            selectItems = columns;
+            allColumnsOf = all;
+        }
+
+        private void visitSelectItems(List<? extends SelectItem> items) {
+            visitSelectItems(items, null, null);
+        }
+
+        /**
+         * Visits the select items, collecting the origins of the columns they select.
+         */
+        private void visitSelectItems(List<? extends SelectItem> items, Map<String, Origin> columns,
+                List<Source> all) {
+            for (SelectItem item : items) {
+                if (item instanceof SelectExpressionItem) {
+                    SelectExpressionItem expressionItem = (SelectExpressionItem) item;
+                    Expression expression = expressionItem.getExpression();
+                    visitExpression(expression, Clause.SELECT);
+                    if (columns == null) {
+                        continue;
+                    }
+                    Origin origin = expression instanceof Column ? resolve((Column) expression) : null;
+                    if (expressionItem.getAlias() != null) {
+                        columns.put(fold(expressionItem.getAlias().getName()), origin);
+                    } else if (expression instanceof Column) {
+                        columns.put(fold(((Column) expression).getColumnName()), origin);
+                    }
+                } else if (item instanceof AllColumns) {
+                    for (Source source : scope().sources) {
+                        addAllColumns(source, all);
+                    }
+                } else if (item instanceof AllTableColumns) {
+                    Table table = ((AllTableColumns) item).getTable();
+                    Source source = scope().names.get(fold(table.getSchemaName() == null ? table.getName()
+                            : table.getFullyQualifiedName()));
+                    if (source != null) {
+                        addAllColumns(source, all);
+                    }
+                }
+            }
+        }
+
+        private void addAllColumns(Source source, List<Source> all) {
+            if (all != null) {
+                all.add(source);
+            }
+            if (source.table != null) {
+                usages.add(new ColumnUsage(null, source.table, "*", Clause.SELECT, false));
+            }
+        }
+
+        /**
+         * The columns of a set operation are the ones of its first select, which its ORDER BY
+         * refers to.
+         */
+        @Override
+        public void visit(SetOperationList setOperationList) {
+            Map<String, Origin> columns = null;
+            List<Source> all = null;
+            for (SelectBody select : setOperationList.getSelects()) {
+                select.accept(this);
+                if (columns == null) {
+                    columns = selectItems;
+                    all = allColumnsOf;
+                }
+            }
+            pushScope().selectItems = columns;
+            visitOrderBy(setOperationList.getOrderByElements());
+            visitLimit(setOperationList.getLimit());
+            popScope();
+            selectItems = columns;
+            allColumnsOf = all;
+        }
+
+        /**
+         * The column list of a WITH item renames the columns of its select.
+         */
+        @Override
+        public void visit(WithItem withItem) {
+            Source source = derive(withItem.getSelectBody());
+            if (withItem.getWithItemList() != null && source.allColumnsOf.isEmpty()) {
+                Map<String, Origin> renamed = new LinkedHashMap<>();
+                Iterator<Origin> origins = source.columns.values().iterator();
+                for (SelectItem item : withItem.getWithItemList()) {
+                    Origin origin = origins.hasNext() ? origins.next() : null;
+                    if (item instanceof SelectExpressionItem
+                            && ((SelectExpressionItem) item).getExpression() instanceof Column) {
+                        renamed.put(fold(((Column) ((SelectExpressionItem) item).getExpression()).getColumnName()),
+                                origin);
+                    }
+                }
+                source = new Source(renamed, source.allColumnsOf);
+            }
+            withItemNames.add(fold(withItem.getName()));
+            withItemSources.add(source);
+        }
+
+        @Override
+        public void visit(ValuesStatement values) {
+            pushScope();
+            visitExpressions(values.getExpressions(), Clause.OTHER);
+            popScope();
+            selectItems = new HashMap<>();
+            allColumnsOf = Collections.emptyList();
+        }
+
+        @Override
+        public void visit(Insert insert) {
+            pushScope();
+            addTable(insert.getTable());
+            addWritten(insert.getColumns(), insert.getTable(), Clause.INSERT);
+            if (insert.getItemsList() != null) {
+                clause = Clause.INSERT;
+                insert.getItemsList().accept(this);
+            }
+            if (insert.getSelect() != null) {
+                visit(insert.getSelect());
+            }
+            addWritten(insert.getSetColumns(), insert.getTable(), Clause.SET);
+            visitExpressions(insert.getSetExpressionList(), Clause.SET);
+            addWritten(insert.getDuplicateUpdateColumns(), insert.getTable(), Clause.SET);
+            visitExpressions(insert.getDuplicateUpdateExpressionList(), Clause.SET);
+            if (insert.getReturningExpressionList() != null) {
+                visitSelectItems(insert.getReturningExpressionList());
+            }
+            popScope();
+        }
+
+        @Override
+        public void visit(Update update) {
+            pushScope();
+            addTable(update.getTable());
+            visitFromItems(null, update.getStartJoins());
+            visitFromItems(update.getFromItem(), update.getJoins());
+            addWritten(update.getColumns(), update.getTable(), Clause.SET);
+            visitExpressions(update.getExpressions(), Clause.SET);
+            if (update.getSelect() != null) {
+                visit(update.getSelect());
+            }
+            visitExpression(update.getWhere(), Clause.WHERE);
+            visitOrderBy(update.getOrderByElements());
+            visitLimit(update.getLimit());
+            if (update.getReturningExpressionList() != null) {
+                visitSelectItems(update.getReturningExpressionList());
+            }
+            popScope();
+        }
+
+        @Override
+        public void visit(Delete delete) {
+            pushScope();
+            visitFromItems(delete.getTable(), delete.getJoins());
+            visitExpression(delete.getWhere(), Clause.WHERE);
+            visitOrderBy(delete.getOrderByElements());
+            visitLimit(delete.getLimit());
+            popScope();
+        }
+
+        @Override
+        public void visit(Merge merge) {
+            pushScope();
+            addTable(merge.getTable());
+            if (merge.getUsingTable() != null) {
+                if (merge.getUsingAlias() != null && merge.getUsingTable().getAlias() == null) {
+                    addSource(new Source(merge.getUsingTable()), merge.getUsingAlias());
+                } else {
+                    addTable(merge.getUsingTable());
+                }
+            } else if (merge.getUsingSelect() != null) {
+                Alias alias = merge.getUsingAlias() != null ? merge.getUsingAlias()
+                        : merge.getUsingSelect().getAlias();
+                addSource(derive(merge.getUsingSelect()), alias);
+            }
+            visitExpression(merge.getOnCondition(), Clause.JOIN);
+            if (merge.getMergeUpdate() != null) {
+                addWritten(merge.getMergeUpdate().getColumns(), merge.getTable(), Clause.SET);
+                visitExpressions(merge.getMergeUpdate().getValues(), Clause.SET);
+                visitExpression(merge.getMergeUpdate().getWhereCondition(), Clause.WHERE);
+                visitExpression(merge.getMergeUpdate().getDeleteWhereCondition(), Clause.WHERE);
+            }
+            if (merge.getMergeInsert() != null) {
+                addWritten(merge.getMergeInsert().getColumns(), merge.getTable(), Clause.INSERT);
+                visitExpressions(merge.getMergeInsert().getValues(), Clause.INSERT);
+            }
+            popScope();
+        }
+
+        @Override
+        public void visit(Replace replace) {
+            pushScope();
+            addTable(replace.getTable());
+            addWritten(replace.getColumns(), replace.getTable(), Clause.INSERT);
+            visitExpressions(replace.getExpressions(), Clause.INSERT);
+            if (replace.getItemsList() != null) {
+                clause = Clause.INSERT;
+                replace.getItemsList().accept(this);
+            }
+            popScope();
+        }
+
+        @Override
+        public void visit(Upsert upsert) {
+            pushScope();
+            addTable(upsert.getTable());
+            addWritten(upsert.getColumns(), upsert.getTable(), Clause.INSERT);
+            if (upsert.getItemsList() != null) {
+                clause = Clause.INSERT;
+                upsert.getItemsList().accept(this);
+            }
+            if (upsert.getSelect() != null) {
+                visit(upsert.getSelect());
+            }
+            addWritten(upsert.getDuplicateUpdateColumns(), upsert.getTable(), Clause.SET);
+            visitExpressions(upsert.getDuplicateUpdateExpressionList(), Clause.SET);
+            popScope();
+        }
+
+        @Override
+        public void visit(CreateTable createTable) {
+            if (createTable.getSelect() != null) {
+                visit(createTable.getSelect());
+            }
+        }
+
+        @Override
+        public void visit(CreateView createView) {
+            visit(createView.getSelect());
+        }
+
+        @Override
+        public void visit(AlterView alterView) {
+            derive(alterView.getSelectBody());
+        }
+
+        @Override
+        public void visit(ExplainStatement explain) {
+            visit(explain.getStatement());
+        }
+
+        @Override
+        public void visit(Statements statements) {
+            for (Statement statement : statements.getStatements()) {
+                statement.accept(this);
+            }
+        }
+
+        @Override
+        public void visit(Block block) {
+            if (block.getStatements() != null) {
+                visit(block.getStatements());
+            }
+        }
+
+        @Override
+        public void visit(Execute execute) {
+            if (execute.getExprList() != null) {
+                clause = Clause.OTHER;
+                execute.getExprList().accept(this);
+            }
+        }
+
+        @Override
+        public void visit(SetStatement set) {
+            for (int i = 0; i < set.getCount(); i++) {
+                visitExpression(set.getExpression(i), Clause.OTHER);
+            }
+        }
+
+        @Override
+        public void visit(Comment comment) {
+        }
+
+        @Override
+        public void visit(Commit commit) {
+        }
+
+        @Override
+        public void visit(Drop drop) {
+        }
+
+        @Override
+        public void visit(Truncate truncate) {
+        }
+
+        @Override
+        public void visit(CreateIndex createIndex) {
+        }
+
+        @Override
+        public void visit(Alter alter) {
+        }
+
+        @Override
+        public void visit(ShowColumnsStatement show) {
+        }
+
+        @Override
+        public void visit(UseStatement use) {
+        }
+
+        @Override
+        public void visit(DescribeStatement describe) {
+        }
+
+        @Override
+        public void visit(ShowStatement show) {
+        }
+
+        @Override
+        public void visit(DeclareStatement declare) {
+        }
+    }
+}
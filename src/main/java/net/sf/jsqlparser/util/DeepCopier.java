@@ -0,0 +1,1691 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.util;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import net.sf.jsqlparser.expression.Alias;
+import net.sf.jsqlparser.expression.AllComparisonExpression;
+import net.sf.jsqlparser.expression.AnalyticExpression;
+import net.sf.jsqlparser.expression.AnyComparisonExpression;
+import net.sf.jsqlparser.expression.ArrayExpression;
+import net.sf.jsqlparser.expression.BinaryExpression;
+import net.sf.jsqlparser.expression.CaseExpression;
+import net.sf.jsqlparser.expression.CastExpression;
+import net.sf.jsqlparser.expression.CollateExpression;
+import net.sf.jsqlparser.expression.DateTimeLiteralExpression;
+import net.sf.jsqlparser.expression.DateValue;
+import net.sf.jsqlparser.expression.DoubleValue;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitor;
+import net.sf.jsqlparser.expression.ExtractExpression;
+import net.sf.jsqlparser.expression.Function;
+import net.sf.jsqlparser.expression.HexValue;
+import net.sf.jsqlparser.expression.IntervalExpression;
+import net.sf.jsqlparser.expression.JdbcNamedParameter;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.JsonExpression;
+import net.sf.jsqlparser.expression.KeepExpression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.MySQLGroupConcat;
+import net.sf.jsqlparser.expression.MySQLIndexHint;
+import net.sf.jsqlparser.expression.NextValExpression;
+import net.sf.jsqlparser.expression.NotExpression;
+import net.sf.jsqlparser.expression.NullValue;
+import net.sf.jsqlparser.expression.NumericBind;
+import net.sf.jsqlparser.expression.OracleHierarchicalExpression;
+import net.sf.jsqlparser.expression.OracleHint;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.RowConstructor;
+import net.sf.jsqlparser.expression.SignedExpression;
+import net.sf.jsqlparser.expression.StringValue;
+import net.sf.jsqlparser.expression.TimeKeyExpression;
+import net.sf.jsqlparser.expression.TimeValue;
+import net.sf.jsqlparser.expression.TimestampValue;
+import net.sf.jsqlparser.expression.UserVariable;
+import net.sf.jsqlparser.expression.ValueListExpression;
+import net.sf.jsqlparser.expression.WhenClause;
+import net.sf.jsqlparser.expression.WindowElement;
+import net.sf.jsqlparser.expression.WindowOffset;
+import net.sf.jsqlparser.expression.WindowRange;
+import net.sf.jsqlparser.expression.operators.arithmetic.*;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.*;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Block;
+import net.sf.jsqlparser.statement.Commit;
+import net.sf.jsqlparser.statement.DeclareStatement;
+import net.sf.jsqlparser.statement.DescribeStatement;
+import net.sf.jsqlparser.statement.ExplainStatement;
+import net.sf.jsqlparser.statement.SetStatement;
+import net.sf.jsqlparser.statement.ShowColumnsStatement;
+import net.sf.jsqlparser.statement.ShowStatement;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.StatementVisitor;
+import net.sf.jsqlparser.statement.Statements;
+import net.sf.jsqlparser.statement.UseStatement;
+import net.sf.jsqlparser.statement.alter.Alter;
+import net.sf.jsqlparser.statement.alter.AlterExpression;
+import net.sf.jsqlparser.statement.alter.ConstraintState;
+import net.sf.jsqlparser.statement.alter.DeferrableConstraint;
+import net.sf.jsqlparser.statement.alter.EnableConstraint;
+import net.sf.jsqlparser.statement.alter.ValidateConstraint;
+import net.sf.jsqlparser.statement.comment.Comment;
+import net.sf.jsqlparser.statement.create.index.CreateIndex;
+import net.sf.jsqlparser.statement.create.table.CheckConstraint;
+import net.sf.jsqlparser.statement.create.table.ColDataType;
+import net.sf.jsqlparser.statement.create.table.ColumnDefinition;
+import net.sf.jsqlparser.statement.create.table.CreateTable;
+import net.sf.jsqlparser.statement.create.table.ExcludeConstraint;
+import net.sf.jsqlparser.statement.create.table.ForeignKeyIndex;
+import net.sf.jsqlparser.statement.create.table.Index;
+import net.sf.jsqlparser.statement.create.table.NamedConstraint;
+import net.sf.jsqlparser.statement.create.view.AlterView;
+import net.sf.jsqlparser.statement.create.view.CreateView;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.drop.Drop;
+import net.sf.jsqlparser.statement.execute.Execute;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.merge.Merge;
+import net.sf.jsqlparser.statement.merge.MergeInsert;
+import net.sf.jsqlparser.statement.merge.MergeUpdate;
+import net.sf.jsqlparser.statement.replace.Replace;
+import net.sf.jsqlparser.statement.select.AllColumns;
+import net.sf.jsqlparser.statement.select.AllTableColumns;
+import net.sf.jsqlparser.statement.select.Distinct;
+import net.sf.jsqlparser.statement.select.ExceptOp;
+import net.sf.jsqlparser.statement.select.ExpressionListItem;
+import net.sf.jsqlparser.statement.select.Fetch;
+import net.sf.jsqlparser.statement.select.First;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.FromItemVisitor;
+import net.sf.jsqlparser.statement.select.FunctionItem;
+import net.sf.jsqlparser.statement.select.GroupByElement;
+import net.sf.jsqlparser.statement.select.IntersectOp;
+import net.sf.jsqlparser.statement.select.Join;
+import net.sf.jsqlparser.statement.select.KSQLJoinWindow;
+import net.sf.jsqlparser.statement.select.KSQLWindow;
+import net.sf.jsqlparser.statement.select.LateralSubSelect;
+import net.sf.jsqlparser.statement.select.Limit;
+import net.sf.jsqlparser.statement.select.MinusOp;
+import net.sf.jsqlparser.statement.select.Offset;
+import net.sf.jsqlparser.statement.select.OptimizeFor;
+import net.sf.jsqlparser.statement.select.OrderByElement;
+import net.sf.jsqlparser.statement.select.ParenthesisFromItem;
+import net.sf.jsqlparser.statement.select.Pivot;
+import net.sf.jsqlparser.statement.select.PivotVisitor;
+import net.sf.jsqlparser.statement.select.PivotXml;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectBody;
+import net.sf.jsqlparser.statement.select.SelectExpressionItem;
+import net.sf.jsqlparser.statement.select.SelectItem;
+import net.sf.jsqlparser.statement.select.SelectItemVisitor;
+import net.sf.jsqlparser.statement.select.SelectVisitor;
+import net.sf.jsqlparser.statement.select.SetOperation;
+import net.sf.jsqlparser.statement.select.SetOperationList;
+import net.sf.jsqlparser.statement.select.Skip;
+import net.sf.jsqlparser.statement.select.SubJoin;
+import net.sf.jsqlparser.statement.select.SubSelect;
+import net.sf.jsqlparser.statement.select.TableFunction;
+import net.sf.jsqlparser.statement.select.Top;
+import net.sf.jsqlparser.statement.select.UnionOp;
+import net.sf.jsqlparser.statement.select.ValuesList;
+import net.sf.jsqlparser.statement.select.Wait;
+import net.sf.jsqlparser.statement.select.WithItem;
+import net.sf.jsqlparser.statement.truncate.Truncate;
+import net.sf.jsqlparser.statement.update.Update;
+import net.sf.jsqlparser.statement.upsert.Upsert;
+import net.sf.jsqlparser.statement.values.ValuesStatement;
+import net.sf.jsqlparser.util.cnfexpression.MultiAndExpression;
+import net.sf.jsqlparser.util.cnfexpression.MultiOrExpression;
+
+/**
+ * Creates deep copies of statements, select bodies, from items and expressions. The copy shares
+ * no mutable object with the original, so both could be modified independently. Strings, enums
+ * and boxed primitives are immutable and therefore shared. The jjtree nodes of the original are
+ * not copied: copied objects return null from <code>getASTNode()</code>.
+ *
+ * This is much faster than parsing the <code>toString()</code> of a statement again. It is meant
+ * for statement templates that are copied and then modified, e.g. to add a where condition or a
+ * limit. An instance is not thread safe, but it is cheap to create one per copy.
+ */
+public class DeepCopier implements StatementVisitor, SelectVisitor, FromItemVisitor, SelectItemVisitor,
+        ExpressionVisitor, ItemsListVisitor, PivotVisitor {
+
+    private Object copy;
+
+    @SuppressWarnings("unchecked")
+    public <T extends Statement> T copyStatement(T statement) {
+        if (statement == null) {
+            return null;
+        }
+        statement.accept(this);
+        return (T) copy;
+    }
+
+    public Statements copyStatements(Statements statements) {
+        if (statements == null) {
+            return null;
+        }
+        Statements result = new Statements();
+        result.setStatements(copyStatementList(statements.getStatements()));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends SelectBody> T copySelectBody(T selectBody) {
+        if (selectBody == null) {
+            return null;
+        }
+        selectBody.accept(this);
+        return (T) copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends FromItem> T copyFromItem(T fromItem) {
+        if (fromItem == null) {
+            return null;
+        }
+        fromItem.accept(this);
+        return (T) copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends SelectItem> T copySelectItem(T selectItem) {
+        if (selectItem == null) {
+            return null;
+        }
+        selectItem.accept(this);
+        return (T) copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Expression> T copyExpression(T expression) {
+        if (expression == null) {
+            return null;
+        }
+        expression.accept(this);
+        return (T) copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends ItemsList> T copyItemsList(T itemsList) {
+        if (itemsList == null) {
+            return null;
+        }
+        itemsList.accept(this);
+        return (T) copy;
+    }
+
+    public Table copyTable(Table table) {
+        if (table == null) {
+            return null;
+        }
+        Table result = new Table(table.getNameParts());
+        result.setAlias(copyAlias(table.getAlias()));
+        result.setPivot(copyPivot(table.getPivot()));
+        MySQLIndexHint hint = table.getIndexHint();
+        if (hint != null) {
+            result.setHint(new MySQLIndexHint(hint.getAction(), hint.getIndexQualifier(),
+                    copyStrings(hint.getIndexNames())));
+        }
+        return result;
+    }
+
+    public Column copyColumn(Column column) {
+        if (column == null) {
+            return null;
+        }
+        return new Column(copyTable(column.getTable()), column.getColumnName());
+    }
+
+    public Alias copyAlias(Alias alias) {
+        if (alias == null) {
+            return null;
+        }
+        Alias result = new Alias(alias.getName(), alias.isUseAs());
+        if (alias.getAliasColumns() != null) {
+            List<Alias.AliasColumn> columns = new ArrayList<>(alias.getAliasColumns().size());
+            for (Alias.AliasColumn column : alias.getAliasColumns()) {
+                columns.add(new Alias.AliasColumn(column.name, copyColDataType(column.colDataType)));
+            }
+            result.setAliasColumns(columns);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Pivot> T copyPivot(T pivot) {
+        if (pivot == null) {
+            return null;
+        }
+        pivot.accept(this);
+        return (T) copy;
+    }
+
+    public ColDataType copyColDataType(ColDataType colDataType) {
+        if (colDataType == null) {
+            return null;
+        }
+        ColDataType result = new ColDataType();
+        result.setDataType(colDataType.getDataType());
+        result.setArgumentsStringList(copyStrings(colDataType.getArgumentsStringList()));
+        result.setCharacterSet(colDataType.getCharacterSet());
+        if (colDataType.getArrayData() != null) {
+            result.setArrayData(new ArrayList<>(colDataType.getArrayData()));
+        }
+        return result;
+    }
+
+    private List<Statement> copyStatementList(List<Statement> statements) {
+        if (statements == null) {
+            return null;
+        }
+        List<Statement> result = new ArrayList<>(statements.size());
+        for (Statement statement : statements) {
+            result.add(copyStatement(statement));
+        }
+        return result;
+    }
+
+    private <T extends SelectBody> List<T> copySelectBodies(List<T> selectBodies) {
+        if (selectBodies == null) {
+            return null;
+        }
+        List<T> result = new ArrayList<>(selectBodies.size());
+        for (T selectBody : selectBodies) {
+            result.add(copySelectBody(selectBody));
+        }
+        return result;
+    }
+
+    private <T extends SelectItem> List<T> copySelectItems(List<T> selectItems) {
+        if (selectItems == null) {
+            return null;
+        }
+        List<T> result = new ArrayList<>(selectItems.size());
+        for (T selectItem : selectItems) {
+            result.add(copySelectItem(selectItem));
+        }
+        return result;
+    }
+
+    private <T extends Expression> List<T> copyExpressions(List<T> expressions) {
+        if (expressions == null) {
+            return null;
+        }
+        List<T> result = new ArrayList<>(expressions.size());
+        for (T expression : expressions) {
+            result.add(copyExpression(expression));
+        }
+        return result;
+    }
+
+    private List<Table> copyTables(List<Table> tables) {
+        if (tables == null) {
+            return null;
+        }
+        List<Table> result = new ArrayList<>(tables.size());
+        for (Table table : tables) {
+            result.add(copyTable(table));
+        }
+        return result;
+    }
+
+    private List<Column> copyColumns(List<Column> columns) {
+        if (columns == null) {
+            return null;
+        }
+        List<Column> result = new ArrayList<>(columns.size());
+        for (Column column : columns) {
+            result.add(copyColumn(column));
+        }
+        return result;
+    }
+
+    private static List<String> copyStrings(List<String> strings) {
+        return strings == null ? null : new ArrayList<>(strings);
+    }
+
+    private List<WithItem> copyWithItems(List<WithItem> withItems) {
+        return copySelectBodies(withItems);
+    }
+
+    private ExpressionList copyExpressionList(ExpressionList expressionList) {
+        if (expressionList == null) {
+            return null;
+        }
+        if (expressionList instanceof LiteralExpressionList
+                && ((LiteralExpressionList) expressionList).isCompact()) {
+            return new LiteralExpressionList((LiteralExpressionList) expressionList);
+        }
+        return new ExpressionList(copyExpressions(expressionList.getExpressions()));
+    }
+
+    private List<Join> copyJoins(List<Join> joins) {
+        if (joins == null) {
+            return null;
+        }
+        List<Join> result = new ArrayList<>(joins.size());
+        for (Join join : joins) {
+            result.add(copyJoin(join));
+        }
+        return result;
+    }
+
+    public Join copyJoin(Join join) {
+        if (join == null) {
+            return null;
+        }
+        Join result = new Join();
+        result.setOuter(join.isOuter());
+        result.setRight(join.isRight());
+        result.setLeft(join.isLeft());
+        result.setNatural(join.isNatural());
+        result.setFull(join.isFull());
+        result.setInner(join.isInner());
+        result.setSimple(join.isSimple());
+        result.setCross(join.isCross());
+        result.setSemi(join.isSemi());
+        result.setStraight(join.isStraight());
+        result.setRightItem(copyFromItem(join.getRightItem()));
+        result.setOnExpression(copyExpression(join.getOnExpression()));
+        result.setUsingColumns(copyColumns(join.getUsingColumns()));
+        KSQLJoinWindow window = join.getJoinWindow();
+        if (window != null) {
+            KSQLJoinWindow windowCopy = new KSQLJoinWindow();
+            windowCopy.setBeforeAfterWindow(window.isBeforeAfterWindow());
+            windowCopy.setDuration(window.getDuration());
+            windowCopy.setTimeUnit(window.getTimeUnit());
+            windowCopy.setBeforeDuration(window.getBeforeDuration());
+            windowCopy.setBeforeTimeUnit(window.getBeforeTimeUnit());
+            windowCopy.setAfterDuration(window.getAfterDuration());
+            windowCopy.setAfterTimeUnit(window.getAfterTimeUnit());
+            result.setJoinWindow(windowCopy);
+        }
+        return result;
+    }
+
+    private List<OrderByElement> copyOrderByElements(List<OrderByElement> orderByElements) {
+        if (orderByElements == null) {
+            return null;
+        }
+        List<OrderByElement> result = new ArrayList<>(orderByElements.size());
+        for (OrderByElement element : orderByElements) {
+            OrderByElement elementCopy = new OrderByElement();
+            elementCopy.setExpression(copyExpression(element.getExpression()));
+            elementCopy.setAsc(element.isAsc());
+            elementCopy.setAscDescPresent(element.isAscDescPresent());
+            elementCopy.setNullOrdering(element.getNullOrdering());
+            result.add(elementCopy);
+        }
+        return result;
+    }
+
+    private Limit copyLimit(Limit limit) {
+        if (limit == null) {
+            return null;
+        }
+        Limit result = new Limit();
+        result.setRowCount(copyExpression(limit.getRowCount()));
+        result.setOffset(copyExpression(limit.getOffset()));
+        result.setLimitAll(limit.isLimitAll());
+        result.setLimitNull(limit.isLimitNull());
+        return result;
+    }
+
+    private Offset copyOffset(Offset offset) {
+        if (offset == null) {
+            return null;
+        }
+        Offset result = new Offset();
+        result.setOffset(offset.getOffset());
+        result.setOffsetParam(offset.getOffsetParam());
+        Expression parameter = copyExpression(offset.getOffsetJdbcParameter());
+        if (parameter instanceof JdbcParameter) {
+            result.setOffsetJdbcParameter((JdbcParameter) parameter);
+        } else if (parameter instanceof JdbcNamedParameter) {
+            result.setOffsetJdbcParameter((JdbcNamedParameter) parameter);
+        }
+        return result;
+    }
+
+    private Fetch copyFetch(Fetch fetch) {
+        if (fetch == null) {
+            return null;
+        }
+        Fetch result = new Fetch();
+        result.setRowCount(fetch.getRowCount());
+        result.setFetchJdbcParameter(copyExpression(fetch.getFetchJdbcParameter()));
+        result.setFetchParamFirst(fetch.isFetchParamFirst());
+        result.setFetchParam(fetch.getFetchParam());
+        return result;
+    }
+
+    private List<SelectExpressionItem> copyReturningList(List<SelectExpressionItem> items) {
+        return copySelectItems(items);
+    }
+
+    private WindowOffset copyWindowOffset(WindowOffset offset) {
+        if (offset == null) {
+            return null;
+        }
+        WindowOffset result = new WindowOffset();
+        result.setExpression(copyExpression(offset.getExpression()));
+        result.setType(offset.getType());
+        return result;
+    }
+
+    private WindowElement copyWindowElement(WindowElement element) {
+        if (element == null) {
+            return null;
+        }
+        WindowElement result = new WindowElement();
+        result.setType(element.getType());
+        result.setOffset(copyWindowOffset(element.getOffset()));
+        WindowRange range = element.getRange();
+        if (range != null) {
+            WindowRange rangeCopy = new WindowRange();
+            rangeCopy.setStart(copyWindowOffset(range.getStart()));
+            rangeCopy.setEnd(copyWindowOffset(range.getEnd()));
+            result.setRange(rangeCopy);
+        }
+        return result;
+    }
+
+    private <T extends BinaryExpression> T copyBinaryExpression(T source, T target) {
+        target.setLeftExpression(copyExpression(source.getLeftExpression()));
+        target.setRightExpression(copyExpression(source.getRightExpression()));
+        copy = target;
+        return target;
+    }
+
+    private void copyOldOracleJoinBinaryExpression(OldOracleJoinBinaryExpression source,
+            OldOracleJoinBinaryExpression target) {
+        target.setOldOracleJoinSyntax(source.getOldOracleJoinSyntax());
+        target.setOraclePriorPosition(source.getOraclePriorPosition());
+        copyBinaryExpression(source, target);
+    }
+
+    private Index copyIndex(Index index) {
+        if (index == null) {
+            return null;
+        }
+        Index result;
+        if (index instanceof CheckConstraint) {
+            CheckConstraint check = (CheckConstraint) index;
+            CheckConstraint checkCopy = new CheckConstraint();
+            checkCopy.setTable(copyTable(check.getTable()));
+            checkCopy.setExpression(copyExpression(check.getExpression()));
+            result = checkCopy;
+        } else if (index instanceof ForeignKeyIndex) {
+            ForeignKeyIndex foreignKey = (ForeignKeyIndex) index;
+            ForeignKeyIndex foreignKeyCopy = new ForeignKeyIndex();
+            foreignKeyCopy.setTable(copyTable(foreignKey.getTable()));
+            foreignKeyCopy.setReferencedColumnNames(copyStrings(foreignKey.getReferencedColumnNames()));
+            foreignKeyCopy.setOnDeleteReferenceOption(foreignKey.getOnDeleteReferenceOption());
+            foreignKeyCopy.setOnUpdateReferenceOption(foreignKey.getOnUpdateReferenceOption());
+            result = foreignKeyCopy;
+        } else if (index instanceof NamedConstraint) {
+            result = new NamedConstraint();
+        } else if (index instanceof ExcludeConstraint) {
+            ExcludeConstraint excludeCopy = new ExcludeConstraint();
+            excludeCopy.setExpression(copyExpression(((ExcludeConstraint) index).getExpression()));
+            result = excludeCopy;
+        } else {
+            result = new Index();
+        }
+        result.setType(index.getType());
+        result.setUsing(index.getUsing());
+        result.setColumnsNames(copyStrings(index.getColumnsNames()));
+        result.setName(index.getName());
+        result.setIndexSpec(copyStrings(index.getIndexSpec()));
+        return result;
+    }
+
+    private ColumnDefinition copyColumnDefinition(ColumnDefinition definition) {
+        ColumnDefinition result = new ColumnDefinition();
+        result.setColumnName(definition.getColumnName());
+        result.setColDataType(copyColDataType(definition.getColDataType()));
+        result.setColumnSpecStrings(copyStrings(definition.getColumnSpecStrings()));
+        return result;
+    }
+
+    private AlterExpression copyAlterExpression(AlterExpression expression) {
+        AlterExpression result = new AlterExpression();
+        result.setOperation(expression.getOperation());
+        result.setOptionalSpecifier(expression.getOptionalSpecifier());
+        result.setColumnName(expression.getColumnName());
+        result.setColOldName(expression.getColOldName());
+        if (expression.getColDataTypeList() != null) {
+            for (AlterExpression.ColumnDataType type : expression.getColDataTypeList()) {
+                result.addColDataType(new AlterExpression.ColumnDataType(type.getColumnName(),
+                        type.isWithType(), copyColDataType(type.getColDataType()),
+                        copyStrings(type.getColumnSpecs())));
+            }
+        }
+        result.setPkColumns(copyStrings(expression.getPkColumns()));
+        result.setUkColumns(copyStrings(expression.getUkColumns()));
+        result.setUkName(expression.getUkName());
+        result.setIndex(copyIndex(expression.getIndex()));
+        result.setConstraintName(expression.getConstraintName());
+        result.setConstraintIfExists(expression.isConstraintIfExists());
+        result.setOnDeleteRestrict(expression.isOnDeleteRestrict());
+        result.setOnDeleteSetNull(expression.isOnDeleteSetNull());
+        result.setOnDeleteCascade(expression.isOnDeleteCascade());
+        result.setFkColumns(copyStrings(expression.getFkColumns()));
+        result.setFkSourceTable(expression.getFkSourceTable());
+        result.setFkSourceColumns(copyStrings(expression.getFkSourceColumns()));
+        result.setUk(expression.getUk());
+        result.setUseEqual(expression.getUseEqual());
+        if (expression.getConstraints() != null) {
+            List<ConstraintState> constraints = new ArrayList<>(expression.getConstraints().size());
+            for (ConstraintState state : expression.getConstraints()) {
+                constraints.add(copyConstraintState(state));
+            }
+            result.setConstraints(constraints);
+        }
+        if (expression.getParameters() != null) {
+            result.addParameters(expression.getParameters().toArray(new String[0]));
+        }
+        return result;
+    }
+
+    private static ConstraintState copyConstraintState(ConstraintState state) {
+        if (state instanceof DeferrableConstraint) {
+            return new DeferrableConstraint(((DeferrableConstraint) state).isNot());
+        } else if (state instanceof EnableConstraint) {
+            return new EnableConstraint(((EnableConstraint) state).isDisable());
+        } else if (state instanceof ValidateConstraint) {
+            return new ValidateConstraint(((ValidateConstraint) state).isNot());
+        }
+        throw new UnsupportedOperationException("cannot copy constraint state " + state.getClass().getName());
+    }
+
+    private List<FunctionItem> copyFunctionItems(List<FunctionItem> items) {
+        if (items == null) {
+            return null;
+        }
+        List<FunctionItem> result = new ArrayList<>(items.size());
+        for (FunctionItem item : items) {
+            FunctionItem itemCopy = new FunctionItem();
+            itemCopy.setFunction(copyExpression(item.getFunction()));
+            itemCopy.setAlias(copyAlias(item.getAlias()));
+            result.add(itemCopy);
+        }
+        return result;
+    }
+
+    private void copyPivotParts(Pivot source, Pivot target) {
+        target.setFunctionItems(copyFunctionItems(source.getFunctionItems()));
+        target.setForColumns(copyColumns(source.getForColumns()));
+        target.setSingleInItems(copySelectItems(source.getSingleInItems()));
+        if (source.getMultiInItems() != null) {
+            List<ExpressionListItem> items = new ArrayList<>(source.getMultiInItems().size());
+            for (ExpressionListItem item : source.getMultiInItems()) {
+                ExpressionListItem itemCopy = new ExpressionListItem();
+                itemCopy.setExpressionList(copyExpressionList(item.getExpressionList()));
+                itemCopy.setAlias(copyAlias(item.getAlias()));
+                items.add(itemCopy);
+            }
+            target.setMultiInItems(items);
+        }
+        target.setAlias(copyAlias(source.getAlias()));
+    }
+
+    @Override
+    public void visit(Pivot pivot) {
+        Pivot result = new Pivot();
+        copyPivotParts(pivot, result);
+        copy = result;
+    }
+
+    @Override
+    public void visit(PivotXml pivot) {
+        PivotXml result = new PivotXml();
+        copyPivotParts(pivot, result);
+        result.setInSelect(copySelectBody(pivot.getInSelect()));
+        result.setInAny(pivot.isInAny());
+        copy = result;
+    }
+
+    @Override
+    public void visit(PlainSelect plainSelect) {
+        PlainSelect result = new PlainSelect();
+        Distinct distinct = plainSelect.getDistinct();
+        if (distinct != null) {
+            Distinct distinctCopy = new Distinct(distinct.isUseUnique());
+            distinctCopy.setOnSelectItems(copySelectItems(distinct.getOnSelectItems()));
+            result.setDistinct(distinctCopy);
+        }
+        result.setSelectItems(copySelectItems(plainSelect.getSelectItems()));
+        result.setIntoTables(copyTables(plainSelect.getIntoTables()));
+        result.setFromItem(copyFromItem(plainSelect.getFromItem()));
+        result.setJoins(copyJoins(plainSelect.getJoins()));
+        result.setWhere(copyExpression(plainSelect.getWhere()));
+        GroupByElement groupBy = plainSelect.getGroupBy();
+        if (groupBy != null) {
+            GroupByElement groupByCopy = new GroupByElement();
+            groupByCopy.setGroupByExpressions(copyExpressions(groupBy.getGroupByExpressions()));
+            for (Object groupingSet : groupBy.getGroupingSets()) {
+                if (groupingSet instanceof ExpressionList) {
+                    groupByCopy.addGroupingSet(copyExpressionList((ExpressionList) groupingSet));
+                } else {
+                    groupByCopy.addGroupingSet(copyExpression((Expression) groupingSet));
+                }
+            }
+            result.setGroupByElement(groupByCopy);
+        }
+        result.setOrderByElements(copyOrderByElements(plainSelect.getOrderByElements()));
+        result.setHaving(copyExpression(plainSelect.getHaving()));
+        result.setLimit(copyLimit(plainSelect.getLimit()));
+        result.setOffset(copyOffset(plainSelect.getOffset()));
+        result.setFetch(copyFetch(plainSelect.getFetch()));
+        if (plainSelect.getOptimizeFor() != null) {
+            result.setOptimizeFor(new OptimizeFor(plainSelect.getOptimizeFor().getRowCount()));
+        }
+        Skip skip = plainSelect.getSkip();
+        if (skip != null) {
+            Skip skipCopy = new Skip();
+            skipCopy.setRowCount(skip.getRowCount());
+            skipCopy.setJdbcParameter(copyExpression(skip.getJdbcParameter()));
+            skipCopy.setVariable(skip.getVariable());
+            result.setSkip(skipCopy);
+        }
+        First first = plainSelect.getFirst();
+        if (first != null) {
+            First firstCopy = new First();
+            firstCopy.setKeyword(first.getKeyword());
+            firstCopy.setRowCount(first.getRowCount());
+            firstCopy.setJdbcParameter(copyExpression(first.getJdbcParameter()));
+            firstCopy.setVariable(first.getVariable());
+            result.setFirst(firstCopy);
+        }
+        Top top = plainSelect.getTop();
+        if (top != null) {
+            Top topCopy = new Top();
+            topCopy.setParenthesis(top.hasParenthesis());
+            topCopy.setPercentage(top.isPercentage());
+            topCopy.setExpression(copyExpression(top.getExpression()));
+            result.setTop(topCopy);
+        }
+        result.setOracleHierarchical(copyExpression(plainSelect.getOracleHierarchical()));
+        result.setOracleHint(copyExpression(plainSelect.getOracleHint()));
+        result.setOracleSiblings(plainSelect.isOracleSiblings());
+        result.setForUpdate(plainSelect.isForUpdate());
+        result.setForUpdateTable(copyTable(plainSelect.getForUpdateTable()));
+        result.setUseBrackets(plainSelect.isUseBrackets());
+        if (plainSelect.getWait() != null) {
+            Wait waitCopy = new Wait();
+            waitCopy.setTimeout(plainSelect.getWait().getTimeout());
+            result.setWait(waitCopy);
+        }
+        result.setMySqlSqlCalcFoundRows(plainSelect.getMySqlSqlCalcFoundRows());
+        result.setMySqlSqlNoCache(plainSelect.getMySqlSqlNoCache());
+        result.setForXmlPath(plainSelect.getForXmlPath());
+        KSQLWindow window = plainSelect.getKsqlWindow();
+        if (window != null) {
+            KSQLWindow windowCopy = new KSQLWindow();
+            windowCopy.setHoppingWindow(window.isHoppingWindow());
+            windowCopy.setTumblingWindow(window.isTumblingWindow());
+            windowCopy.setSessionWindow(window.isSessionWindow());
+            windowCopy.setSizeDuration(window.getSizeDuration());
+            windowCopy.setSizeTimeUnit(window.getSizeTimeUnit());
+            windowCopy.setAdvanceDuration(window.getAdvanceDuration());
+            windowCopy.setAdvanceTimeUnit(window.getAdvanceTimeUnit());
+            result.setKsqlWindow(windowCopy);
+        }
+        copy = result;
+    }
+
+    @Override
+    public void visit(SetOperationList setOpList) {
+        SetOperationList result = new SetOperationList();
+        List<SetOperation> operations = new ArrayList<>(setOpList.getOperations().size());
+        for (SetOperation operation : setOpList.getOperations()) {
+            operations.add(copySetOperation(operation));
+        }
+        List<Boolean> brackets = setOpList.getBrackets() == null ? null : new ArrayList<>(setOpList.getBrackets());
+        result.setBracketsOpsAndSelects(brackets, copySelectBodies(setOpList.getSelects()), operations);
+        result.setOrderByElements(copyOrderByElements(setOpList.getOrderByElements()));
+        result.setLimit(copyLimit(setOpList.getLimit()));
+        result.setOffset(copyOffset(setOpList.getOffset()));
+        result.setFetch(copyFetch(setOpList.getFetch()));
+        copy = result;
+    }
+
+    private static SetOperation copySetOperation(SetOperation operation) {
+        if (operation instanceof UnionOp) {
+            UnionOp union = (UnionOp) operation;
+            UnionOp result = new UnionOp();
+            result.setAll(union.isAll());
+            result.setDistinct(union.isDistinct());
+            return result;
+        } else if (operation instanceof IntersectOp) {
+            return new IntersectOp();
+        } else if (operation instanceof MinusOp) {
+            return new MinusOp();
+        } else if (operation instanceof ExceptOp) {
+            return new ExceptOp();
+        }
+        throw new UnsupportedOperationException("cannot copy set operation " + operation.getClass().getName());
+    }
+
+    @Override
+    public void visit(WithItem withItem) {
+        WithItem result = new WithItem();
+        result.setName(withItem.getName());
+        result.setRecursive(withItem.isRecursive());
+        result.setWithItemList(copySelectItems(withItem.getWithItemList()));
+        result.setSelectBody(copySelectBody(withItem.getSelectBody()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(ValuesStatement values) {
+        copy = new ValuesStatement(copyExpressions(values.getExpressions()));
+    }
+
+    @Override
+    public void visit(Table tableName) {
+        copy = copyTable(tableName);
+    }
+
+    @Override
+    public void visit(SubSelect subSelect) {
+        SubSelect result = new SubSelect();
+        result.setWithItemsList(copyWithItems(subSelect.getWithItemsList()));
+        result.setSelectBody(copySelectBody(subSelect.getSelectBody()));
+        result.setAlias(copyAlias(subSelect.getAlias()));
+        result.setUseBrackets(subSelect.isUseBrackets());
+        result.setPivot(copyPivot(subSelect.getPivot()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(SubJoin subjoin) {
+        SubJoin result = new SubJoin();
+        result.setLeft(copyFromItem(subjoin.getLeft()));
+        result.setJoinList(copyJoins(subjoin.getJoinList()));
+        result.setAlias(copyAlias(subjoin.getAlias()));
+        result.setPivot(copyPivot(subjoin.getPivot()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(LateralSubSelect lateralSubSelect) {
+        LateralSubSelect result = new LateralSubSelect();
+        result.setSubSelect(copyFromItem(lateralSubSelect.getSubSelect()));
+        result.setAlias(copyAlias(lateralSubSelect.getAlias()));
+        result.setPivot(copyPivot(lateralSubSelect.getPivot()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(ValuesList valuesList) {
+        ValuesList result = new ValuesList(copyItemsList(valuesList.getMultiExpressionList()));
+        result.setAlias(copyAlias(valuesList.getAlias()));
+        result.setNoBrackets(valuesList.isNoBrackets());
+        result.setColumnNames(copyStrings(valuesList.getColumnNames()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(TableFunction tableFunction) {
+        TableFunction result = new TableFunction();
+        result.setFunction(copyExpression(tableFunction.getFunction()));
+        result.setAlias(copyAlias(tableFunction.getAlias()));
+        result.setPivot(copyPivot(tableFunction.getPivot()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(ParenthesisFromItem parenthesisFromItem) {
+        ParenthesisFromItem result = new ParenthesisFromItem(copyFromItem(parenthesisFromItem.getFromItem()));
+        // a parenthesis from item does not support a pivot
+        result.setAlias(copyAlias(parenthesisFromItem.getAlias()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(AllColumns allColumns) {
+        copy = new AllColumns();
+    }
+
+    @Override
+    public void visit(AllTableColumns allTableColumns) {
+        copy = new AllTableColumns(copyTable(allTableColumns.getTable()));
+    }
+
+    @Override
+    public void visit(SelectExpressionItem selectExpressionItem) {
+        SelectExpressionItem result = new SelectExpressionItem(copyExpression(selectExpressionItem.getExpression()));
+        result.setAlias(copyAlias(selectExpressionItem.getAlias()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(ExpressionList expressionList) {
+        copy = copyExpressionList(expressionList);
+    }
+
+    @Override
+    public void visit(NamedExpressionList namedExpressionList) {
+        NamedExpressionList result = new NamedExpressionList(copyExpressions(namedExpressionList.getExpressions()));
+        result.setNames(copyStrings(namedExpressionList.getNames()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(MultiExpressionList multiExprList) {
+        MultiExpressionList result = new MultiExpressionList();
+        for (ExpressionList expressionList : multiExprList.getExprList()) {
+            result.addExpressionList(copyExpressionList(expressionList));
+        }
+        copy = result;
+    }
+
+    @Override
+    public void visit(BitwiseRightShift expr) {
+        copyBinaryExpression(expr, new BitwiseRightShift());
+    }
+
+    @Override
+    public void visit(BitwiseLeftShift expr) {
+        copyBinaryExpression(expr, new BitwiseLeftShift());
+    }
+
+    @Override
+    public void visit(NullValue nullValue) {
+        copy = new NullValue();
+    }
+
+    @Override
+    public void visit(Function function) {
+        Function result = new Function();
+        result.setName(function.getName());
+        result.setParameters(copyExpressionList(function.getParameters()));
+        result.setNamedParameters(copyItemsList(function.getNamedParameters()));
+        result.setAllColumns(function.isAllColumns());
+        result.setDistinct(function.isDistinct());
+        result.setEscaped(function.isEscaped());
+        result.setAttribute(copyExpression(function.getAttribute()));
+        result.setAttributeName(function.getAttributeName());
+        result.setKeep(copyExpression(function.getKeep()));
+        result.setIgnoreNulls(function.isIgnoreNulls());
+        copy = result;
+    }
+
+    @Override
+    public void visit(SignedExpression signedExpression) {
+        copy = new SignedExpression(signedExpression.getSign(), copyExpression(signedExpression.getExpression()));
+    }
+
+    @Override
+    public void visit(JdbcParameter jdbcParameter) {
+        copy = new JdbcParameter(jdbcParameter.getIndex(), jdbcParameter.isUseFixedIndex());
+    }
+
+    @Override
+    public void visit(JdbcNamedParameter jdbcNamedParameter) {
+        copy = new JdbcNamedParameter(jdbcNamedParameter.getName());
+    }
+
+    @Override
+    public void visit(DoubleValue doubleValue) {
+        DoubleValue result = new DoubleValue(doubleValue.toString());
+        result.setValue(doubleValue.getValue());
+        copy = result;
+    }
+
+    @Override
+    public void visit(LongValue longValue) {
+        copy = new LongValue(longValue.getStringValue());
+    }
+
+    @Override
+    public void visit(HexValue hexValue) {
+        copy = new HexValue(hexValue.getValue());
+    }
+
+    @Override
+    public void visit(DateValue dateValue) {
+        DateValue result = new DateValue();
+        if (dateValue.getValue() != null) {
+            result.setValue(new Date(dateValue.getValue().getTime()));
+        }
+        copy = result;
+    }
+
+    @Override
+    public void visit(TimeValue timeValue) {
+        TimeValue result = new TimeValue();
+        if (timeValue.getValue() != null) {
+            result.setValue(new Time(timeValue.getValue().getTime()));
+        }
+        copy = result;
+    }
+
+    @Override
+    public void visit(TimestampValue timestampValue) {
+        TimestampValue result = new TimestampValue();
+        Timestamp value = timestampValue.getValue();
+        if (value != null) {
+            Timestamp valueCopy = new Timestamp(value.getTime());
+            valueCopy.setNanos(value.getNanos());
+            result.setValue(valueCopy);
+        }
+        copy = result;
+    }
+
+    @Override
+    public void visit(Parenthesis parenthesis) {
+        copy = new Parenthesis(copyExpression(parenthesis.getExpression()));
+    }
+
+    @Override
+    public void visit(StringValue stringValue) {
+        StringValue result = new StringValue();
+        result.setValue(stringValue.getValue());
+        result.setPrefix(stringValue.getPrefix());
+        copy = result;
+    }
+
+    @Override
+    public void visit(Addition addition) {
+        copyBinaryExpression(addition, new Addition());
+    }
+
+    @Override
+    public void visit(Division division) {
+        copyBinaryExpression(division, new Division());
+    }
+
+    @Override
+    public void visit(IntegerDivision division) {
+        copyBinaryExpression(division, new IntegerDivision());
+    }
+
+    @Override
+    public void visit(Multiplication multiplication) {
+        copyBinaryExpression(multiplication, new Multiplication());
+    }
+
+    @Override
+    public void visit(Subtraction subtraction) {
+        copyBinaryExpression(subtraction, new Subtraction());
+    }
+
+    @Override
+    public void visit(AndExpression andExpression) {
+        copy = new AndExpression(copyExpression(andExpression.getLeftExpression()),
+                copyExpression(andExpression.getRightExpression()));
+    }
+
+    @Override
+    public void visit(OrExpression orExpression) {
+        copy = new OrExpression(copyExpression(orExpression.getLeftExpression()),
+                copyExpression(orExpression.getRightExpression()));
+    }
+
+    @Override
+    public void visit(MultiAndExpression multiAndExpression) {
+        copy = new MultiAndExpression(copyExpressions(multiAndExpression.getList()));
+    }
+
+    @Override
+    public void visit(MultiOrExpression multiOrExpression) {
+        copy = new MultiOrExpression(copyExpressions(multiOrExpression.getList()));
+    }
+
+    @Override
+    public void visit(Between between) {
+        Between result = new Between();
+        result.setLeftExpression(copyExpression(between.getLeftExpression()));
+        result.setNot(between.isNot());
+        result.setBetweenExpressionStart(copyExpression(between.getBetweenExpressionStart()));
+        result.setBetweenExpressionEnd(copyExpression(between.getBetweenExpressionEnd()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(EqualsTo equalsTo) {
+        copyOldOracleJoinBinaryExpression(equalsTo, new EqualsTo());
+    }
+
+    @Override
+    public void visit(GreaterThan greaterThan) {
+        copyOldOracleJoinBinaryExpression(greaterThan, new GreaterThan());
+    }
+
+    @Override
+    public void visit(GreaterThanEquals greaterThanEquals) {
+        copyOldOracleJoinBinaryExpression(greaterThanEquals,
+                new GreaterThanEquals(greaterThanEquals.getStringExpression()));
+    }
+
+    @Override
+    public void visit(InExpression inExpression) {
+        InExpression result = new InExpression();
+        result.setLeftExpression(copyExpression(inExpression.getLeftExpression()));
+        result.setLeftItemsList(copyItemsList(inExpression.getLeftItemsList()));
+        result.setRightItemsList(copyItemsList(inExpression.getRightItemsList()));
+        result.setNot(inExpression.isNot());
+        result.setOldOracleJoinSyntax(inExpression.getOldOracleJoinSyntax());
+        result.setOraclePriorPosition(inExpression.getOraclePriorPosition());
+        copy = result;
+    }
+
+    @Override
+    public void visit(FullTextSearch fullTextSearch) {
+        FullTextSearch result = new FullTextSearch();
+        result.setMatchColumns(copyColumns(fullTextSearch.getMatchColumns()));
+        result.setAgainstValue(copyExpression(fullTextSearch.getAgainstValue()));
+        result.setSearchModifier(fullTextSearch.getSearchModifier());
+        copy = result;
+    }
+
+    @Override
+    public void visit(IsNullExpression isNullExpression) {
+        IsNullExpression result = new IsNullExpression();
+        result.setLeftExpression(copyExpression(isNullExpression.getLeftExpression()));
+        result.setNot(isNullExpression.isNot());
+        result.setUseIsNull(isNullExpression.isUseIsNull());
+        copy = result;
+    }
+
+    @Override
+    public void visit(IsBooleanExpression isBooleanExpression) {
+        IsBooleanExpression result = new IsBooleanExpression();
+        result.setLeftExpression(copyExpression(isBooleanExpression.getLeftExpression()));
+        result.setNot(isBooleanExpression.isNot());
+        result.setIsTrue(isBooleanExpression.isTrue());
+        copy = result;
+    }
+
+    @Override
+    public void visit(LikeExpression likeExpression) {
+        LikeExpression result = new LikeExpression();
+        result.setNot(likeExpression.isNot());
+        result.setEscape(likeExpression.getEscape());
+        result.setCaseInsensitive(likeExpression.isCaseInsensitive());
+        copyBinaryExpression(likeExpression, result);
+    }
+
+    @Override
+    public void visit(MinorThan minorThan) {
+        copyOldOracleJoinBinaryExpression(minorThan, new MinorThan());
+    }
+
+    @Override
+    public void visit(MinorThanEquals minorThanEquals) {
+        copyOldOracleJoinBinaryExpression(minorThanEquals,
+                new MinorThanEquals(minorThanEquals.getStringExpression()));
+    }
+
+    @Override
+    public void visit(NotEqualsTo notEqualsTo) {
+        copyOldOracleJoinBinaryExpression(notEqualsTo, new NotEqualsTo(notEqualsTo.getStringExpression()));
+    }
+
+    @Override
+    public void visit(Column tableColumn) {
+        copy = copyColumn(tableColumn);
+    }
+
+    @Override
+    public void visit(CaseExpression caseExpression) {
+        CaseExpression result = new CaseExpression();
+        result.setSwitchExpression(copyExpression(caseExpression.getSwitchExpression()));
+        result.setWhenClauses(copyExpressions(caseExpression.getWhenClauses()));
+        result.setElseExpression(copyExpression(caseExpression.getElseExpression()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(WhenClause whenClause) {
+        WhenClause result = new WhenClause();
+        result.setWhenExpression(copyExpression(whenClause.getWhenExpression()));
+        result.setThenExpression(copyExpression(whenClause.getThenExpression()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(ExistsExpression existsExpression) {
+        ExistsExpression result = new ExistsExpression();
+        result.setRightExpression(copyExpression(existsExpression.getRightExpression()));
+        result.setNot(existsExpression.isNot());
+        copy = result;
+    }
+
+    @Override
+    public void visit(AllComparisonExpression allComparisonExpression) {
+        copy = new AllComparisonExpression(copyExpression(allComparisonExpression.getSubSelect()));
+    }
+
+    @Override
+    public void visit(AnyComparisonExpression anyComparisonExpression) {
+        copy = new AnyComparisonExpression(anyComparisonExpression.getAnyType(),
+                copyExpression(anyComparisonExpression.getSubSelect()));
+    }
+
+    @Override
+    public void visit(Concat concat) {
+        copyBinaryExpression(concat, new Concat());
+    }
+
+    @Override
+    public void visit(Matches matches) {
+        copyOldOracleJoinBinaryExpression(matches, new Matches());
+    }
+
+    @Override
+    public void visit(BitwiseAnd bitwiseAnd) {
+        copyBinaryExpression(bitwiseAnd, new BitwiseAnd());
+    }
+
+    @Override
+    public void visit(BitwiseOr bitwiseOr) {
+        copyBinaryExpression(bitwiseOr, new BitwiseOr());
+    }
+
+    @Override
+    public void visit(BitwiseXor bitwiseXor) {
+        copyBinaryExpression(bitwiseXor, new BitwiseXor());
+    }
+
+    @Override
+    public void visit(CastExpression cast) {
+        CastExpression result = new CastExpression();
+        result.setLeftExpression(copyExpression(cast.getLeftExpression()));
+        result.setType(copyColDataType(cast.getType()));
+        result.setUseCastKeyword(cast.isUseCastKeyword());
+        copy = result;
+    }
+
+    @Override
+    public void visit(Modulo modulo) {
+        copyBinaryExpression(modulo, new Modulo());
+    }
+
+    @Override
+    public void visit(AnalyticExpression aexpr) {
+        AnalyticExpression result = new AnalyticExpression();
+        result.setName(aexpr.getName());
+        result.setExpression(copyExpression(aexpr.getExpression()));
+        result.setOffset(copyExpression(aexpr.getOffset()));
+        result.setDefaultValue(copyExpression(aexpr.getDefaultValue()));
+        result.setAllColumns(aexpr.isAllColumns());
+        result.setKeep(copyExpression(aexpr.getKeep()));
+        result.setType(aexpr.getType());
+        result.setDistinct(aexpr.isDistinct());
+        result.setIgnoreNulls(aexpr.isIgnoreNulls());
+        result.setPartitionExpressionList(copyExpressionList(aexpr.getPartitionExpressionList()));
+        result.setOrderByElements(copyOrderByElements(aexpr.getOrderByElements()));
+        result.setWindowElement(copyWindowElement(aexpr.getWindowElement()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(ExtractExpression eexpr) {
+        ExtractExpression result = new ExtractExpression();
+        result.setName(eexpr.getName());
+        result.setExpression(copyExpression(eexpr.getExpression()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(IntervalExpression iexpr) {
+        IntervalExpression result = new IntervalExpression(iexpr.isUsingIntervalKeyword());
+        result.setParameter(iexpr.getParameter());
+        result.setIntervalType(iexpr.getIntervalType());
+        result.setExpression(copyExpression(iexpr.getExpression()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(OracleHierarchicalExpression oexpr) {
+        OracleHierarchicalExpression result = new OracleHierarchicalExpression();
+        result.setStartExpression(copyExpression(oexpr.getStartExpression()));
+        result.setConnectExpression(copyExpression(oexpr.getConnectExpression()));
+        result.setNoCycle(oexpr.isNoCycle());
+        result.setConnectFirst(oexpr.isConnectFirst());
+        copy = result;
+    }
+
+    @Override
+    public void visit(RegExpMatchOperator rexpr) {
+        copyBinaryExpression(rexpr, new RegExpMatchOperator(rexpr.getOperatorType()));
+    }
+
+    @Override
+    public void visit(JsonExpression jsonExpr) {
+        JsonExpression result = new JsonExpression();
+        result.setColumn(copyColumn(jsonExpr.getColumn()));
+        for (int i = 0; i < jsonExpr.getIdentList().size(); i++) {
+            result.addIdent(jsonExpr.getIdentList().get(i), jsonExpr.getOperatorList().get(i));
+        }
+        copy = result;
+    }
+
+    @Override
+    public void visit(JsonOperator jsonExpr) {
+        copyBinaryExpression(jsonExpr, new JsonOperator(jsonExpr.getStringExpression()));
+    }
+
+    @Override
+    public void visit(RegExpMySQLOperator regExpMySQLOperator) {
+        RegExpMySQLOperator result = new RegExpMySQLOperator(regExpMySQLOperator.getOperatorType());
+        if (regExpMySQLOperator.isUseRLike()) {
+            result.useRLike();
+        }
+        copyBinaryExpression(regExpMySQLOperator, result);
+    }
+
+    @Override
+    public void visit(UserVariable var) {
+        UserVariable result = new UserVariable();
+        result.setName(var.getName());
+        result.setDoubleAdd(var.isDoubleAdd());
+        copy = result;
+    }
+
+    @Override
+    public void visit(NumericBind bind) {
+        NumericBind result = new NumericBind();
+        result.setBindId(bind.getBindId());
+        copy = result;
+    }
+
+    @Override
+    public void visit(KeepExpression aexpr) {
+        KeepExpression result = new KeepExpression();
+        result.setName(aexpr.getName());
+        result.setOrderByElements(copyOrderByElements(aexpr.getOrderByElements()));
+        result.setFirst(aexpr.isFirst());
+        copy = result;
+    }
+
+    @Override
+    public void visit(MySQLGroupConcat groupConcat) {
+        MySQLGroupConcat result = new MySQLGroupConcat();
+        result.setExpressionList(copyExpressionList(groupConcat.getExpressionList()));
+        result.setDistinct(groupConcat.isDistinct());
+        result.setOrderByElements(copyOrderByElements(groupConcat.getOrderByElements()));
+        result.setSeparator(groupConcat.getSeparator());
+        copy = result;
+    }
+
+    @Override
+    public void visit(ValueListExpression valueList) {
+        ValueListExpression result = new ValueListExpression();
+        result.setExpressionList(copyExpressionList(valueList.getExpressionList()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(RowConstructor rowConstructor) {
+        RowConstructor result = new RowConstructor();
+        result.setName(rowConstructor.getName());
+        result.setExprList(copyExpressionList(rowConstructor.getExprList()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(OracleHint hint) {
+        OracleHint result = new OracleHint();
+        result.setValue(hint.getValue());
+        result.setSingleLine(hint.isSingleLine());
+        copy = result;
+    }
+
+    @Override
+    public void visit(TimeKeyExpression timeKeyExpression) {
+        copy = new TimeKeyExpression(timeKeyExpression.getStringValue());
+    }
+
+    @Override
+    public void visit(DateTimeLiteralExpression literal) {
+        DateTimeLiteralExpression result = new DateTimeLiteralExpression();
+        result.setType(literal.getType());
+        result.setValue(literal.getValue());
+        copy = result;
+    }
+
+    @Override
+    public void visit(NotExpression notExpression) {
+        copy = new NotExpression(copyExpression(notExpression.getExpression()), notExpression.isExclamationMark());
+    }
+
+    @Override
+    public void visit(NextValExpression nextVal) {
+        copy = new NextValExpression(copyStrings(nextVal.getNameList()));
+    }
+
+    @Override
+    public void visit(CollateExpression collate) {
+        copy = new CollateExpression(copyExpression(collate.getLeftExpression()), collate.getCollate());
+    }
+
+    @Override
+    public void visit(SimilarToExpression similarTo) {
+        SimilarToExpression result = new SimilarToExpression();
+        result.setNot(similarTo.isNot());
+        result.setEscape(similarTo.getEscape());
+        copyBinaryExpression(similarTo, result);
+    }
+
+    @Override
+    public void visit(ArrayExpression array) {
+        copy = new ArrayExpression(copyExpression(array.getObjExpression()),
+                copyExpression(array.getIndexExpression()));
+    }
+
+    @Override
+    public void visit(Comment comment) {
+        Comment result = new Comment();
+        result.setTable(copyTable(comment.getTable()));
+        result.setColumn(copyColumn(comment.getColumn()));
+        result.setComment(copyExpression(comment.getComment()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(Commit commit) {
+        copy = new Commit();
+    }
+
+    @Override
+    public void visit(Delete delete) {
+        Delete result = new Delete();
+        result.setTable(copyTable(delete.getTable()));
+        result.setTables(copyTables(delete.getTables()));
+        result.setJoins(copyJoins(delete.getJoins()));
+        result.setWhere(copyExpression(delete.getWhere()));
+        result.setLimit(copyLimit(delete.getLimit()));
+        result.setOrderByElements(copyOrderByElements(delete.getOrderByElements()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(Update update) {
+        Update result = new Update();
+        result.setTable(copyTable(update.getTable()));
+        result.setStartJoins(copyJoins(update.getStartJoins()));
+        result.setColumns(copyColumns(update.getColumns()));
+        result.setExpressions(copyExpressions(update.getExpressions()));
+        result.setUseColumnsBrackets(update.isUseColumnsBrackets());
+        result.setUseSelect(update.isUseSelect());
+        result.setSelect(copyStatement(update.getSelect()));
+        result.setFromItem(copyFromItem(update.getFromItem()));
+        result.setJoins(copyJoins(update.getJoins()));
+        result.setWhere(copyExpression(update.getWhere()));
+        result.setOrderByElements(copyOrderByElements(update.getOrderByElements()));
+        result.setLimit(copyLimit(update.getLimit()));
+        result.setReturningAllColumns(update.isReturningAllColumns());
+        result.setReturningExpressionList(copyReturningList(update.getReturningExpressionList()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(Insert insert) {
+        Insert result = new Insert();
+        result.setTable(copyTable(insert.getTable()));
+        result.setColumns(copyColumns(insert.getColumns()));
+        result.setItemsList(copyItemsList(insert.getItemsList()));
+        result.setUseValues(insert.isUseValues());
+        result.setSelect(copyStatement(insert.getSelect()));
+        result.setUseSelectBrackets(insert.isUseSelectBrackets());
+        result.setUseDuplicate(insert.isUseDuplicate());
+        result.setDuplicateUpdateColumns(copyColumns(insert.getDuplicateUpdateColumns()));
+        result.setDuplicateUpdateExpressionList(copyExpressions(insert.getDuplicateUpdateExpressionList()));
+        result.setModifierPriority(insert.getModifierPriority());
+        result.setModifierIgnore(insert.isModifierIgnore());
+        result.setReturningAllColumns(insert.isReturningAllColumns());
+        result.setReturningExpressionList(copyReturningList(insert.getReturningExpressionList()));
+        result.setUseSet(insert.isUseSet());
+        result.setSetColumns(copyColumns(insert.getSetColumns()));
+        result.setSetExpressionList(copyExpressions(insert.getSetExpressionList()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(Replace replace) {
+        Replace result = new Replace();
+        result.setTable(copyTable(replace.getTable()));
+        result.setColumns(copyColumns(replace.getColumns()));
+        result.setItemsList(copyItemsList(replace.getItemsList()));
+        result.setExpressions(copyExpressions(replace.getExpressions()));
+        result.setUseValues(replace.isUseValues());
+        result.setUseIntoTables(replace.isUseIntoTables());
+        copy = result;
+    }
+
+    @Override
+    public void visit(Drop drop) {
+        Drop result = new Drop();
+        result.setType(drop.getType());
+        result.setName(copyTable(drop.getName()));
+        result.setParameters(copyStrings(drop.getParameters()));
+        result.setIfExists(drop.isIfExists());
+        copy = result;
+    }
+
+    @Override
+    public void visit(Truncate truncate) {
+        Truncate result = new Truncate();
+        result.setTable(copyTable(truncate.getTable()));
+        result.setCascade(truncate.getCascade());
+        copy = result;
+    }
+
+    @Override
+    public void visit(CreateIndex createIndex) {
+        CreateIndex result = new CreateIndex();
+        result.setTable(copyTable(createIndex.getTable()));
+        result.setIndex(copyIndex(createIndex.getIndex()));
+        copy = result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void visit(CreateTable createTable) {
+        CreateTable result = new CreateTable();
+        result.setTable(copyTable(createTable.getTable()));
+        result.setUnlogged(createTable.isUnlogged());
+        result.setCreateOptionsStrings(copyStrings(createTable.getCreateOptionsStrings()));
+        result.setTableOptionsStrings(copyStrings((List<String>) createTable.getTableOptionsStrings()));
+        if (createTable.getColumnDefinitions() != null) {
+            List<ColumnDefinition> definitions = new ArrayList<>(createTable.getColumnDefinitions().size());
+            for (ColumnDefinition definition : createTable.getColumnDefinitions()) {
+                definitions.add(copyColumnDefinition(definition));
+            }
+            result.setColumnDefinitions(definitions);
+        }
+        if (createTable.getIndexes() != null) {
+            List<Index> indexes = new ArrayList<>(createTable.getIndexes().size());
+            for (Index index : createTable.getIndexes()) {
+                indexes.add(copyIndex(index));
+            }
+            result.setIndexes(indexes);
+        }
+        result.setSelect(copyStatement(createTable.getSelect()), createTable.isSelectParenthesis());
+        result.setIfNotExists(createTable.isIfNotExists());
+        copy = result;
+    }
+
+    @Override
+    public void visit(CreateView createView) {
+        CreateView result = new CreateView();
+        result.setView(copyTable(createView.getView()));
+        result.setSelect(copyStatement(createView.getSelect()));
+        result.setOrReplace(createView.isOrReplace());
+        result.setColumnNames(copyStrings(createView.getColumnNames()));
+        result.setMaterialized(createView.isMaterialized());
+        result.setForce(createView.getForce());
+        result.setTemporary(createView.getTemporary());
+        result.setWithReadOnly(createView.isWithReadOnly());
+        copy = result;
+    }
+
+    @Override
+    public void visit(AlterView alterView) {
+        AlterView result = new AlterView();
+        result.setView(copyTable(alterView.getView()));
+        result.setSelectBody(copySelectBody(alterView.getSelectBody()));
+        result.setUseReplace(alterView.isUseReplace());
+        result.setColumnNames(copyStrings(alterView.getColumnNames()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(Alter alter) {
+        Alter result = new Alter();
+        result.setTable(copyTable(alter.getTable()));
+        if (alter.getAlterExpressions() != null) {
+            List<AlterExpression> expressions = new ArrayList<>(alter.getAlterExpressions().size());
+            for (AlterExpression expression : alter.getAlterExpressions()) {
+                expressions.add(copyAlterExpression(expression));
+            }
+            result.setAlterExpressions(expressions);
+        }
+        copy = result;
+    }
+
+    @Override
+    public void visit(Statements stmts) {
+        copy = copyStatements(stmts);
+    }
+
+    @Override
+    public void visit(Execute execute) {
+        Execute result = new Execute();
+        result.setExecType(execute.getExecType());
+        result.setName(execute.getName());
+        result.setExprList(copyExpressionList(execute.getExprList()));
+        result.setParenthesis(execute.isParenthesis());
+        copy = result;
+    }
+
+    @Override
+    public void visit(SetStatement set) {
+        SetStatement result = new SetStatement(set.getName(0), copyExpression(set.getExpression(0)));
+        result.setUseEqual(0, set.isUseEqual(0));
+        for (int i = 1; i < set.getCount(); i++) {
+            result.add(set.getName(i), copyExpression(set.getExpression(i)), set.isUseEqual(i));
+        }
+        copy = result;
+    }
+
+    @Override
+    public void visit(ShowColumnsStatement set) {
+        copy = new ShowColumnsStatement(set.getTableName());
+    }
+
+    @Override
+    public void visit(Merge merge) {
+        Merge result = new Merge();
+        result.setTable(copyTable(merge.getTable()));
+        result.setUsingTable(copyTable(merge.getUsingTable()));
+        result.setUsingSelect(copyFromItem(merge.getUsingSelect()));
+        result.setUsingAlias(copyAlias(merge.getUsingAlias()));
+        result.setOnCondition(copyExpression(merge.getOnCondition()));
+        MergeInsert insert = merge.getMergeInsert();
+        if (insert != null) {
+            MergeInsert insertCopy = new MergeInsert();
+            insertCopy.setColumns(copyColumns(insert.getColumns()));
+            insertCopy.setValues(copyExpressions(insert.getValues()));
+            result.setMergeInsert(insertCopy);
+        }
+        MergeUpdate update = merge.getMergeUpdate();
+        if (update != null) {
+            MergeUpdate updateCopy = new MergeUpdate();
+            updateCopy.setColumns(copyColumns(update.getColumns()));
+            updateCopy.setValues(copyExpressions(update.getValues()));
+            updateCopy.setWhereCondition(copyExpression(update.getWhereCondition()));
+            updateCopy.setDeleteWhereCondition(copyExpression(update.getDeleteWhereCondition()));
+            result.setMergeUpdate(updateCopy);
+        }
+        result.setInsertFirst(merge.isInsertFirst());
+        copy = result;
+    }
+
+    @Override
+    public void visit(Select select) {
+        Select result = new Select();
+        result.setWithItemsList(copyWithItems(select.getWithItemsList()));
+        result.setSelectBody(copySelectBody(select.getSelectBody()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(Upsert upsert) {
+        Upsert result = new Upsert();
+        result.setTable(copyTable(upsert.getTable()));
+        result.setColumns(copyColumns(upsert.getColumns()));
+        result.setItemsList(copyItemsList(upsert.getItemsList()));
+        result.setUseValues(upsert.isUseValues());
+        result.setSelect(copyStatement(upsert.getSelect()));
+        result.setUseSelectBrackets(upsert.isUseSelectBrackets());
+        result.setUseDuplicate(upsert.isUseDuplicate());
+        result.setDuplicateUpdateColumns(copyColumns(upsert.getDuplicateUpdateColumns()));
+        result.setDuplicateUpdateExpressionList(copyExpressions(upsert.getDuplicateUpdateExpressionList()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(UseStatement use) {
+        copy = new UseStatement(use.getName());
+    }
+
+    @Override
+    public void visit(Block block) {
+        Block result = new Block();
+        result.setStatements(copyStatements(block.getStatements()));
+        copy = result;
+    }
+
+    @Override
+    public void visit(DescribeStatement describe) {
+        copy = new DescribeStatement(copyTable(describe.getTable()));
+    }
+
+    @Override
+    public void visit(ExplainStatement explain) {
+        copy = new ExplainStatement(copyStatement(explain.getStatement()));
+    }
+
+    @Override
+    public void visit(ShowStatement show) {
+        copy = new ShowStatement(show.getName());
+    }
+
+    @Override
+    public void visit(DeclareStatement declare) {
+        DeclareStatement result = new DeclareStatement();
+        result.setUserVariable(copyExpression(declare.getUserVariable()));
+        result.setDeclareType(declare.getType());
+        result.setTypeName(declare.getTypeName());
+        for (DeclareStatement.TypeDefExpr type : declare.getTypeDefinitions()) {
+            result.addType(copyExpression(type.userVariable), copyColDataType(type.colDataType),
+                    copyExpression(type.defaultExpr));
+        }
+        for (ColumnDefinition definition : declare.getColumnDefinitions()) {
+            result.addColumnDefinition(copyColumnDefinition(definition));
+        }
+        copy = result;
+    }
+}
@@ -0,0 +1,353 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.util;
+
+import java.util.List;
+import net.sf.jsqlparser.expression.DateTimeLiteralExpression;
+import net.sf.jsqlparser.expression.DateValue;
+import net.sf.jsqlparser.expression.DoubleValue;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.HexValue;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.SignedExpression;
+import net.sf.jsqlparser.expression.StringValue;
+import net.sf.jsqlparser.expression.TimeValue;
+import net.sf.jsqlparser.expression.TimestampValue;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.expression.operators.relational.ItemsList;
+import net.sf.jsqlparser.expression.operators.relational.LiteralExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.MultiExpressionList;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.replace.Replace;
+import net.sf.jsqlparser.statement.select.Limit;
+import net.sf.jsqlparser.statement.upsert.Upsert;
+import net.sf.jsqlparser.util.deparser.ExpressionDeParser;
+import net.sf.jsqlparser.util.deparser.InsertDeParser;
+import net.sf.jsqlparser.util.deparser.LimitDeparser;
+import net.sf.jsqlparser.util.deparser.ReplaceDeParser;
+import net.sf.jsqlparser.util.deparser.SelectDeParser;
+import net.sf.jsqlparser.util.deparser.StatementDeParser;
+import net.sf.jsqlparser.util.deparser.UpsertDeParser;
+
+/**
+ * Computes the shape of a statement, e.g. to group logged statements. The statement is deparsed
+ * like {@link StatementDeParser} does, but all literals and jdbc parameters are replaced by
+ * {@link #PLACEHOLDER}, the list of an IN expression is reduced to its first entry and multi row
+ * values lists are reduced to their first row. So
+ * <code>SELECT * FROM tab WHERE a IN (1, 2, 3) AND b = 'x'</code> and
+ * <code>SELECT * FROM tab WHERE a IN (5) AND b = ?</code> have the same fingerprint.
+ *
+ * {@link #fingerprint(Statement)} hashes the normalized text while it is produced, so the text is
+ * never built as a whole. The hash is the same as hashing the result of
+ * {@link #normalize(Statement)}.
+ *
+ * Parts of a statement the deparsers write using <code>toString()</code> (e.g. OFFSET, FETCH,
+ * interval expressions) keep their literals. An instance is reusable, but not thread safe.
+ */
+public class StatementFingerprinter {
+
+    public static final String PLACEHOLDER = "?";
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final StringBuilder buffer = new StringBuilder();
+    private final FingerprintExpressionDeParser expressionDeParser = new FingerprintExpressionDeParser();
+    private final FingerprintSelectDeParser selectDeParser = new FingerprintSelectDeParser();
+    private final FingerprintStatementDeParser statementDeParser = new FingerprintStatementDeParser();
+
+    private boolean hashing;
+    private long hash;
+
+    public StatementFingerprinter() {
+        expressionDeParser.setBuffer(buffer);
+        expressionDeParser.setSelectVisitor(selectDeParser);
+        selectDeParser.setBuffer(buffer);
+        selectDeParser.setExpressionVisitor(expressionDeParser);
+    }
+
+    /**
+     * Returns a 64 bit hash of the normalized statement.
+     */
+    public long fingerprint(Statement statement) {
+        start(true);
+        try {
+            statement.accept(statementDeParser);
+            return finish();
+        } finally {
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Returns a 64 bit hash of the normalized expression.
+     */
+    public long fingerprint(Expression expression) {
+        start(true);
+        try {
+            expression.accept(expressionDeParser);
+            return finish();
+        } finally {
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Returns the normalized text of the statement, whose hash is the fingerprint.
+     */
+    public String normalize(Statement statement) {
+        start(false);
+        try {
+            statement.accept(statementDeParser);
+            return buffer.toString();
+        } finally {
+            buffer.setLength(0);
+        }
+    }
+
+    public String normalize(Expression expression) {
+        start(false);
+        try {
+            expression.accept(expressionDeParser);
+            return buffer.toString();
+        } finally {
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Returns the hash {@link #fingerprint(Statement)} computes for this normalized text.
+     */
+    public static long hash(CharSequence normalized) {
+        return mix(update(FNV_OFFSET_BASIS, normalized));
+    }
+
+    private void start(boolean hashing) {
+        this.hashing = hashing;
+        this.hash = FNV_OFFSET_BASIS;
+        buffer.setLength(0);
+        expressionDeParser.collapsedList = null;
+    }
+
+    private long finish() {
+        drain();
+        return mix(hash);
+    }
+
+    /**
+     * Adds the text deparsed so far to the hash and empties the buffer. The deparsers only append
+     * to the buffer, so this does not change their output.
+     */
+    private void drain() {
+        if (hashing) {
+            hash = update(hash, buffer);
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * FNV-1a over the characters.
+     */
+    private static long update(long hash, CharSequence text) {
+        long h = hash;
+        for (int i = 0; i < text.length(); i++) {
+            h ^= text.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+
+    /**
+     * The finalizer of murmur3, to spread the bits of the FNV hash.
+     */
+    private static long mix(long hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static boolean isLiteral(Expression expression) {
+        return expression instanceof LongValue || expression instanceof DoubleValue
+                || expression instanceof HexValue;
+    }
+
+    private static ExpressionList firstEntry(ExpressionList expressionList) {
+        if (expressionList instanceof LiteralExpressionList) {
+            LiteralExpressionList literals = (LiteralExpressionList) expressionList;
+            return literals.size() <= 1 ? expressionList : new ExpressionList(literals.getExpression(0));
+        }
+        List<Expression> expressions = expressionList.getExpressions();
+        if (expressions == null || expressions.size() <= 1) {
+            return expressionList;
+        }
+        return new ExpressionList(expressions.subList(0, 1));
+    }
+
+    private static MultiExpressionList firstRow(MultiExpressionList multiExprList) {
+        if (multiExprList.getExprList().size() <= 1) {
+            return multiExprList;
+        }
+        MultiExpressionList firstRow = new MultiExpressionList();
+        firstRow.addExpressionList(multiExprList.getExprList().get(0));
+        return firstRow;
+    }
+
+    private class FingerprintExpressionDeParser extends ExpressionDeParser {
+
+        /**
+         * The right list of the IN expression being deparsed.
+         */
+        private ItemsList collapsedList;
+
+        private void placeholder() {
+            buffer.append(PLACEHOLDER);
+            drain();
+        }
+
+        @Override
+        public void visit(LongValue longValue) {
+            placeholder();
+        }
+
+        @Override
+        public void visit(DoubleValue doubleValue) {
+            placeholder();
+        }
+
+        @Override
+        public void visit(HexValue hexValue) {
+            placeholder();
+        }
+
+        @Override
+        public void visit(StringValue stringValue) {
+            placeholder();
+        }
+
+        @Override
+        public void visit(DateValue dateValue) {
+            placeholder();
+        }
+
+        @Override
+        public void visit(TimeValue timeValue) {
+            placeholder();
+        }
+
+        @Override
+        public void visit(TimestampValue timestampValue) {
+            placeholder();
+        }
+
+        @Override
+        public void visit(DateTimeLiteralExpression literal) {
+            placeholder();
+        }
+
+        @Override
+        public void visit(JdbcParameter jdbcParameter) {
+            placeholder();
+        }
+
+        @Override
+        public void visit(SignedExpression signedExpression) {
+            if (isLiteral(signedExpression.getExpression())) {
+                placeholder();
+            } else {
+                super.visit(signedExpression);
+            }
+        }
+
+        @Override
+        public void visit(Column tableColumn) {
+            super.visit(tableColumn);
+            drain();
+        }
+
+        @Override
+        public void visit(InExpression inExpression) {
+            ItemsList outer = collapsedList;
+            collapsedList = inExpression.getRightItemsList();
+            try {
+                super.visit(inExpression);
+            } finally {
+                collapsedList = outer;
+            }
+        }
+
+        @Override
+        public void visit(ExpressionList expressionList) {
+            if (expressionList == collapsedList) {
+                collapsedList = null;
+                super.visit(firstEntry(expressionList));
+            } else {
+                super.visit(expressionList);
+            }
+        }
+
+        @Override
+        public void visit(MultiExpressionList multiExprList) {
+            super.visit(firstRow(multiExprList));
+        }
+    }
+
+    private class FingerprintSelectDeParser extends SelectDeParser {
+
+        @Override
+        public void deparseLimit(Limit limit) {
+            new LimitDeparser(expressionDeParser, buffer).deParse(limit);
+        }
+    }
+
+    private class FingerprintStatementDeParser extends StatementDeParser {
+
+        FingerprintStatementDeParser() {
+            super(expressionDeParser, selectDeParser, StatementFingerprinter.this.buffer);
+        }
+
+        @Override
+        public void visit(Insert insert) {
+            new InsertDeParser(expressionDeParser, selectDeParser, buffer) {
+                @Override
+                public void visit(MultiExpressionList multiExprList) {
+                    super.visit(firstRow(multiExprList));
+                }
+            }.deParse(insert);
+        }
+
+        @Override
+        public void visit(Replace replace) {
+            new ReplaceDeParser(expressionDeParser, selectDeParser, buffer) {
+                @Override
+                public void visit(MultiExpressionList multiExprList) {
+                    super.visit(firstRow(multiExprList));
+                }
+            }.deParse(replace);
+        }
+
+        @Override
+        public void visit(Upsert upsert) {
+            new UpsertDeParser(expressionDeParser, selectDeParser, buffer) {
+                @Override
+                public void visit(MultiExpressionList multiExprList) {
+                    super.visit(firstRow(multiExprList));
+                }
+            }.deParse(upsert);
+        }
+    }
+}
@@ -0,0 +1,654 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Block;
+import net.sf.jsqlparser.statement.Commit;
+import net.sf.jsqlparser.statement.DeclareStatement;
+import net.sf.jsqlparser.statement.DescribeStatement;
+import net.sf.jsqlparser.statement.ExplainStatement;
+import net.sf.jsqlparser.statement.SetStatement;
+import net.sf.jsqlparser.statement.ShowColumnsStatement;
+import net.sf.jsqlparser.statement.ShowStatement;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.StatementVisitor;
+import net.sf.jsqlparser.statement.Statements;
+import net.sf.jsqlparser.statement.UseStatement;
+import net.sf.jsqlparser.statement.alter.Alter;
+import net.sf.jsqlparser.statement.alter.AlterExpression;
+import net.sf.jsqlparser.statement.comment.Comment;
+import net.sf.jsqlparser.statement.create.index.CreateIndex;
+import net.sf.jsqlparser.statement.create.table.CreateTable;
+import net.sf.jsqlparser.statement.create.table.ForeignKeyIndex;
+import net.sf.jsqlparser.statement.create.table.Index;
+import net.sf.jsqlparser.statement.create.view.AlterView;
+import net.sf.jsqlparser.statement.create.view.CreateView;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.drop.Drop;
+import net.sf.jsqlparser.statement.execute.Execute;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.merge.Merge;
+import net.sf.jsqlparser.statement.replace.Replace;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.FromItemVisitor;
+import net.sf.jsqlparser.statement.select.Join;
+import net.sf.jsqlparser.statement.select.LateralSubSelect;
+import net.sf.jsqlparser.statement.select.Limit;
+import net.sf.jsqlparser.statement.select.OrderByElement;
+import net.sf.jsqlparser.statement.select.ParenthesisFromItem;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectBody;
+import net.sf.jsqlparser.statement.select.SelectItem;
+import net.sf.jsqlparser.statement.select.SelectVisitor;
+import net.sf.jsqlparser.statement.select.SetOperationList;
+import net.sf.jsqlparser.statement.select.SubJoin;
+import net.sf.jsqlparser.statement.select.SubSelect;
+import net.sf.jsqlparser.statement.select.TableFunction;
+import net.sf.jsqlparser.statement.select.ValuesList;
+import net.sf.jsqlparser.statement.select.WithItem;
+import net.sf.jsqlparser.statement.truncate.Truncate;
+import net.sf.jsqlparser.statement.update.Update;
+import net.sf.jsqlparser.statement.upsert.Upsert;
+import net.sf.jsqlparser.statement.values.ValuesStatement;
+
+/**
+ * Finds the tables a statement reads and the tables it writes, in a single pass over every kind
+ * of statement, including DDL. A table is written by an INSERT, UPDATE, DELETE, MERGE, REPLACE,
+ * UPSERT, SELECT INTO or TRUNCATE and by the DDL statements changing it. Every other table is
+ * read. A table can be both, e.g. in <code>INSERT INTO a SELECT * FROM a</code>.
+ *
+ * Table names are compared ignoring case, and the spelling of the first reference is kept. The
+ * names of WITH items are not tables within the select declaring them, after their own
+ * definition, unless it is recursive. The targets of a multi table DELETE and the qualifiers of
+ * the columns set by an UPDATE are resolved to the tables they alias.
+ *
+ * An instance is reusable, the sets of a call are cleared by the next one. It is not thread safe.
+ *
+ * Override {@link #extractTableName(Table)} to modify the names (e.g. without schema).
+ */
+public class TableAccessFinder {
+
+    private final TableNames tables = new TableNames();
+    private final TableNames readTables = new TableNames();
+    private final TableNames writtenTables = new TableNames();
+    /**
+     * The case folded names of the WITH items in scope, the innermost last.
+     */
+    private final List<String> withItemNames = new ArrayList<>();
+    private final AccessVisitor visitor = new AccessVisitor();
+
+    /**
+     * Finds the tables of the statement, replacing the ones found before.
+     *
+     * @return this finder
+     */
+    public TableAccessFinder find(Statement statement) {
+        clear();
+        statement.accept(visitor);
+        return this;
+    }
+
+    /**
+     * Finds the tables of the statements, replacing the ones found before.
+     *
+     * @return this finder
+     */
+    public TableAccessFinder find(Statements statements) {
+        clear();
+        statements.accept(visitor);
+        return this;
+    }
+
+    /**
+     * Finds the tables read by the sub selects of the expression, replacing the ones found
+     * before.
+     *
+     * @return this finder
+     */
+    public TableAccessFinder find(Expression expression) {
+        clear();
+        expression.accept(visitor);
+        return this;
+    }
+
+    /**
+     * @return the tables read or written, in the order of their first reference
+     */
+    public Set<String> getTables() {
+        return tables.view;
+    }
+
+    /**
+     * @return the tables read, in the order of their first reference
+     */
+    public Set<String> getReadTables() {
+        return readTables.view;
+    }
+
+    /**
+     * @return the tables written, in the order of their first reference
+     */
+    public Set<String> getWrittenTables() {
+        return writtenTables.view;
+    }
+
+    /**
+     * Override to adapt the table names (e.g. with / without schema).
+     */
+    protected String extractTableName(Table table) {
+        return table.getFullyQualifiedName();
+    }
+
+    private void clear() {
+        tables.clear();
+        readTables.clear();
+        writtenTables.clear();
+        withItemNames.clear();
+    }
+
+    private void read(Table table) {
+        if (table.getSchemaName() == null && withItemNames.contains(fold(table.getName()))) {
+            return;
+        }
+        add(table, readTables);
+    }
+
+    private void write(Table table) {
+        add(table, writtenTables);
+    }
+
+    private void add(Table table, TableNames names) {
+        String name = extractTableName(table);
+        String key = fold(name);
+        names.add(key, name);
+        tables.add(key, name);
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolves a table name, which may be the alias of a table of the from items.
+     */
+    private static Table resolve(Table table, FromItem fromItem, List<Join> joins) {
+        if (table.getSchemaName() != null) {
+            return table;
+        }
+        if (isAliasOf(table, fromItem)) {
+            return (Table) fromItem;
+        }
+        if (joins != null) {
+            for (Join join : joins) {
+                if (isAliasOf(table, join.getRightItem())) {
+                    return (Table) join.getRightItem();
+                }
+            }
+        }
+        return table;
+    }
+
+    private static boolean isAliasOf(Table table, FromItem fromItem) {
+        return fromItem instanceof Table && fromItem.getAlias() != null
+                && fromItem.getAlias().getName().equalsIgnoreCase(table.getName());
+    }
+
+    /**
+     * Table names in the order they were added, which are unique by their case folded keys.
+     */
+    private static final class TableNames {
+
+        private final Set<String> keys = new HashSet<>();
+        private final Set<String> names = new LinkedHashSet<>();
+        private final Set<String> view = Collections.unmodifiableSet(names);
+
+        private void add(String key, String name) {
+            if (keys.add(key)) {
+                names.add(name);
+            }
+        }
+
+        private void clear() {
+            keys.clear();
+            names.clear();
+        }
+    }
+
+    /**
+     * Visits every part of a statement, which can contain a table.
+     */
+    private final class AccessVisitor extends ExpressionVisitorAdapter
+            implements SelectVisitor, FromItemVisitor, StatementVisitor {
+
+        private AccessVisitor() {
+            setSelectVisitor(this);
+        }
+
+        private void visitExpressions(List<? extends Expression> expressions) {
+            if (expressions != null) {
+                for (Expression expression : expressions) {
+                    expression.accept(this);
+                }
+            }
+        }
+
+        private void visitExpression(Expression expression) {
+            if (expression != null) {
+                expression.accept(this);
+            }
+        }
+
+        private void visitSelectItems(List<? extends SelectItem> items) {
+            if (items != null) {
+                for (SelectItem item : items) {
+                    item.accept(this);
+                }
+            }
+        }
+
+        private void visitJoins(List<Join> joins) {
+            if (joins != null) {
+                for (Join join : joins) {
+                    join.getRightItem().accept(this);
+                    visitExpression(join.getOnExpression());
+                }
+            }
+        }
+
+        private void visitOrderBy(List<OrderByElement> elements) {
+            if (elements != null) {
+                for (OrderByElement element : elements) {
+                    element.getExpression().accept(this);
+                }
+            }
+        }
+
+        private void visitLimit(Limit limit) {
+            if (limit != null) {
+                visitExpression(limit.getOffset());
+                visitExpression(limit.getRowCount());
+            }
+        }
+
+        /**
+         * Removes the names of the WITH items declared since the scope was opened.
+         */
+        private void closeScope(int scope) {
+            withItemNames.subList(scope, withItemNames.size()).clear();
+        }
+
+        @Override
+        public void visit(Select select) {
+            int scope = withItemNames.size();
+            if (select.getWithItemsList() != null) {
+                for (WithItem withItem : select.getWithItemsList()) {
+                    withItem.accept(this);
+                }
+            }
+            select.getSelectBody().accept(this);
+            closeScope(scope);
+        }
+
+        @Override
+        public void visit(SubSelect subSelect) {
+            int scope = withItemNames.size();
+            super.visit(subSelect);
+            closeScope(scope);
+        }
+
+        @Override
+        public void visit(PlainSelect plainSelect) {
+            if (plainSelect.getDistinct() != null) {
+                visitSelectItems(plainSelect.getDistinct().getOnSelectItems());
+            }
+            if (plainSelect.getTop() != null) {
+                visitExpression(plainSelect.getTop().getExpression());
+            }
+            visitSelectItems(plainSelect.getSelectItems());
+            if (plainSelect.getIntoTables() != null) {
+                for (Table table : plainSelect.getIntoTables()) {
+                    write(table);
+                }
+            }
+            if (plainSelect.getFromItem() != null) {
+                plainSelect.getFromItem().accept(this);
+            }
+            visitJoins(plainSelect.getJoins());
+            visitExpression(plainSelect.getWhere());
+            if (plainSelect.getOracleHierarchical() != null) {
+                plainSelect.getOracleHierarchical().accept(this);
+            }
+            if (plainSelect.getGroupBy() != null) {
+                visitExpressions(plainSelect.getGroupBy().getGroupByExpressions());
+                if (plainSelect.getGroupBy().getGroupingSets() != null) {
+                    for (Object groupingSet : plainSelect.getGroupBy().getGroupingSets()) {
+                        if (groupingSet instanceof Expression) {
+                            ((Expression) groupingSet).accept(this);
+                        } else if (groupingSet instanceof ExpressionList) {
+                            ((ExpressionList) groupingSet).accept(this);
+                        }
+                    }
+                }
+            }
+            visitExpression(plainSelect.getHaving());
+            visitOrderBy(plainSelect.getOrderByElements());
+            visitLimit(plainSelect.getLimit());
+        }
+
+        @Override
+        public void visit(SetOperationList setOperationList) {
+            for (SelectBody select : setOperationList.getSelects()) {
+                select.accept(this);
+            }
+            visitOrderBy(setOperationList.getOrderByElements());
+            visitLimit(setOperationList.getLimit());
+        }
+
+        @Override
+        public void visit(WithItem withItem) {
+            if (withItem.isRecursive()) {
+                withItemNames.add(fold(withItem.getName()));
+                withItem.getSelectBody().accept(this);
+            } else {
+                withItem.getSelectBody().accept(this);
+                withItemNames.add(fold(withItem.getName()));
+            }
+        }
+
+        @Override
+        public void visit(ValuesStatement values) {
+            visitExpressions(values.getExpressions());
+        }
+
+        @Override
+        public void visit(Table table) {
+            read(table);
+            if (table.getPivot() != null) {
+                table.getPivot().accept(this);
+            }
+        }
+
+        @Override
+        public void visit(SubJoin subjoin) {
+            subjoin.getLeft().accept(this);
+            visitJoins(subjoin.getJoinList());
+            if (subjoin.getPivot() != null) {
+                subjoin.getPivot().accept(this);
+            }
+        }
+
+        @Override
+        public void visit(LateralSubSelect lateralSubSelect) {
+            visit(lateralSubSelect.getSubSelect());
+        }
+
+        @Override
+        public void visit(ValuesList valuesList) {
+            valuesList.getMultiExpressionList().accept(this);
+        }
+
+        @Override
+        public void visit(TableFunction tableFunction) {
+            tableFunction.getFunction().accept(this);
+        }
+
+        @Override
+        public void visit(ParenthesisFromItem parenthesis) {
+            parenthesis.getFromItem().accept(this);
+        }
+
+        @Override
+        public void visit(Insert insert) {
+            write(insert.getTable());
+            if (insert.getItemsList() != null) {
+                insert.getItemsList().accept(this);
+            }
+            if (insert.getSelect() != null) {
+                visit(insert.getSelect());
+            }
+            visitExpressions(insert.getSetExpressionList());
+            visitExpressions(insert.getDuplicateUpdateExpressionList());
+            visitSelectItems(insert.getReturningExpressionList());
+        }
+
+        @Override
+        public void visit(Update update) {
+            write(update.getTable());
+            for (Column column : update.getColumns()) {
+                if (column.getTable() != null && column.getTable().getName() != null) {
+                    Table target = resolve(column.getTable(), update.getTable(), update.getStartJoins());
+                    if (target != column.getTable()) {
+                        write(target);
+                    }
+                }
+            }
+            visitJoins(update.getStartJoins());
+            visitExpressions(update.getExpressions());
+            if (update.getSelect() != null) {
+                visit(update.getSelect());
+            }
+            if (update.getFromItem() != null) {
+                update.getFromItem().accept(this);
+            }
+            visitJoins(update.getJoins());
+            visitExpression(update.getWhere());
+            visitOrderBy(update.getOrderByElements());
+            visitLimit(update.getLimit());
+            visitSelectItems(update.getReturningExpressionList());
+        }
+
+        @Override
+        public void visit(Delete delete) {
+            if (delete.getTables() != null && !delete.getTables().isEmpty()) {
+                for (Table table : delete.getTables()) {
+                    write(resolve(table, delete.getTable(), delete.getJoins()));
+                }
+                if (delete.getTable() != null) {
+                    visit(delete.getTable());
+                }
+            } else if (delete.getTable() != null) {
+                write(delete.getTable());
+            }
+            visitJoins(delete.getJoins());
+            visitExpression(delete.getWhere());
+            visitOrderBy(delete.getOrderByElements());
+            visitLimit(delete.getLimit());
+        }
+
+        @Override
+        public void visit(Merge merge) {
+            write(merge.getTable());
+            if (merge.getUsingTable() != null) {
+                merge.getUsingTable().accept(this);
+            } else if (merge.getUsingSelect() != null) {
+                visit(merge.getUsingSelect());
+            }
+            visitExpression(merge.getOnCondition());
+            if (merge.getMergeUpdate() != null) {
+                visitExpressions(merge.getMergeUpdate().getValues());
+                visitExpression(merge.getMergeUpdate().getWhereCondition());
+                visitExpression(merge.getMergeUpdate().getDeleteWhereCondition());
+            }
+            if (merge.getMergeInsert() != null) {
+                visitExpressions(merge.getMergeInsert().getValues());
+            }
+        }
+
+        @Override
+        public void visit(Replace replace) {
+            write(replace.getTable());
+            visitExpressions(replace.getExpressions());
+            if (replace.getItemsList() != null) {
+                replace.getItemsList().accept(this);
+            }
+        }
+
+        @Override
+        public void visit(Upsert upsert) {
+            write(upsert.getTable());
+            if (upsert.getItemsList() != null) {
+                upsert.getItemsList().accept(this);
+            }
+            if (upsert.getSelect() != null) {
+                visit(upsert.getSelect());
+            }
+            visitExpressions(upsert.getDuplicateUpdateExpressionList());
+        }
+
+        @Override
+        public void visit(Truncate truncate) {
+            write(truncate.getTable());
+        }
+
+        /**
+         * Only dropping a table or view writes a table.
+         */
+        @Override
+        public void visit(Drop drop) {
+            if ("TABLE".equalsIgnoreCase(drop.getType()) || "VIEW".equalsIgnoreCase(drop.getType())) {
+                write(drop.getName());
+            }
+        }
+
+        @Override
+        public void visit(CreateIndex createIndex) {
+            write(createIndex.getTable());
+        }
+
+        @Override
+        public void visit(CreateTable createTable) {
+            write(createTable.getTable());
+            visitIndexes(createTable.getIndexes());
+            if (createTable.getSelect() != null) {
+                visit(createTable.getSelect());
+            }
+        }
+
+        /**
+         * Reads the tables referenced by foreign keys.
+         */
+        private void visitIndexes(List<Index> indexes) {
+            if (indexes != null) {
+                for (Index index : indexes) {
+                    if (index instanceof ForeignKeyIndex && ((ForeignKeyIndex) index).getTable() != null) {
+                        read(((ForeignKeyIndex) index).getTable());
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void visit(CreateView createView) {
+            write(createView.getView());
+            visit(createView.getSelect());
+        }
+
+        @Override
+        public void visit(AlterView alterView) {
+            write(alterView.getView());
+            alterView.getSelectBody().accept(this);
+        }
+
+        @Override
+        public void visit(Alter alter) {
+            write(alter.getTable());
+            for (AlterExpression expression : alter.getAlterExpressions()) {
+                if (expression.getFkSourceTable() != null) {
+                    read(new Table(expression.getFkSourceTable()));
+                }
+                if (expression.getIndex() != null) {
+                    visitIndexes(Collections.singletonList(expression.getIndex()));
+                }
+            }
+        }
+
+        @Override
+        public void visit(Comment comment) {
+            if (comment.getTable() != null) {
+                write(comment.getTable());
+            }
+            if (comment.getColumn() != null && comment.getColumn().getTable() != null) {
+                write(comment.getColumn().getTable());
+            }
+        }
+
+        @Override
+        public void visit(Statements statements) {
+            for (Statement statement : statements.getStatements()) {
+                statement.accept(this);
+            }
+        }
+
+        @Override
+        public void visit(Block block) {
+            if (block.getStatements() != null) {
+                visit(block.getStatements());
+            }
+        }
+
+        @Override
+        public void visit(Execute execute) {
+            if (execute.getExprList() != null) {
+                execute.getExprList().accept(this);
+            }
+        }
+
+        @Override
+        public void visit(SetStatement set) {
+            for (int i = 0; i < set.getCount(); i++) {
+                visitExpression(set.getExpression(i));
+            }
+        }
+
+        @Override
+        public void visit(ShowColumnsStatement show) {
+            read(new Table(show.getTableName()));
+        }
+
+        @Override
+        public void visit(DescribeStatement describe) {
+            read(describe.getTable());
+        }
+
+        @Override
+        public void visit(ExplainStatement explain) {
+            visit(explain.getStatement());
+        }
+
+        @Override
+        public void visit(Commit commit) {
+        }
+
+        @Override
+        public void visit(UseStatement use) {
+        }
+
+        @Override
+        public void visit(ShowStatement show) {
+        }
+
+        @Override
+        public void visit(DeclareStatement declare) {
+        }
+    }
+}
@@ -99,6 +99,9 @@ import net.sf.jsqlparser.statement.select.SubSelect;
 import net.sf.jsqlparser.statement.select.TableFunction;
 import net.sf.jsqlparser.statement.select.ValuesList;
 import net.sf.jsqlparser.statement.select.WithItem;
+import net.sf.jsqlparser.util.cnfexpression.MultiAndExpression;
+import net.sf.jsqlparser.util.cnfexpression.MultiOrExpression;
+import net.sf.jsqlparser.util.cnfexpression.MultipleExpression;
 import net.sf.jsqlparser.statement.truncate.Truncate;
 import net.sf.jsqlparser.statement.update.Update;
 import net.sf.jsqlparser.statement.upsert.Upsert;
@@ -342,6 +345,16 @@ public class TablesNamesFinder implements SelectVisitor, FromItemVisitor, Expres
         visitBinaryExpression(orExpression);
     }
 
+    @Override
+    public void visit(MultiAndExpression multiAndExpression) {
+        visitMultipleExpression(multiAndExpression);
+    }
+
+    @Override
+    public void visit(MultiOrExpression multiOrExpression) {
+        visitMultipleExpression(multiOrExpression);
+    }
+
     @Override
     public void visit(Parenthesis parenthesis) {
         parenthesis.getExpression().accept(this);
@@ -376,8 +389,19 @@ public class TablesNamesFinder implements SelectVisitor, FromItemVisitor, Expres
         binaryExpression.getRightExpression().accept(this);
     }
 
+    public void visitMultipleExpression(MultipleExpression multipleExpression) {
+        for (Expression expression : multipleExpression.getList()) {
+            expression.accept(this);
+        }
+    }
+
     @Override
     public void visit(ExpressionList expressionList) {
+        if (expressionList instanceof LiteralExpressionList
+                && ((LiteralExpressionList) expressionList).isCompact()) {
+            // literals only
+            return;
+        }
         for (Expression expression : expressionList.getExpressions()) {
             expression.accept(this);
         }
@@ -12,9 +12,11 @@ package net.sf.jsqlparser.util.cnfexpression;
 import java.util.List;
 
 import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitor;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
 
 /**
- * This helper class is mainly used for handling the CNF conversion.
+ * A conjunction of any number of expressions, see {@link MultipleExpression}.
  *
  * @author messfish
  *
@@ -25,9 +27,22 @@ public final class MultiAndExpression extends MultipleExpression {
         super(childlist);
     }
 
+    @Override
+    public void accept(ExpressionVisitor expressionVisitor) {
+        expressionVisitor.visit(this);
+    }
+
     @Override
     public String getStringExpression() {
         return "AND";
     }
 
+    /**
+     * A disjunction binds weaker than AND, it is put in parenthesis.
+     */
+    @Override
+    public boolean needsParenthesis(Expression child) {
+        return child instanceof MultiOrExpression || child instanceof OrExpression;
+    }
+
 }
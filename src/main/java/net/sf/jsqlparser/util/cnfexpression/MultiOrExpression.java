@@ -12,6 +12,7 @@ package net.sf.jsqlparser.util.cnfexpression;
 import java.util.List;
 
 import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitor;
 
 public final class MultiOrExpression extends MultipleExpression {
 
@@ -19,6 +20,11 @@ public final class MultiOrExpression extends MultipleExpression {
         super(childlist);
     }
 
+    @Override
+    public void accept(ExpressionVisitor expressionVisitor) {
+        expressionVisitor.visit(this);
+    }
+
     @Override
     public String getStringExpression() {
         return "OR";
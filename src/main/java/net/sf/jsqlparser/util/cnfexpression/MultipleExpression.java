@@ -11,12 +11,13 @@ package net.sf.jsqlparser.util.cnfexpression;
 
 import java.util.List;
 import net.sf.jsqlparser.expression.Expression;
-import net.sf.jsqlparser.expression.ExpressionVisitor;
-import net.sf.jsqlparser.expression.NullValue;
 import net.sf.jsqlparser.parser.ASTNodeAccessImpl;
 
 /**
- * This is a helper class that mainly used for handling the CNF conversion.
+ * A conjunction or disjunction of any number of expressions. Besides the CNF conversion, the
+ * parser builds them for chains of AND and OR operators, if flat conditions are requested. Unlike
+ * a chain of binary expressions, they are visited and printed in a loop, without a recursion as
+ * deep as the chain is long.
  *
  * @author messfish
  *
@@ -33,11 +34,6 @@ public abstract class MultipleExpression extends ASTNodeAccessImpl implements Ex
         return childlist.size();
     }
 
-    @Override
-    public void accept(ExpressionVisitor expressionVisitor) {
-        expressionVisitor.visit(new NullValue());
-    }
-
     public List<Expression> getList() {
         return childlist;
     }
@@ -64,17 +60,27 @@ public abstract class MultipleExpression extends ASTNodeAccessImpl implements Ex
 
     public abstract String getStringExpression();
 
+    /**
+     * Tells, if the child has to be put in parenthesis to keep its meaning, as it binds weaker than
+     * this operator.
+     */
+    public boolean needsParenthesis(Expression child) {
+        return false;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append("(");
         for (int i = 0; i < size(); i++) {
-            sb.append(getChild(i));
+            if (needsParenthesis(getChild(i))) {
+                sb.append("(").append(getChild(i)).append(")");
+            } else {
+                sb.append(getChild(i));
+            }
             if (i != size() - 1) {
                 sb.append(" ").append(getStringExpression()).append(" ");
             }
         }
-        sb.append(")");
         return sb.toString();
     }
 
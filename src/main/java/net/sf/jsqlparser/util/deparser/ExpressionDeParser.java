@@ -61,6 +61,9 @@ import net.sf.jsqlparser.statement.select.OrderByElement;
 import net.sf.jsqlparser.statement.select.SelectVisitor;
 import net.sf.jsqlparser.statement.select.SubSelect;
 import net.sf.jsqlparser.statement.select.WithItem;
+import net.sf.jsqlparser.util.cnfexpression.MultiAndExpression;
+import net.sf.jsqlparser.util.cnfexpression.MultiOrExpression;
+import net.sf.jsqlparser.util.cnfexpression.MultipleExpression;
 
 public class ExpressionDeParser implements ExpressionVisitor, ItemsListVisitor {
 
@@ -334,6 +337,16 @@ public class ExpressionDeParser implements ExpressionVisitor, ItemsListVisitor {
 
     }
 
+    @Override
+    public void visit(MultiAndExpression multiAndExpression) {
+        visitMultipleExpression(multiAndExpression, " AND ");
+    }
+
+    @Override
+    public void visit(MultiOrExpression multiOrExpression) {
+        visitMultipleExpression(multiOrExpression, " OR ");
+    }
+
     @Override
     public void visit(Parenthesis parenthesis) {
         buffer.append("(");
@@ -362,6 +375,22 @@ public class ExpressionDeParser implements ExpressionVisitor, ItemsListVisitor {
 
     }
 
+    protected void visitMultipleExpression(MultipleExpression multipleExpression, String operator) {
+        for (int i = 0; i < multipleExpression.size(); i++) {
+            if (i > 0) {
+                buffer.append(operator);
+            }
+            Expression child = multipleExpression.getChild(i);
+            if (multipleExpression.needsParenthesis(child)) {
+                buffer.append("(");
+                child.accept(this);
+                buffer.append(")");
+            } else {
+                child.accept(this);
+            }
+        }
+    }
+
     @Override
     public void visit(SubSelect subSelect) {
         if (subSelect.isUseBrackets()) {
@@ -458,11 +487,15 @@ public class ExpressionDeParser implements ExpressionVisitor, ItemsListVisitor {
         if (useBracketsInExprList) {
             buffer.append("(");
         }
-        for (Iterator<Expression> iter = expressionList.getExpressions().iterator(); iter.hasNext();) {
-            Expression expression = iter.next();
-            expression.accept(this);
-            if (iter.hasNext()) {
-                buffer.append(", ");
+        if (expressionList instanceof LiteralExpressionList) {
+            deparseLiterals((LiteralExpressionList) expressionList, this, buffer);
+        } else {
+            for (Iterator<Expression> iter = expressionList.getExpressions().iterator(); iter.hasNext();) {
+                Expression expression = iter.next();
+                expression.accept(this);
+                if (iter.hasNext()) {
+                    buffer.append(", ");
+                }
             }
         }
         if (useBracketsInExprList) {
@@ -470,6 +503,18 @@ public class ExpressionDeParser implements ExpressionVisitor, ItemsListVisitor {
         }
     }
 
+    /**
+     * Deparses the literals one by one, without expanding the list.
+     */
+    static void deparseLiterals(LiteralExpressionList literals, ExpressionVisitor visitor, StringBuilder buffer) {
+        for (int i = 0; i < literals.size(); i++) {
+            if (i > 0) {
+                buffer.append(", ");
+            }
+            literals.getExpression(i).accept(visitor);
+        }
+    }
+
     @Override
     public void visit(NamedExpressionList namedExpressionList) {
         if (useBracketsInExprList) {
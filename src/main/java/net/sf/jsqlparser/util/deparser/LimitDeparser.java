@@ -9,13 +9,25 @@
  */
 package net.sf.jsqlparser.util.deparser;
 
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitor;
 import net.sf.jsqlparser.statement.select.Limit;
 
 public class LimitDeparser {
 
     protected final StringBuilder buffer;
+    private final ExpressionVisitor expressionVisitor;
 
     public LimitDeparser(StringBuilder buffer) {
+        this(null, buffer);
+    }
+
+    /**
+     * @param expressionVisitor visitor used for offset and row count. null appends their
+     * <code>toString()</code>.
+     */
+    public LimitDeparser(ExpressionVisitor expressionVisitor, StringBuilder buffer) {
+        this.expressionVisitor = expressionVisitor;
         this.buffer = buffer;
     }
 
@@ -25,12 +37,21 @@ public class LimitDeparser {
             buffer.append("NULL");
         } else {
             if (null != limit.getOffset()) {
-                buffer.append(limit.getOffset()).append(", ");
+                deParse(limit.getOffset());
+                buffer.append(", ");
             }
 
             if (null != limit.getRowCount()) {
-                buffer.append(limit.getRowCount());
+                deParse(limit.getRowCount());
             }
         }
     }
+
+    private void deParse(Expression expression) {
+        if (expressionVisitor != null) {
+            expression.accept(expressionVisitor);
+        } else {
+            buffer.append(expression);
+        }
+    }
 }
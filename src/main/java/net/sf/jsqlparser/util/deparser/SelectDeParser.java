@@ -144,7 +144,7 @@ public class SelectDeParser implements SelectVisitor, SelectItemVisitor, FromIte
         }
 
         if (plainSelect.getLimit() != null) {
-            new LimitDeparser(buffer).deParse(plainSelect.getLimit());
+            deparseLimit(plainSelect.getLimit());
         }
         if (plainSelect.getOffset() != null) {
             deparseOffset(plainSelect.getOffset());
@@ -264,6 +264,10 @@ public class SelectDeParser implements SelectVisitor, SelectItemVisitor, FromIte
         buffer.append("))");
     }
 
+    public void deparseLimit(Limit limit) {
+        new LimitDeparser(buffer).deParse(limit);
+    }
+
     public void deparseOffset(Offset offset) {
         // OFFSET offset
         // or OFFSET offset (ROW | ROWS)
@@ -405,7 +409,7 @@ public class SelectDeParser implements SelectVisitor, SelectItemVisitor, FromIte
         }
 
         if (list.getLimit() != null) {
-            new LimitDeparser(buffer).deParse(list.getLimit());
+            deparseLimit(list.getLimit());
         }
         if (list.getOffset() != null) {
             deparseOffset(list.getOffset());
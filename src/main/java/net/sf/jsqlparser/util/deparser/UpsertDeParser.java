@@ -16,6 +16,7 @@ import net.sf.jsqlparser.expression.ExpressionVisitor;
 import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
 import net.sf.jsqlparser.expression.operators.relational.NamedExpressionList;
 import net.sf.jsqlparser.expression.operators.relational.ItemsListVisitor;
+import net.sf.jsqlparser.expression.operators.relational.LiteralExpressionList;
 import net.sf.jsqlparser.expression.operators.relational.MultiExpressionList;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.statement.select.SelectVisitor;
@@ -111,12 +112,21 @@ public class UpsertDeParser implements ItemsListVisitor {
 
     @Override
     public void visit(ExpressionList expressionList) {
-        buffer.append(" VALUES (");
-        for (Iterator<Expression> iter = expressionList.getExpressions().iterator(); iter.hasNext();) {
-            Expression expression = iter.next();
-            expression.accept(expressionVisitor);
-            if (iter.hasNext()) {
-                buffer.append(", ");
+        buffer.append(" VALUES ");
+        deparseRow(expressionList);
+    }
+
+    private void deparseRow(ExpressionList expressionList) {
+        buffer.append("(");
+        if (expressionList instanceof LiteralExpressionList) {
+            ExpressionDeParser.deparseLiterals((LiteralExpressionList) expressionList, expressionVisitor, buffer);
+        } else {
+            for (Iterator<Expression> iter = expressionList.getExpressions().iterator(); iter.hasNext();) {
+                Expression expression = iter.next();
+                expression.accept(expressionVisitor);
+                if (iter.hasNext()) {
+                    buffer.append(", ");
+                }
             }
         }
         buffer.append(")");
@@ -131,15 +141,7 @@ public class UpsertDeParser implements ItemsListVisitor {
     public void visit(MultiExpressionList multiExprList) {
         buffer.append(" VALUES ");
         for (Iterator<ExpressionList> it = multiExprList.getExprList().iterator(); it.hasNext();) {
-            buffer.append("(");
-            for (Iterator<Expression> iter = it.next().getExpressions().iterator(); iter.hasNext();) {
-                Expression expression = iter.next();
-                expression.accept(expressionVisitor);
-                if (iter.hasNext()) {
-                    buffer.append(", ");
-                }
-            }
-            buffer.append(")");
+            deparseRow(it.next());
             if (it.hasNext()) {
                 buffer.append(", ");
             }
@@ -12,6 +12,7 @@ package net.sf.jsqlparser.expression;
 import java.util.ArrayList;
 import java.util.List;
 import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
 import net.sf.jsqlparser.expression.operators.relational.InExpression;
 import net.sf.jsqlparser.expression.operators.relational.ItemsList;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
@@ -208,4 +209,35 @@ public class ExpressionVisitorAdapterTest {
         expr.accept(adapter);
     }
 
+    @Test
+    public void testColumnsOfAllParts() throws JSQLParserException {
+        Expression expr = CCJSqlParserUtil.parseCondExpression("a > ALL (SELECT b FROM t) "
+                + "AND sum(c) OVER (PARTITION BY d ORDER BY e ROWS BETWEEN f PRECEDING AND CURRENT ROW) = 1 "
+                + "AND g + INTERVAL h DAY > 0 AND i = ANY (SELECT j FROM t)");
+        final List<String> columns = new ArrayList<>();
+        ExpressionVisitorAdapter adapter = new ExpressionVisitorAdapter() {
+            @Override
+            public void visit(Column column) {
+                columns.add(column.getColumnName());
+            }
+        };
+        adapter.setSelectVisitor(new SelectVisitorAdapter() {
+            @Override
+            public void visit(PlainSelect plainSelect) {
+                plainSelect.getSelectItems().get(0).accept(adapter);
+            }
+        });
+        expr.accept(adapter);
+        assertEquals("[a, b, c, d, e, f, g, h, i, j]", columns.toString());
+    }
+
+    @Test
+    public void testEmptyGroupingSet() throws JSQLParserException {
+        Select select = (Select) CCJSqlParserUtil.parse("SELECT a FROM t GROUP BY GROUPING SETS ((a), ())");
+        PlainSelect plainSelect = (PlainSelect) select.getSelectBody();
+        ExpressionVisitorAdapter adapter = new ExpressionVisitorAdapter();
+        for (Object groupingSet : plainSelect.getGroupBy().getGroupingSets()) {
+            ((ExpressionList) groupingSet).accept(adapter);
+        }
+    }
 }
@@ -0,0 +1,192 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.expression.operators.relational;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.StringValue;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.util.DeepCopier;
+import net.sf.jsqlparser.util.StatementFingerprinter;
+import net.sf.jsqlparser.util.TablesNamesFinder;
+import net.sf.jsqlparser.util.deparser.StatementDeParser;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class LiteralExpressionListTest {
+
+    private static Statement parse(String sql) throws JSQLParserException {
+        return CCJSqlParserUtil.parse(sql, parser -> parser.withLiteralLists(true));
+    }
+
+    private static String deparse(Statement statement) {
+        StatementDeParser deParser = new StatementDeParser(new StringBuilder());
+        statement.accept(deParser);
+        return deParser.getBuffer().toString();
+    }
+
+    private static ItemsList inList(Statement statement) {
+        Expression where = ((PlainSelect) ((Select) statement).getSelectBody()).getWhere();
+        return ((InExpression) where).getRightItemsList();
+    }
+
+    @Test
+    public void testInList() throws JSQLParserException {
+        String sql = "SELECT * FROM tab WHERE a NOT IN (1, 'x', 'y''z', n'w', 007, 12345678901234567890, 0)";
+        Statement statement = parse(sql);
+        Statement expected = CCJSqlParserUtil.parse(sql);
+        assertEquals(expected.toString(), statement.toString());
+        assertEquals(deparse(expected), deparse(statement));
+
+        LiteralExpressionList list = (LiteralExpressionList) inList(statement);
+        assertTrue(list.isCompact());
+        assertEquals(7, list.size());
+        assertEquals("12345678901234567890", ((LongValue) list.getExpression(5)).getStringValue());
+        assertEquals("y''z", ((StringValue) list.getExpression(2)).getValue());
+        assertEquals("N", ((StringValue) list.getExpression(3)).getPrefix());
+
+        List<Expression> expressions = list.getExpressions();
+        assertFalse(list.isCompact());
+        assertEquals(((ExpressionList) inList(expected)).getExpressions().toString(), expressions.toString());
+        expressions.set(0, new LongValue(2));
+        assertEquals(sql.replace("(1,", "(2,").replace("n'w'", "N'w'"), statement.toString());
+    }
+
+    @Test
+    public void testLongInList() throws JSQLParserException {
+        StringBuilder builder = new StringBuilder("SELECT * FROM tab WHERE a IN (0");
+        for (int i = 1; i < 100000; i++) {
+            builder.append(", ").append(i * 7);
+        }
+        String sql = builder.append(")").toString();
+        Statement statement = parse(sql);
+        assertEquals(sql, statement.toString());
+        assertEquals(sql, deparse(statement));
+        assertEquals(100000, ((LiteralExpressionList) inList(statement)).size());
+        assertTrue(((LiteralExpressionList) inList(statement)).isCompact());
+    }
+
+    @Test
+    public void testOtherListsAreNotCompact() throws JSQLParserException {
+        for (String list : new String[]{"1, b", "1 + 2", "-1", "1.5", "'x' || 'y'", "1, 2 DAY",
+            "SELECT 1", "'x' COLLATE c"}) {
+            String sql = "SELECT * FROM tab WHERE a IN (" + list + ")";
+            Statement statement = parse(sql);
+            assertFalse(sql, inList(statement) instanceof LiteralExpressionList);
+            assertEquals(CCJSqlParserUtil.parse(sql).toString(), statement.toString());
+        }
+        assertFalse(inList(CCJSqlParserUtil.parse("SELECT * FROM tab WHERE a IN (1, 2)"))
+                instanceof LiteralExpressionList);
+    }
+
+    @Test
+    public void testInsertValues() throws JSQLParserException {
+        String sql = "INSERT INTO tab (a, b) VALUES (1, 'a'), (2, b), (3, 'c')";
+        Statement statement = parse(sql);
+        assertEquals(sql, statement.toString());
+        assertEquals(sql, deparse(statement));
+        List<ExpressionList> rows = ((MultiExpressionList) ((Insert) statement).getItemsList()).getExprList();
+        assertTrue(((LiteralExpressionList) rows.get(0)).isCompact());
+        assertFalse(rows.get(1) instanceof LiteralExpressionList);
+        assertTrue(((LiteralExpressionList) rows.get(2)).isCompact());
+
+        sql = "INSERT INTO tab (a, b) VALUES (1, 'a')";
+        statement = parse(sql);
+        assertEquals(sql, statement.toString());
+        assertEquals(sql, deparse(statement));
+        assertTrue(((Insert) statement).getItemsList() instanceof LiteralExpressionList);
+
+        sql = "UPSERT INTO tab (a, b) VALUES (1, 'a'), (2, 'b')";
+        assertEquals(sql, parse(sql).toString());
+        assertEquals(sql, deparse(parse(sql)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsertValuesOfDifferentCounts() throws Throwable {
+        try {
+            parse("INSERT INTO tab (a, b) VALUES (1, 2), (3)");
+        } catch (JSQLParserException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @Test
+    public void testVisitors() throws JSQLParserException {
+        Statement statement = parse("SELECT * FROM tab WHERE a IN (1, 'b', 3)");
+        List<String> literals = new ArrayList<>();
+        ((PlainSelect) ((Select) statement).getSelectBody()).getWhere().accept(new ExpressionVisitorAdapter() {
+            @Override
+            public void visit(LongValue value) {
+                literals.add(value.toString());
+            }
+
+            @Override
+            public void visit(StringValue value) {
+                literals.add(value.toString());
+            }
+        });
+        assertEquals("[1, 'b', 3]", literals.toString());
+        assertEquals(Collections.singletonList("tab"), new TablesNamesFinder().getTableList(statement));
+
+        Statement copy = new DeepCopier().copyStatement(statement);
+        assertEquals(statement.toString(), copy.toString());
+        assertNotSame(inList(statement), inList(copy));
+        assertTrue(((LiteralExpressionList) inList(copy)).isCompact());
+
+        StatementFingerprinter fingerprinter = new StatementFingerprinter();
+        assertEquals(fingerprinter.normalize(CCJSqlParserUtil.parse(statement.toString())),
+                fingerprinter.normalize(statement));
+        assertTrue(((LiteralExpressionList) inList(statement)).isCompact());
+    }
+
+    @Test
+    public void testAddLiteral() {
+        LiteralExpressionList list = new LiteralExpressionList();
+        for (int i = 0; i < 20; i++) {
+            list.addLiteral(String.valueOf(i));
+        }
+        list.addLiteral("'a'");
+        list.addLiteral("0020");
+        assertEquals(22, list.size());
+        assertEquals("(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 'a', 0020)",
+                list.toString());
+        assertEquals("0020", list.getExpression(21).toString());
+        assertEquals(list.toString(), new LiteralExpressionList(list).toString());
+
+        list.getExpressions();
+        list.addLiteral("3");
+        assertEquals(23, list.size());
+        assertEquals(new LongValue(3).toString(), list.getExpression(22).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddInvalidLiteral() {
+        new LiteralExpressionList().addLiteral("-1");
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetExpressionOutOfBounds() {
+        LiteralExpressionList list = new LiteralExpressionList();
+        list.addLiteral("1");
+        list.getExpression(1);
+    }
+}
@@ -11,18 +11,34 @@ package net.sf.jsqlparser.parser;
 
 import java.io.ByteArrayInputStream;
 import java.io.StringReader;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import net.sf.jsqlparser.JSQLParserAbortedException;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.JdbcParameter;
 import net.sf.jsqlparser.expression.LongValue;
 import net.sf.jsqlparser.expression.Parenthesis;
 import net.sf.jsqlparser.expression.operators.arithmetic.Addition;
 import net.sf.jsqlparser.expression.operators.arithmetic.Multiplication;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
 import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.Statements;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectExpressionItem;
+import net.sf.jsqlparser.util.DeepCopier;
+import net.sf.jsqlparser.util.TablesNamesFinder;
+import net.sf.jsqlparser.util.cnfexpression.MultiAndExpression;
+import net.sf.jsqlparser.util.cnfexpression.MultiOrExpression;
+import net.sf.jsqlparser.util.deparser.StatementDeParser;
 import org.junit.After;
 import org.junit.AfterClass;
 import static org.junit.Assert.*;
@@ -183,6 +199,74 @@ public class CCJSqlParserUtilTest {
         assertEquals(list.size(), 3);
     }
 
+    @Test
+    public void testStreamStatementsWithLongLiteral() throws Exception {
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            literal.append("0123456789");
+        }
+        String sql = "INSERT INTO tab VALUES ('" + literal + "');\nselect a\nfrom dual;\n"
+                + "INSERT INTO tab VALUES ('" + literal + "')";
+        final List<Statement> list = new ArrayList<>();
+        CCJSqlParserUtil.streamStatements(list::add, new ByteArrayInputStream(sql.getBytes(StandardCharsets.UTF_8)),
+                "UTF-8");
+
+        assertEquals(3, list.size());
+        assertEquals("SELECT a FROM dual", list.get(1).toString());
+        assertEquals("INSERT INTO tab VALUES ('" + literal + "')", list.get(2).toString());
+    }
+
+    @Test
+    public void testStreamStatementsCutsTokenChain() throws Exception {
+        final List<Statement> list = new ArrayList<>();
+        CCJSqlParserUtil.streamStatements(list::add, new ByteArrayInputStream(
+                "SELECT a FROM tab;\nSELECT b FROM tab;\nSELECT c FROM tab".getBytes(StandardCharsets.UTF_8)),
+                "UTF-8");
+
+        assertEquals(3, list.size());
+        Table table = (Table) ((PlainSelect) ((Select) list.get(0)).getSelectBody()).getFromItem();
+        int count = 0;
+        for (Token token = table.getASTNode().jjtGetFirstToken(); token != null; token = token.next) {
+            count++;
+        }
+        assertEquals("tab ;", 2, count);
+    }
+
+    /**
+     * The parser must not keep the statements, nodes or tokens of a streamed statement reachable,
+     * once the listener dropped it.
+     */
+    @Test
+    public void testStreamStatementsReleasesParsedStatements() throws Exception {
+        final List<Reference<?>> released = new ArrayList<>();
+        final List<String> retained = new ArrayList<>();
+        CCJSqlParserUtil.streamStatements(new StatementListener() {
+            private int count = 0;
+
+            @Override
+            public void accept(Statement statement) {
+                count++;
+                if (count == 1) {
+                    Table table = (Table) ((PlainSelect) ((Select) statement).getSelectBody()).getFromItem();
+                    released.add(new WeakReference<>(statement));
+                    released.add(new WeakReference<>(table.getASTNode()));
+                    released.add(new WeakReference<>(table.getASTNode().jjtGetFirstToken()));
+                } else if (count == 3) {
+                    for (int i = 0; i < 3 && !released.isEmpty(); i++) {
+                        System.gc();
+                        released.removeIf(reference -> reference.get() == null);
+                    }
+                    for (Reference<?> reference : released) {
+                        retained.add(String.valueOf(reference.get()));
+                    }
+                }
+            }
+        }, new ByteArrayInputStream("SELECT a FROM tab1;\nSELECT b FROM tab2;\nSELECT c FROM tab3;\nSELECT d FROM tab4"
+                .getBytes(StandardCharsets.UTF_8)), "UTF-8");
+
+        assertEquals(Collections.emptyList(), retained);
+    }
+
     @Test(expected = JSQLParserException.class)
     public void testParseStatementsFail() throws Exception {
         CCJSqlParserUtil.parseStatements("select * from dual;WHATEVER!!");
@@ -213,4 +297,286 @@ public class CCJSqlParserUtilTest {
                 + "bigint (20) NOT NULL COMMENT 'column id as sent by SYSTEM', PRIMARY KEY (`id`), UNIQUE KEY `uk_another_column_id` "
                 + "(`another_column_id`));\n", result.toString());
     }
+
+    @Test
+    public void testParserReset() throws Exception {
+        CCJSqlParser parser = new CCJSqlParser(new StringProvider("select * from tab where a = ? and b = ?"))
+                .withSquareBracketQuotation(true);
+        parser.setErrorRecovery(true);
+        parser.withAstNodes(false);
+        parser.withFlatConditions(true);
+        parser.Statements();
+
+        Statement statement = parser.reset("select * from tab where a = ?").Statement();
+        EqualsTo where = (EqualsTo) ((PlainSelect) ((Select) statement).getSelectBody()).getWhere();
+        assertEquals(Integer.valueOf(1), ((JdbcParameter) where.getRightExpression()).getIndex());
+        assertFalse(parser.errorRecovery);
+        assertTrue(parser.astNodes);
+        assertFalse(parser.flatConditions);
+        assertNotNull(where.getASTNode());
+        assertFalse(parser.token_source.allowSquareBracketQuotation);
+        assertTrue(parser.getParseErrors().isEmpty());
+    }
+
+    @Test
+    public void testParserResetKeepsTokenPositions() throws Exception {
+        CCJSqlParser parser = new CCJSqlParser(new StringProvider("select a, b, c from mytable where x = 1"));
+        parser.Statement();
+        Select select = (Select) parser.reset("select b from t").Statement();
+
+        Column column = (Column) ((SelectExpressionItem) ((PlainSelect) select.getSelectBody())
+                .getSelectItems().get(0)).getExpression();
+        Column expected = (Column) ((SelectExpressionItem) ((PlainSelect) ((Select) CCJSqlParserUtil
+                .parse("select b from t")).getSelectBody()).getSelectItems().get(0)).getExpression();
+        assertEquals(expected.getASTNode().jjtGetFirstToken().absoluteBegin,
+                column.getASTNode().jjtGetFirstToken().absoluteBegin);
+        assertEquals(expected.getASTNode().jjtGetFirstToken().beginColumn,
+                column.getASTNode().jjtGetFirstToken().beginColumn);
+    }
+
+    @Test
+    public void testParsePooled() throws Exception {
+        assertEquals("SELECT * FROM tab WHERE a = ?",
+                CCJSqlParserUtil.parsePooled("select * from tab where a = ?").toString());
+        assertEquals("SELECT * FROM tab2 WHERE b = ?",
+                CCJSqlParserUtil.parsePooled("select * from tab2 where b = ?").toString());
+        assertEquals("SELECT * FROM dual;\nSELECT * FROM dual;\n",
+                CCJSqlParserUtil.parseStatementsPooled("select * from dual; select * from dual").toString());
+    }
+
+    @Test
+    public void testParsePooledReentrant() throws Exception {
+        final List<Statement> inner = new ArrayList<>();
+        Statement outer = CCJSqlParserUtil.parsePooled("select a from tab1", parser -> {
+            try {
+                inner.add(CCJSqlParserUtil.parsePooled("select b from tab2"));
+            } catch (JSQLParserException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertEquals("SELECT a FROM tab1", outer.toString());
+        assertEquals("SELECT b FROM tab2", inner.get(0).toString());
+    }
+
+    @Test(expected = JSQLParserException.class)
+    public void testParsePooledFail() throws Exception {
+        try {
+            CCJSqlParserUtil.parsePooled("select * from dual WHATEVER!!");
+        } finally {
+            assertEquals("SELECT * FROM dual", CCJSqlParserUtil.parsePooled("select * from dual").toString());
+        }
+    }
+
+    private static String longCondition() {
+        StringBuilder sql = new StringBuilder("SELECT * FROM tab WHERE a = 1");
+        for (int i = 0; i < 50000; i++) {
+            sql.append(" AND a").append(i).append(" = 'x'");
+        }
+        return sql.toString();
+    }
+
+    @Test
+    public void testParseTimeOut() throws Exception {
+        try {
+            CCJSqlParserUtil.parse(longCondition(), parser -> parser.withTimeOut(10));
+            fail("parse should time out");
+        } catch (JSQLParserAbortedException ex) {
+            assertFalse(ex.isCancelled());
+        }
+        assertEquals("SELECT * FROM tab WHERE a = 1",
+                CCJSqlParserUtil.parse("select * from tab where a = 1", parser -> parser.withTimeOut(60000)).toString());
+    }
+
+    @Test
+    public void testParseCancelled() throws Exception {
+        try {
+            CCJSqlParserUtil.parsePooled("select * from tab where a = 1", CCJSqlParser::cancel);
+            fail("parse should be cancelled");
+        } catch (JSQLParserAbortedException ex) {
+            assertTrue(ex.isCancelled());
+        }
+        assertEquals("SELECT * FROM tab WHERE a = 1",
+                CCJSqlParserUtil.parsePooled("select * from tab where a = 1").toString());
+    }
+
+    @Test
+    public void testTokenManagerChecksCancellation() {
+        CCJSqlParser parser = new CCJSqlParser(new StringProvider("select * from tab"));
+        parser.cancel();
+        try {
+            parser.getNextToken();
+            fail("reading a token should be cancelled");
+        } catch (ParseAbortedException ex) {
+            assertTrue(ex.isCancelled());
+        }
+    }
+
+    @Test
+    public void testParseErrorIsNotAborted() {
+        try {
+            CCJSqlParserUtil.parse("select * from tab where", parser -> parser.withTimeOut(60000));
+            fail("parse should fail");
+        } catch (JSQLParserException ex) {
+            assertFalse(ex instanceof JSQLParserAbortedException);
+        }
+    }
+
+    @Test
+    public void testTryParse() throws Exception {
+        ParseResult<Statement> result = CCJSqlParserUtil.tryParse("select * from tab");
+        assertTrue(result.isParsed());
+        assertEquals(ParseResult.Kind.PARSED, result.getKind());
+        assertEquals("SELECT * FROM tab", result.getValueOrThrow().toString());
+        assertNull(result.getException());
+    }
+
+    @Test
+    public void testTryParseSyntaxError() {
+        String sql = "SELECT a\r\nFROM tab\n  WHERE WHERE";
+        ParseResult<Statement> result = CCJSqlParserUtil.tryParse(sql);
+        assertFalse(result.isParsed());
+        assertEquals(ParseResult.Kind.SYNTAX_ERROR, result.getKind());
+        assertNull(result.getValue());
+        assertEquals(3, result.getLine());
+        assertEquals(9, result.getColumn());
+        assertEquals(CCJSqlParserConstants.K_WHERE, result.getTokenKind());
+        assertEquals("WHERE", result.getTokenImage());
+
+        JSQLParserException exception = result.getException();
+        assertSame(exception, result.getException());
+        try {
+            CCJSqlParserUtil.parse(sql);
+            fail("parse should fail");
+        } catch (JSQLParserException ex) {
+            assertEquals(ex.getCause().getMessage(), exception.getCause().getMessage());
+        }
+        try {
+            result.getValueOrThrow();
+            fail("exception expected");
+        } catch (JSQLParserException ex) {
+            assertSame(exception, ex);
+        }
+    }
+
+    @Test
+    public void testTryParseAtEndOfInput() {
+        ParseResult<Statement> result = CCJSqlParserUtil.tryParse("select * from");
+        assertEquals(ParseResult.Kind.SYNTAX_ERROR, result.getKind());
+        assertEquals(CCJSqlParserConstants.EOF, result.getTokenKind());
+    }
+
+    @Test
+    public void testTryParseWithConsumer() {
+        String sql = "select [a b] from tab";
+        assertFalse(CCJSqlParserUtil.tryParse(sql).isParsed());
+        ParseResult<Statement> result = CCJSqlParserUtil.tryParse(sql, parser -> parser.withSquareBracketQuotation(true));
+        assertEquals("SELECT [a b] FROM tab", result.getValue().toString());
+        assertNotNull(result.getValue().toString(), CCJSqlParserUtil.tryParse(sql).getException());
+    }
+
+    @Test
+    public void testTryParseLexicalError() {
+        ParseResult<Statement> result = CCJSqlParserUtil.tryParse("select 'a from tab");
+        assertEquals(ParseResult.Kind.LEXICAL_ERROR, result.getKind());
+        assertEquals(1, result.getLine());
+        assertTrue(result.getException().getCause() instanceof TokenMgrException);
+    }
+
+    @Test
+    public void testTryParseInvalid() {
+        ParseResult<Statement> result = CCJSqlParserUtil.tryParse("INSERT INTO t VALUES (1, 2),\n(3)");
+        assertEquals(ParseResult.Kind.INVALID, result.getKind());
+        assertEquals(2, result.getLine());
+        assertTrue(result.getException().getCause() instanceof IllegalArgumentException);
+        assertEquals("different count of parameters", result.getException().getCause().getMessage());
+        assertTrue(CCJSqlParserUtil.tryParse("INSERT INTO t VALUES (1, 2), (3, 4)").isParsed());
+    }
+
+    @Test
+    public void testTryParseAborted() {
+        ParseResult<Statement> result = CCJSqlParserUtil.tryParse("select * from tab", CCJSqlParser::cancel);
+        assertEquals(ParseResult.Kind.ABORTED, result.getKind());
+        assertTrue(result.getException() instanceof JSQLParserAbortedException);
+    }
+
+    @Test
+    public void testTryParseKeepsPooledParserUsable() throws Exception {
+        assertFalse(CCJSqlParserUtil.tryParse("select * from tab where").isParsed());
+        try {
+            CCJSqlParserUtil.parsePooled("select * from tab where");
+            fail("parse should fail");
+        } catch (JSQLParserException ex) {
+            assertTrue(ex.getCause().getMessage(), ex.getCause().getMessage().contains("Was expecting"));
+        }
+        assertEquals("SELECT * FROM tab", CCJSqlParserUtil.parsePooled("select * from tab").toString());
+    }
+
+    @Test
+    public void testTryParseExpression() {
+        assertEquals("a + 1", CCJSqlParserUtil.tryParseExpression("a + 1 b").getValue().toString());
+
+        ParseResult<Expression> result = CCJSqlParserUtil.tryParseExpression("a + 1 b", false);
+        assertEquals(ParseResult.Kind.SYNTAX_ERROR, result.getKind());
+        assertEquals("b", result.getTokenImage());
+        assertEquals(7, result.getColumn());
+        assertEquals("could only parse partial expression a + 1", result.getException().getMessage());
+
+        result = CCJSqlParserUtil.tryParseExpression("(a");
+        assertEquals(ParseResult.Kind.SYNTAX_ERROR, result.getKind());
+        assertEquals(CCJSqlParserConstants.EOF, result.getTokenKind());
+    }
+
+    @Test
+    public void testFlatConditions() throws Exception {
+        String sql = "SELECT * FROM tab WHERE a = 1 OR b = 2 AND c = 3 AND (d = 4 OR e = 5 OR f = 6) OR NOT g = 7";
+        Statement binary = CCJSqlParserUtil.parse(sql);
+        Statement flat = CCJSqlParserUtil.parse(sql, parser -> parser.withFlatConditions(true));
+        assertEquals(binary.toString(), flat.toString());
+        assertEquals(sql, flat.toString());
+
+        MultiOrExpression where = (MultiOrExpression) ((PlainSelect) ((Select) flat).getSelectBody()).getWhere();
+        assertEquals(3, where.size());
+        MultiAndExpression and = (MultiAndExpression) where.getChild(1);
+        assertEquals(3, and.size());
+        assertEquals(3, ((MultiOrExpression) ((Parenthesis) and.getChild(2)).getExpression()).size());
+        assertTrue(where.getChild(0) instanceof EqualsTo);
+
+        StatementDeParser deParser = new StatementDeParser(new StringBuilder());
+        flat.accept(deParser);
+        assertEquals(sql, deParser.getBuffer().toString());
+    }
+
+    @Test
+    public void testFlatConditionsOfSingleExpression() throws Exception {
+        Statement statement = CCJSqlParserUtil.parse("SELECT * FROM tab WHERE a = 1",
+                parser -> parser.withFlatConditions(true));
+        assertTrue(((PlainSelect) ((Select) statement).getSelectBody()).getWhere() instanceof EqualsTo);
+    }
+
+    @Test
+    public void testFlatConditionsOfLongChain() throws Exception {
+        StringBuilder builder = new StringBuilder("SELECT * FROM tab WHERE a = 0");
+        for (int i = 1; i < 20000; i++) {
+            builder.append(i % 3 == 0 ? " AND " : " OR ").append("a = ").append(i);
+        }
+        String sql = builder.toString();
+        Statement statement = CCJSqlParserUtil.parse(sql, parser -> parser.withFlatConditions(true));
+        assertEquals(sql, statement.toString());
+
+        StatementDeParser deParser = new StatementDeParser(new StringBuilder());
+        statement.accept(deParser);
+        assertEquals(sql, deParser.getBuffer().toString());
+
+        List<String> columns = new ArrayList<>();
+        ((PlainSelect) ((Select) statement).getSelectBody()).getWhere().accept(new ExpressionVisitorAdapter() {
+            @Override
+            public void visit(Column column) {
+                columns.add(column.getColumnName());
+            }
+        });
+        assertEquals(20000, columns.size());
+        assertEquals(Collections.singletonList("tab"), new TablesNamesFinder().getTableList(statement));
+        assertEquals(sql, new DeepCopier().copyStatement(statement).toString());
+    }
 }
+
@@ -0,0 +1,49 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import net.sf.jsqlparser.JSQLParserException;
+
+/**
+ * A parser, which counts its abort checks. They are done for every primary expression and every
+ * operand of AND, both when parsing and when looking ahead, so their number measures the work of
+ * the parser including its backtracking, independent of the machine it runs on.
+ */
+public class CountingParser extends CCJSqlParser {
+
+    private long checks;
+
+    public CountingParser(String sql) {
+        super(new StringProvider(sql));
+    }
+
+    @Override
+    boolean checkAborted() {
+        checks++;
+        return super.checkAborted();
+    }
+
+    public long getChecks() {
+        return checks;
+    }
+
+    /**
+     * @return the number of abort checks done to parse the statement
+     */
+    public static long countChecks(String sql) throws JSQLParserException {
+        CountingParser parser = new CountingParser(sql);
+        try {
+            parser.Statement();
+        } catch (Exception ex) {
+            throw CCJSqlParserUtil.toJSQLParserException(ex);
+        }
+        return parser.getChecks();
+    }
+}
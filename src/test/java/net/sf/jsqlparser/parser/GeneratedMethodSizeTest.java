@@ -0,0 +1,141 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import org.junit.Test;
+
+/**
+ * Checks that the methods generated from the grammar stay compilable by the JIT. HotSpot does not
+ * compile methods with more bytecode than its HugeMethodLimit of 8000 bytes, so they would be
+ * interpreted forever.
+ */
+public class GeneratedMethodSizeTest {
+
+    private static final int HUGE_METHOD_LIMIT = 8000;
+
+    @Test
+    public void testParserMethodsAreNotHuge() throws IOException {
+        assertNoHugeMethods(CCJSqlParser.class);
+    }
+
+    @Test
+    public void testTokenManagerMethodsAreNotHuge() throws IOException {
+        assertNoHugeMethods(CCJSqlParserTokenManager.class);
+    }
+
+    private static void assertNoHugeMethods(Class<?> type) throws IOException {
+        List<String> sizes = codeSizes(type);
+        assertFalse(sizes.isEmpty());
+        List<String> hugeMethods = new ArrayList<>();
+        for (String size : sizes) {
+            if (Integer.parseInt(size.substring(size.lastIndexOf(' ') + 1)) > HUGE_METHOD_LIMIT) {
+                hugeMethods.add(size);
+            }
+        }
+        assertEquals("methods of " + type.getSimpleName() + " over the HugeMethodLimit",
+                new ArrayList<String>(), hugeMethods);
+    }
+
+    /**
+     * Reads the class file of the type.
+     *
+     * @return the name, descriptor and bytecode length of every method with code
+     */
+    private static List<String> codeSizes(Class<?> type) throws IOException {
+        try (InputStream stream = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+            DataInputStream in = new DataInputStream(stream);
+            in.readInt();
+            in.readUnsignedShort();
+            in.readUnsignedShort();
+            String[] utf8 = readConstantPool(in);
+            in.readUnsignedShort();
+            in.readUnsignedShort();
+            in.readUnsignedShort();
+            skip(in, 2 * in.readUnsignedShort());
+            int fields = in.readUnsignedShort();
+            for (int i = 0; i < fields; i++) {
+                skip(in, 6);
+                skipAttributes(in);
+            }
+            List<String> sizes = new ArrayList<>();
+            int methods = in.readUnsignedShort();
+            for (int i = 0; i < methods; i++) {
+                in.readUnsignedShort();
+                String name = utf8[in.readUnsignedShort()] + utf8[in.readUnsignedShort()];
+                int attributes = in.readUnsignedShort();
+                for (int j = 0; j < attributes; j++) {
+                    String attribute = utf8[in.readUnsignedShort()];
+                    int length = in.readInt();
+                    if ("Code".equals(attribute)) {
+                        skip(in, 4);
+                        int codeLength = in.readInt();
+                        sizes.add(name + " " + codeLength);
+                        skip(in, length - 8);
+                    } else {
+                        skip(in, length);
+                    }
+                }
+            }
+            return sizes;
+        }
+    }
+
+    /**
+     * @return the UTF8 constants by their index
+     */
+    private static String[] readConstantPool(DataInputStream in) throws IOException {
+        String[] utf8 = new String[in.readUnsignedShort()];
+        for (int i = 1; i < utf8.length; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    utf8[i] = in.readUTF();
+                    break;
+                case 5:
+                case 6:
+                    skip(in, 8);
+                    i++;
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    skip(in, 2);
+                    break;
+                case 15:
+                    skip(in, 3);
+                    break;
+                default:
+                    skip(in, 4);
+            }
+        }
+        return utf8;
+    }
+
+    private static void skipAttributes(DataInputStream in) throws IOException {
+        int attributes = in.readUnsignedShort();
+        for (int i = 0; i < attributes; i++) {
+            in.readUnsignedShort();
+            skip(in, in.readInt());
+        }
+    }
+
+    private static void skip(DataInputStream in, int length) throws IOException {
+        in.readFully(new byte[length]);
+    }
+}
@@ -0,0 +1,82 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import net.sf.jsqlparser.parser.GrammarProfiler.ProductionProfile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Test;
+
+/**
+ * The profiles are only tested, if the parser was generated with tracing by the grammar-profiling
+ * profile of the build.
+ */
+public class GrammarProfilerTest {
+
+    @Test
+    public void testNotAvailableWithoutTracing() {
+        assumeFalse(GrammarProfiler.isAvailable());
+        try {
+            new GrammarProfiler();
+            fail("profiler should not be available");
+        } catch (IllegalStateException ex) {
+            assertTrue(ex.getMessage().contains("grammar-profiling"));
+        }
+    }
+
+    @Test
+    public void testProfile() throws Exception {
+        assumeTrue(GrammarProfiler.isAvailable());
+        GrammarProfiler profiler = new GrammarProfiler();
+        assertEquals("SELECT a FROM tab WHERE b = 1",
+                profiler.parse("select a from tab where b = 1").toString());
+        profiler.parseStatements("select c from tab; select d from tab");
+
+        assertEquals(3, profiler.getProfile("PlainSelect").getCalls());
+        ProductionProfile singleStatement = profiler.getProfile("SingleStatement");
+        assertEquals(3, singleStatement.getCalls());
+        assertEquals(3, singleStatement.getScans());
+        assertEquals(3, singleStatement.getMaxScanDepth());
+        assertTrue(singleStatement.getScannedTokens() >= 9);
+        assertTrue(profiler.getProfile("Select").getLookaheadCalls() >= 3);
+        assertTrue(profiler.getProfile("RelObjectName").getLookaheadTokens() > 0);
+        assertTrue(profiler.getProfiles().get(0).getSelfTimeNanos() > 0);
+
+        StringBuilder report = new StringBuilder();
+        profiler.writeReport(report);
+        assertTrue(report.toString(), report.toString().startsWith("production "));
+        assertTrue(report.toString(), report.toString().contains("PlainSelect "));
+        StringBuilder csv = new StringBuilder();
+        profiler.writeCsv(csv);
+        assertEquals(profiler.getProfiles().size() + 1, csv.toString().split("\n").length);
+
+        profiler.reset();
+        assertNull(profiler.getProfile("PlainSelect"));
+        assertTrue(profiler.getProfiles().isEmpty());
+    }
+
+    @Test
+    public void testProfileOfFailedParse() {
+        assumeTrue(GrammarProfiler.isAvailable());
+        GrammarProfiler profiler = new GrammarProfiler();
+        try {
+            profiler.parse("select a from");
+            fail("parse should fail");
+        } catch (Exception ex) {
+            assertNotNull(profiler.getProfile("FromItem"));
+            assertEquals(1, profiler.getProfile("Statement").getCalls());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.statement.Statement;
+import static org.junit.Assert.assertEquals;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedFileProviderTest {
+
+    private static final String TEXT = "SELECT '\u00e4\u00f6\u00fc \u20ac', '\ud83d\ude00' FROM tab WHERE a = 'x'";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(byte[] content) throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, content);
+        return path;
+    }
+
+    private static String readAll(MappedFileProvider provider, int chunkSize) throws IOException {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[chunkSize];
+        int count;
+        while ((count = provider.read(buffer, 0, chunkSize)) != -1) {
+            text.append(buffer, 0, count);
+        }
+        assertEquals(-1, provider.read(buffer, 0, chunkSize));
+        return text.toString();
+    }
+
+    private void assertRead(String text, Charset charset) throws IOException {
+        Path path = write(text.getBytes(charset));
+        for (int windowSize : new int[]{4, 5, 7, 1024}) {
+            for (int chunkSize : new int[]{1, 3, 4096}) {
+                try (MappedFileProvider provider = new MappedFileProvider(path, charset, windowSize)) {
+                    assertEquals("window " + windowSize + ", chunk " + chunkSize, text,
+                            readAll(provider, chunkSize));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUtf8() throws IOException {
+        assertRead(TEXT, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testLatin1() throws IOException {
+        assertRead("SELECT '\u00e4\u00f6\u00fc' FROM tab", StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    public void testDecoder() throws IOException {
+        assertRead(TEXT, StandardCharsets.UTF_16LE);
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        try (MappedFileProvider provider = new MappedFileProvider(write(new byte[0]), StandardCharsets.UTF_8)) {
+            assertEquals("", readAll(provider, 16));
+        }
+    }
+
+    @Test
+    public void testMalformedUtf8() throws IOException {
+        Path path = write(new byte[]{'a', (byte) 0xC3, 'b', (byte) 0xFF, (byte) 0xE2, (byte) 0x82});
+        try (MappedFileProvider provider = new MappedFileProvider(path, StandardCharsets.UTF_8)) {
+            assertEquals("a\uFFFDb\uFFFD\uFFFD", readAll(provider, 16));
+        }
+    }
+
+    @Test
+    public void testByteOrderMarkIsSkipped() throws IOException, JSQLParserException {
+        byte[] text = "SELECT a FROM tab".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[text.length + 3];
+        content[0] = (byte) 0xEF;
+        content[1] = (byte) 0xBB;
+        content[2] = (byte) 0xBF;
+        System.arraycopy(text, 0, content, 3, text.length);
+        assertEquals("SELECT a FROM tab", CCJSqlParserUtil.parse(write(content)).toString());
+    }
+
+    @Test
+    public void testParsePath() throws IOException, JSQLParserException {
+        Path path = write(TEXT.getBytes(StandardCharsets.UTF_8));
+        assertEquals(TEXT, CCJSqlParserUtil.parse(path).toString());
+    }
+
+    @Test
+    public void testStreamStatementsFromPath() throws IOException, JSQLParserException {
+        Path path = write(("SELECT * FROM dual;\n-- comment\nUPDATE tab SET a = '\u00f6';\n"
+                + "DELETE FROM tab").getBytes(StandardCharsets.UTF_8));
+        List<Statement> statements = new ArrayList<>();
+        CCJSqlParserUtil.streamStatements(path, StandardCharsets.UTF_8, statements::add);
+        assertEquals(3, statements.size());
+        assertEquals("UPDATE tab SET a = '\u00f6'", statements.get(1).toString());
+    }
+}
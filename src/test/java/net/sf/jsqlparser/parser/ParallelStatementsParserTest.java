@@ -0,0 +1,165 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.statement.Block;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.Statements;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class ParallelStatementsParserTest {
+
+    private static List<String> split(String sql) {
+        List<String> parts = new ArrayList<>();
+        StatementSplitter splitter = new StatementSplitter(sql);
+        while (splitter.next()) {
+            parts.add(sql.substring(splitter.getBegin(), splitter.getEnd()));
+        }
+        return parts;
+    }
+
+    @Test
+    public void testSplitAtSemicolons() {
+        List<String> parts = split("  SELECT 1 FROM a;\n;UPDATE b SET c = 1 ;  DELETE FROM d  ");
+        assertEquals(3, parts.size());
+        assertEquals("SELECT 1 FROM a", parts.get(0));
+        assertEquals("UPDATE b SET c = 1", parts.get(1));
+        assertEquals("DELETE FROM d", parts.get(2));
+    }
+
+    @Test
+    public void testSplitIgnoresQuotesAndComments() {
+        List<String> parts = split("SELECT 'a;b', 'c'';d', \"e;f\", `g;h` FROM t -- x;y\n"
+                + "WHERE /* ; */ a = 1; -- only a comment;\n/* and another; */ SELECT [a;b] FROM t");
+        assertEquals(2, parts.size());
+        assertEquals("SELECT 'a;b', 'c'';d', \"e;f\", `g;h` FROM t -- x;y\nWHERE /* ; */ a = 1", parts.get(0));
+        assertEquals("SELECT [a;b] FROM t", parts.get(1));
+    }
+
+    @Test
+    public void testSplitKeepsBlocks() {
+        List<String> parts = split("BEGIN\nSELECT CASE WHEN a = 1 THEN 2 END FROM t;\n"
+                + "begin UPDATE t SET a = 1; end;\nEND;SELECT 1 FROM dual");
+        assertEquals(2, parts.size());
+        assertTrue(parts.get(0).startsWith("BEGIN"));
+        assertTrue(parts.get(0).endsWith("END"));
+        assertEquals("SELECT 1 FROM dual", parts.get(1));
+    }
+
+    @Test
+    public void testParseStatementsInOrder() throws JSQLParserException {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sql.append("SELECT a").append(i).append(" FROM tab WHERE b = '").append(i).append(";'");
+            sql.append(i % 3 == 0 ? ";\n" : ";");
+        }
+        Statements expected = CCJSqlParserUtil.parseStatements(sql.toString());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Statements statements;
+        try {
+            statements = new ParallelStatementsParser(pool).withBatchSize(17).parseStatements(sql.toString());
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(200, statements.getStatements().size());
+        assertEquals(expected.toString(), statements.toString());
+    }
+
+    private static List<Integer> parameterIndexes(Statements statements) {
+        List<Integer> indexes = new ArrayList<>();
+        ExpressionVisitorAdapter visitor = new ExpressionVisitorAdapter() {
+            @Override
+            public void visit(JdbcParameter parameter) {
+                indexes.add(parameter.getIndex());
+            }
+        };
+        for (Statement statement : statements.getStatements()) {
+            Expression where = ((PlainSelect) ((Select) statement).getSelectBody()).getWhere();
+            if (where != null) {
+                where.accept(visitor);
+            }
+        }
+        return indexes;
+    }
+
+    @Test
+    public void testJdbcParametersAreNumberedThroughTheScript() throws JSQLParserException {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sql.append(i % 5 == 0 ? "SELECT 1 FROM dual;" : i % 7 == 0 ? "SELECT * FROM t WHERE a = ?2 AND b = ?;"
+                    : "SELECT * FROM t WHERE a = ?;");
+        }
+        Statements expected = CCJSqlParserUtil.parseStatements(sql.toString());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Statements statements;
+        try {
+            statements = new ParallelStatementsParser(pool).withBatchSize(1000).parseStatements(sql.toString());
+        } finally {
+            pool.shutdown();
+        }
+        List<Integer> indexes = parameterIndexes(expected);
+        assertEquals(Integer.valueOf(indexes.size()), indexes.get(indexes.size() - 1));
+        assertEquals(indexes, parameterIndexes(statements));
+        assertEquals(indexes, parameterIndexes(CCJSqlParserUtil.parseStatementsParallel(sql.toString())));
+    }
+
+    @Test
+    public void testParseBlock() throws JSQLParserException {
+        Statements statements = CCJSqlParserUtil.parseStatementsParallel(
+                "SELECT 1 FROM dual;BEGIN\nUPDATE t SET a = 1;\nUPDATE t SET b = 2;\nEND;");
+        assertEquals(2, statements.getStatements().size());
+        assertTrue(statements.getStatements().get(1) instanceof Block);
+    }
+
+    @Test
+    public void testListenerGetsOffsets() throws JSQLParserException {
+        String sql = "SELECT a FROM t; /* c */ UPDATE t SET a = 1 ;";
+        List<String> texts = new ArrayList<>();
+        CCJSqlParserUtil.streamStatementsParallel(sql, new StatementListener() {
+            @Override
+            public void accept(Statement statement) {
+                fail("offsets expected");
+            }
+
+            @Override
+            public void accept(Statement statement, int beginOffset, int endOffset) {
+                texts.add(sql.substring(beginOffset, endOffset));
+            }
+        });
+        assertEquals(2, texts.size());
+        assertEquals("SELECT a FROM t", texts.get(0));
+        assertEquals("UPDATE t SET a = 1", texts.get(1));
+    }
+
+    @Test
+    public void testErrorNamesOffset() {
+        List<Statement> parsed = new ArrayList<>();
+        try {
+            CCJSqlParserUtil.streamStatementsParallel("SELECT a FROM t;SELECT FROM;SELECT b FROM t",
+                    parsed::add);
+            fail("exception expected");
+        } catch (JSQLParserException ex) {
+            assertTrue(ex.getMessage().contains("offset 16"));
+        }
+        assertEquals(1, parsed.size());
+    }
+}
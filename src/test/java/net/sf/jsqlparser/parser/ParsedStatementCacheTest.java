@@ -0,0 +1,107 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.util.function.UnaryOperator;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class ParsedStatementCacheTest {
+
+    @Test
+    public void testHitsAndMisses() throws JSQLParserException {
+        ParsedStatementCache cache = new ParsedStatementCache(10);
+        assertEquals("SELECT * FROM tab1", cache.parse("select * from tab1").toString());
+        assertEquals("SELECT * FROM tab1", cache.parse("select * from tab1").toString());
+        assertEquals("SELECT * FROM tab2", cache.parse("select * from tab2").toString());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testModificationDoesNotChangeCache() throws JSQLParserException {
+        ParsedStatementCache cache = new ParsedStatementCache(10);
+        Statement first = cache.parse("select * from tab1");
+        ((PlainSelect) ((Select) first).getSelectBody()).setFromItem(new Table("other"));
+        Statement second = cache.parse("select * from tab1");
+        assertNotSame(first, second);
+        assertEquals("SELECT * FROM tab1", second.toString());
+    }
+
+    @Test
+    public void testSharedStatements() throws JSQLParserException {
+        ParsedStatementCache cache = new ParsedStatementCache(10, false, UnaryOperator.identity());
+        assertSame(cache.parse("select * from tab1"), cache.parse("select * from tab1"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() throws JSQLParserException {
+        ParsedStatementCache cache = new ParsedStatementCache(2);
+        cache.parse("select * from tab1");
+        cache.parse("select * from tab2");
+        cache.parse("select * from tab1");
+        cache.parse("select * from tab3");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.parse("select * from tab1");
+        assertEquals(2, cache.getHitCount());
+        cache.parse("select * from tab2");
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testNormalizedKeys() throws JSQLParserException {
+        ParsedStatementCache cache = new ParsedStatementCache(10, true);
+        cache.parse("select *   from tab1 where a = 'x'");
+        assertEquals("SELECT * FROM tab1 WHERE a = 'x'", cache.parse("SELECT *\n FROM TAB1 WHERE a = 'x'").toString());
+        assertEquals(1, cache.getHitCount());
+        assertEquals("SELECT * FROM tab1 WHERE a = 'X'", cache.parse("select * from tab1 where a = 'X'").toString());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testFailuresAreNotCached() {
+        ParsedStatementCache cache = new ParsedStatementCache(10);
+        try {
+            cache.parse("select * from tab1 WHATEVER!!");
+            fail("parse error expected");
+        } catch (JSQLParserException ex) {
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaximumSize() {
+        new ParsedStatementCache(0);
+    }
+
+    @Test
+    public void testNormalize() {
+        assertEquals("SELECT * FROM TAB WHERE A = 'a b' AND \"x  y\" = `z`",
+                ParsedStatementCache.normalize("  select *\n\tfrom tab where a = 'a b' and \"x  y\" = `z` "));
+        assertEquals("SELECT A -- comment\nFROM T", ParsedStatementCache.normalize("select a -- comment\nfrom t"));
+        assertNotEquals(ParsedStatementCache.normalize("select a -- x\nfrom t"),
+                ParsedStatementCache.normalize("select a -- x from t"));
+        assertEquals("SELECT /* a  b */ 'it''s' FROM T",
+                ParsedStatementCache.normalize("select /* a  b */ 'it''s' from t"));
+        assertEquals("SELECT 'a\\'b c'", ParsedStatementCache.normalize("select 'a\\'b c'"));
+    }
+}
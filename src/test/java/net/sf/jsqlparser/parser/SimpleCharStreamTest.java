@@ -0,0 +1,186 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import net.sf.jsqlparser.JSQLParserException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class SimpleCharStreamTest {
+
+    /**
+     * Returns the positions of all tokens as "image:beginLine:beginColumn:endLine:endColumn".
+     */
+    private static List<String> positions(SimpleCharStream stream) {
+        return positions(new CCJSqlParserTokenManager(stream));
+    }
+
+    private static List<String> positions(CCJSqlParserTokenManager tokenManager) {
+        List<String> positions = new ArrayList<>();
+        for (Token token = tokenManager.getNextToken(); token.kind != CCJSqlParserConstants.EOF;
+                token = tokenManager.getNextToken()) {
+            positions.add(token.image + ":" + token.beginLine + ":" + token.beginColumn + ":"
+                    + token.endLine + ":" + token.endColumn);
+        }
+        return positions;
+    }
+
+    private static List<String> positions(String sql) {
+        return positions(new SimpleCharStream(new StringProvider(sql)));
+    }
+
+    @Test
+    public void testSingleLine() {
+        List<String> positions = positions("SELECT a  FROM tab");
+        assertEquals("[SELECT:1:1:1:6, a:1:8:1:8, FROM:1:11:1:14, tab:1:16:1:18]", positions.toString());
+    }
+
+    @Test
+    public void testLineBreaks() {
+        List<String> positions = positions("SELECT\na\r\nFROM\rtab\n\n  x");
+        assertEquals("[SELECT:1:1:1:6, a:2:1:2:1, FROM:3:1:3:4, tab:4:1:4:3, x:6:3:6:3]",
+                positions.toString());
+    }
+
+    @Test
+    public void testMultiLineToken() {
+        List<String> positions = positions("SELECT 'a\r\nb\nc' FROM\n tab");
+        assertEquals("[SELECT:1:1:1:6, 'a\r\nb\nc':1:8:3:2, FROM:3:4:3:7, tab:4:2:4:4]",
+                positions.toString());
+    }
+
+    @Test
+    public void testStartLineAndColumn() {
+        List<String> positions = positions(new SimpleCharStream(new StringProvider("SELECT a\n b"), 5, 10));
+        assertEquals("[SELECT:5:10:5:15, a:5:17:5:17, b:6:2:6:2]", positions.toString());
+    }
+
+    @Test
+    public void testTabSize() {
+        SimpleCharStream stream = new SimpleCharStream(new StringProvider("\tSELECT\t\ta\n x\tb"));
+        stream.setTabSize(4);
+        assertEquals("[SELECT:1:5:1:10, a:1:17:1:17, x:2:2:2:2, b:2:5:2:5]", positions(stream).toString());
+    }
+
+    @Test
+    public void testReInit() {
+        SimpleCharStream stream = new SimpleCharStream(new StringProvider("SELECT\n\n\na"));
+        assertEquals("[SELECT:1:1:1:6, a:4:1:4:1]", positions(stream).toString());
+        stream.ReInit(new StringProvider("b\nc"));
+        assertEquals("[b:1:1:1:1, c:2:1:2:1]", positions(stream).toString());
+    }
+
+    @Test
+    public void testLongInput() {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sql.append("SELECT a").append(i).append("\n");
+        }
+        List<String> positions = positions(new SimpleCharStream(new StreamProvider(
+                new StringReader(sql.toString()))));
+        assertEquals(10000, positions.size());
+        assertEquals("SELECT:4000:1:4000:6", positions.get(7998));
+        assertEquals("a3999:4000:8:4000:12", positions.get(7999));
+    }
+
+    @Test
+    public void testPositionsBeyondIntegerRange() {
+        SimpleCharStream stream = new SimpleCharStream(new StringProvider("\nSELECT\n a\n\tb"));
+        stream.setTabSize(4);
+        stream.totalCharsRead = Integer.MAX_VALUE - 3;
+        assertEquals("[SELECT:2:1:2:6, a:3:2:3:2, b:4:5:4:5]", positions(stream).toString());
+    }
+
+    @Test
+    public void testReleaseBufferAfterLongToken() {
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            literal.append("0123456789");
+        }
+        SimpleCharStream stream = new SimpleCharStream(new StreamProvider(
+                new StringReader("SELECT\n'" + literal + "'\n\ta\r\n\tb c")));
+        stream.setTabSize(4);
+        CCJSqlParserTokenManager tokenManager = new CCJSqlParserTokenManager(stream);
+        tokenManager.getNextToken();
+        assertEquals(literal.length() + 2, tokenManager.getNextToken().image.length());
+        assertTrue(stream.bufsize > literal.length());
+
+        Token a = tokenManager.getNextToken();
+        assertEquals("a:3:5:3:5", a.image + ":" + a.beginLine + ":" + a.beginColumn + ":" + a.endLine + ":"
+                + a.endColumn);
+        stream.releaseBuffer();
+        assertEquals(4096, stream.bufsize);
+        assertEquals("[b:4:5:4:5, c:4:7:4:7]", positions(tokenManager).toString());
+    }
+
+    @Test
+    public void testImagesOfShortTokensAreShared() {
+        String longName = "a_very_long_identifier_of_more_than_32_characters";
+        CCJSqlParserTokenManager tokenManager = new CCJSqlParserTokenManager(new SimpleCharStream(new StreamProvider(
+                new StringReader("SELECT a, b FROM tab;select b, " + longName + " FROM tab, " + longName))));
+        List<Token> tokens = new ArrayList<>();
+        for (Token token = tokenManager.getNextToken(); token.kind != CCJSqlParserConstants.EOF;
+                token = tokenManager.getNextToken()) {
+            tokens.add(token);
+        }
+        assertEquals("SELECT", tokens.get(0).image);
+        assertEquals("select", tokens.get(7).image);
+        assertSame(tokens.get(3).image, tokens.get(8).image);
+        assertSame(tokens.get(4).image, tokens.get(11).image);
+        assertSame(tokens.get(5).image, tokens.get(12).image);
+        assertEquals(longName, tokens.get(10).image);
+        assertEquals(longName, tokens.get(14).image);
+    }
+
+    @Test
+    public void testEndOfInputIsSignalledWithOneExceptionPerStream() throws IOException {
+        SimpleCharStream stream = new SimpleCharStream(new StringProvider("a"));
+        assertEquals('a', stream.BeginToken());
+        IOException first = null;
+        for (int i = 0; i < 3; i++) {
+            try {
+                stream.readChar();
+                fail("end of input expected");
+            } catch (IOException ex) {
+                if (first == null) {
+                    first = ex;
+                }
+                assertSame(first, ex);
+                assertEquals(0, ex.getStackTrace().length);
+            }
+        }
+
+        SimpleCharStream other = new SimpleCharStream(new StreamProvider(new StringReader("")));
+        try {
+            other.BeginToken();
+            fail("end of input expected");
+        } catch (IOException ex) {
+            assertNotSame(first, ex);
+        }
+    }
+
+    @Test
+    public void testParseExceptionPosition() {
+        try {
+            CCJSqlParserUtil.parse("SELECT a\r\nFROM tab\n  WHERE WHERE");
+            fail("exception expected");
+        } catch (JSQLParserException ex) {
+            assertTrue(ex.getCause().getMessage(), ex.getCause().getMessage().contains("line 3, column 9"));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import org.junit.Test;
+
+public class SqlTokenizerTest {
+
+    private static final String SQL = "/* head */ SELECT a.\"b c\", `d`, [e f], 'g''h\ni', 1.5e3, :p, ? -- x\n"
+            + "FROM tab t -- y\n/* z */ WHERE t.x >= 10 AND t.y <> 'a' || 'b';\nSELECT [1] FROM u";
+
+    /**
+     * Kinds and images of the tokens and comments given by the token manager of the parser.
+     */
+    private static List<String> expectedTokens(String sql, boolean allowSquareBracketQuotation) {
+        CCJSqlParserTokenManager tokenManager = new CCJSqlParserTokenManager(
+                new SimpleCharStream(new StringProvider(sql)));
+        tokenManager.allowSquareBracketQuotation = allowSquareBracketQuotation;
+        List<String> tokens = new ArrayList<>();
+        for (Token token = tokenManager.getNextToken(); ; token = tokenManager.getNextToken()) {
+            Token special = token.specialToken;
+            while (special != null && special.specialToken != null) {
+                special = special.specialToken;
+            }
+            for (; special != null; special = special.next) {
+                tokens.add(special.kind + ":" + special.image);
+            }
+            if (token.kind == CCJSqlParserConstants.EOF) {
+                return tokens;
+            }
+            tokens.add(token.kind + ":" + token.image);
+        }
+    }
+
+    private static List<String> tokens(String sql, SqlTokenizer tokenizer) {
+        List<String> tokens = new ArrayList<>();
+        while (tokenizer.next()) {
+            tokens.add(tokenizer.getKind() + ":" + sql.substring(tokenizer.getBegin(), tokenizer.getEnd()));
+        }
+        assertFalse(tokenizer.next());
+        return tokens;
+    }
+
+    @Test
+    public void testTokensOfTokenManager() {
+        assertEquals(expectedTokens(SQL, false), tokens(SQL, new SqlTokenizer(SQL)));
+    }
+
+    @Test
+    public void testSquareBracketQuotation() {
+        List<String> tokens = tokens(SQL, new SqlTokenizer(SQL).withSquareBracketQuotation(true));
+        assertEquals(expectedTokens(SQL, true), tokens);
+        assertEquals(CCJSqlParserConstants.S_QUOTED_IDENTIFIER + ":[e f]", tokens.get(8));
+        assertEquals(CCJSqlParserConstants.S_CHAR_LITERAL + ":'g''h\ni'", tokens.get(10));
+    }
+
+    @Test
+    public void testKeywordSpellingsAndTimeZones() {
+        String sql = "sel Time day current_date() TIMESTAMP (3) without\ttime zone date WITH TIME ZONEs "
+                + "timestamp with time zon";
+        List<String> tokens = expectedTokens(sql, false);
+        assertEquals("[" + CCJSqlParserConstants.K_SELECT + ":sel, "
+                + CCJSqlParserConstants.K_DATETIMELITERAL + ":Time, "
+                + CCJSqlParserConstants.K_DATE_LITERAL + ":day, "
+                + CCJSqlParserConstants.K_TIME_KEY_EXPR + ":current_date(), "
+                + CCJSqlParserConstants.DT_ZONE + ":TIMESTAMP (3) without\ttime zone, "
+                + CCJSqlParserConstants.DT_ZONE + ":date WITH TIME ZONE, "
+                + CCJSqlParserConstants.S_IDENTIFIER + ":s, "
+                + CCJSqlParserConstants.K_DATETIMELITERAL + ":timestamp, "
+                + CCJSqlParserConstants.K_WITH + ":with, "
+                + CCJSqlParserConstants.K_DATETIMELITERAL + ":time, "
+                + CCJSqlParserConstants.S_IDENTIFIER + ":zon]", tokens.toString());
+        assertEquals(tokens, tokens(sql, new SqlTokenizer(sql)));
+    }
+
+    @Test
+    public void testComments() {
+        String sql = "-- only\n/* comments */";
+        assertEquals("[" + CCJSqlParserConstants.LINE_COMMENT + ":-- only, "
+                + CCJSqlParserConstants.MULTI_LINE_COMMENT + ":/* comments */]",
+                tokens(sql, new SqlTokenizer(sql)).toString());
+    }
+
+    @Test
+    public void testRead() {
+        int[] all = SqlTokenizer.tokenize(SQL);
+        assertEquals(3 * expectedTokens(SQL, false).size(), all.length);
+
+        SqlTokenizer tokenizer = new SqlTokenizer(SQL);
+        int[] buffer = new int[7];
+        List<Integer> read = new ArrayList<>();
+        int count;
+        while ((count = tokenizer.read(buffer)) > 0) {
+            for (int i = 0; i < 3 * count; i++) {
+                read.add(buffer[i]);
+            }
+        }
+        int[] readArray = new int[read.size()];
+        for (int i = 0; i < readArray.length; i++) {
+            readArray[i] = read.get(i);
+        }
+        assertArrayEquals(all, readArray);
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, SqlTokenizer.tokenize("  \n ").length);
+        assertFalse(new SqlTokenizer("").next());
+    }
+}
@@ -0,0 +1,110 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.parser;
+
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.StatementClassifier.Classification;
+import net.sf.jsqlparser.parser.StatementClassifier.Type;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class StatementClassifierTest {
+
+    private static final String[] STATEMENTS = {
+        "SELECT * FROM tab",
+        "select a, b from sch.tab t where a = 1",
+        "SELECT * FROM db..tab",
+        "SELECT * FROM \"My Schema\".\"My Table\"",
+        "SELECT * FROM `tab`",
+        "SELECT 1",
+        "SELECT (SELECT max(x) FROM other) FROM tab",
+        "SELECT * FROM (SELECT * FROM inner_tab) t",
+        "SELECT * FROM a JOIN b ON a.id = b.id",
+        "SELECT * FROM tab WHERE 'FROM x' = a -- FROM y\n",
+        "SELECT * FROM /* FROM x */ tab",
+        "SELECT * FROM tab FOR UPDATE",
+        "SELECT * FROM tab WHERE a IN (SELECT b FROM c) FOR UPDATE WAIT 5",
+        "SELECT * FROM tab FOR UPDATE OF a",
+        "SELECT * FROM tab FOR XML PATH('')",
+        "SELECT * FROM a UNION SELECT * FROM b FOR UPDATE",
+        "(SELECT * FROM a) UNION (SELECT * FROM b)",
+        "((SELECT * FROM a))",
+        "WITH t AS (SELECT * FROM a) SELECT * FROM t",
+        "WITH t (x) AS (SELECT x FROM a), u AS (SELECT 1) SELECT * FROM u, t",
+        "WITH t AS (SELECT * FROM a) (SELECT * FROM t)",
+        "SELECT * FROM func(1)",
+        "INSERT INTO tab (a, b) VALUES (1, 2)",
+        "INSERT tab VALUES (1)",
+        "INSERT LOW_PRIORITY IGNORE INTO sch.tab SELECT * FROM other",
+        "UPDATE tab SET a = 1 WHERE b = 2",
+        "UPDATE sch.tab t SET t.a = (SELECT 1 FROM x)",
+        "DELETE FROM tab WHERE a = 1",
+        "DELETE tab FROM tab JOIN other ON tab.id = other.id",
+        "DELETE t1, t2 FROM t1 INNER JOIN t2 WHERE t1.id = t2.id",
+        "MERGE INTO tab USING other ON (tab.id = other.id) WHEN MATCHED THEN UPDATE SET a = 1",
+        "UPSERT INTO tab (a) VALUES (1)",
+        "REPLACE INTO tab (a) VALUES (1)",
+        "REPLACE tab SET a = 1",
+        "CREATE TABLE tab (a int, b varchar(10))",
+        "CREATE TABLE IF NOT EXISTS sch.tab (a int)",
+        "CREATE TEMPORARY TABLE tab (a int)",
+        "CREATE INDEX idx ON tab (a)",
+        "CREATE UNIQUE INDEX idx ON sch.tab (a, b)",
+        "CREATE VIEW v AS SELECT * FROM tab",
+        "CREATE OR REPLACE VIEW v AS SELECT * FROM tab",
+        "ALTER TABLE tab ADD COLUMN c int",
+        "ALTER VIEW v AS SELECT * FROM tab",
+        "DROP TABLE tab",
+        "DROP TABLE IF EXISTS sch.tab",
+        "DROP INDEX idx",
+        "DROP VIEW v",
+        "TRUNCATE TABLE tab",
+        "COMMIT",
+        "SET a = 1",
+        "USE db",
+        "EXECUTE proc",
+        "DESCRIBE tab"};
+
+    @Test
+    public void testConsistentWithParser() throws JSQLParserException {
+        for (String sql : STATEMENTS) {
+            assertEquals(sql, StatementClassifier.classify(CCJSqlParserUtil.parse(sql)),
+                    StatementClassifier.classify(sql));
+        }
+    }
+
+    @Test
+    public void testClassification() {
+        Classification classification = StatementClassifier.classify("select * from Sch.\"Tab\" for update;");
+        assertEquals(Type.SELECT, classification.getType());
+        assertEquals("Sch.\"Tab\"", classification.getTable().getFullyQualifiedName());
+        assertTrue(classification.isForUpdate());
+
+        classification = StatementClassifier.classify("SELECT * FROM a; DELETE FROM b");
+        assertEquals(Type.SELECT, classification.getType());
+        assertEquals("a", classification.getTable().getName());
+        assertFalse(classification.isForUpdate());
+
+        assertEquals(Type.INSERT, StatementClassifier.classify(" /* c */ insert into t values (1)").getType());
+        assertEquals(Type.DDL, StatementClassifier.classify("drop table t").getType());
+        assertEquals(Type.TRANSACTION, StatementClassifier.classify("commit").getType());
+    }
+
+    @Test
+    public void testEmptyAndUnknown() {
+        Classification classification = StatementClassifier.classify("  -- nothing\n");
+        assertEquals(Type.OTHER, classification.getType());
+        assertNull(classification.getTable());
+        assertEquals(Type.OTHER, StatementClassifier.classify("GRANT ALL ON tab TO x").getType());
+    }
+}
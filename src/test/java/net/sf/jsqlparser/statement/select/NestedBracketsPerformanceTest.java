@@ -10,8 +10,10 @@
 package net.sf.jsqlparser.statement.select;
 
 import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CountingParser;
 import static net.sf.jsqlparser.test.TestUtils.assertSqlCanBeParsedAndDeparsed;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -32,6 +34,25 @@ public class NestedBracketsPerformanceTest {
         assertSqlCanBeParsedAndDeparsed("SELECT concat(concat(concat('1', '2'), '3'), '4'), col1 FROM tbl t1");
     }
 
+    @Test
+    public void testFunctionsInBrackets() throws JSQLParserException {
+        assertSqlCanBeParsedAndDeparsed("SELECT f((g(1))), f((g(1) + 1), (2)) FROM tbl WHERE a.b = c.d(+)");
+    }
+
+    @Test
+    public void testNestedCaseConditions() throws JSQLParserException {
+        assertSqlCanBeParsedAndDeparsed("SELECT CASE WHEN CASE WHEN a IN (1, 2) THEN b LIKE 'x' END THEN 0 END FROM tbl");
+    }
+
+    @Test
+    public void testBracketedConditions() throws JSQLParserException {
+        assertSqlCanBeParsedAndDeparsed("SELECT * FROM tbl WHERE NOT (a = 1) AND (b = 2 OR (c = 3)) OR ! (d = 4)");
+        assertSqlCanBeParsedAndDeparsed("SELECT * FROM tbl WHERE (a) = 1 AND (a + b) * c = d AND (b) BETWEEN 1 AND 2");
+        assertSqlCanBeParsedAndDeparsed("SELECT * FROM tbl WHERE (SELECT x FROM u) = 1 AND ((SELECT y FROM v)) > 2");
+        assertSqlCanBeParsedAndDeparsed("SELECT * FROM tbl WHERE (a IN (1, 2)) AND (b, c) = (1, 2) AND ((1)) = 1");
+        assertSqlCanBeParsedAndDeparsed("SELECT CASE WHEN (a = 1) THEN (1) ELSE (2) END FROM tbl");
+    }
+
     @Test
     public void testIssue235() throws JSQLParserException {
         assertSqlCanBeParsedAndDeparsed("SELECT CASE WHEN ( CASE WHEN ( CASE WHEN ( CASE WHEN ( 1 ) THEN 0 END ) THEN 0 END ) THEN 0 END ) THEN 0 END FROM a", true);
@@ -72,6 +93,39 @@ public class NestedBracketsPerformanceTest {
         }
     }
 
+    /**
+     * Quadrupling the nesting depth must not more than quadruple the work of the parser, including
+     * its lookahead. The work is measured by the abort checks of the parser, which are done for
+     * every primary expression and operand of AND it parses or scans, so the test does not depend
+     * on the speed of the machine. A parse, which scans the nested levels again for every level,
+     * would do about 16 times the work.
+     *
+     * @throws JSQLParserException
+     */
+    @Test
+    public void testParseWorkIsLinearInNestingDepth() throws JSQLParserException {
+        String[] expressions = {"concat($1,'B')", "isNull(charLen(a,0)+ $1)", "CAST($1 AS int)", "f(($1))",
+            "CASE WHEN $1 THEN 0 END", "(1 + $1)", "CASE WHEN ($1) THEN 0 END"};
+        for (String template : expressions) {
+            assertParseWorkIsLinear("SELECT $1 FROM mytbl", template, "1");
+        }
+        String[] conditions = {"(a = 1 AND $1)", "a IN (SELECT b FROM u WHERE $1)", "CASE WHEN $1 THEN 1 END = 1",
+            "(a = 1 OR ($1))", "NOT ($1)", "(($1) AND b = 2)"};
+        for (String template : conditions) {
+            assertParseWorkIsLinear("SELECT * FROM mytbl WHERE $1", template, "a = 1");
+        }
+    }
+
+    private void assertParseWorkIsLinear(String sql, String template, String finalExpression)
+            throws JSQLParserException {
+        long shallow = CountingParser.countChecks(
+                sql.replace("$1", buildRecursiveBracketExpression(template, finalExpression, 50)));
+        long deep = CountingParser.countChecks(
+                sql.replace("$1", buildRecursiveBracketExpression(template, finalExpression, 200)));
+        assertTrue("parse work of " + template + " grew from " + shallow + " to " + deep + " checks",
+                deep <= 4 * shallow);
+    }
+
     @Test
     public void testRecursiveBracketExpression() {
         assertEquals("concat('A','B')", buildRecursiveBracketExpression("concat($1,'B')", "'A'", 0));
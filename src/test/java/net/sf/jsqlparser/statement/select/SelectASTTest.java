@@ -16,9 +16,12 @@ import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.parser.SimpleNode;
 import net.sf.jsqlparser.parser.Token;
 import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.Statements;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import org.junit.Test;
 
 /**
@@ -179,4 +182,25 @@ public class SelectASTTest {
         assertEquals(30, subSelectStart.beginColumn);
         assertEquals(49, subSelectEnd.endColumn);
     }
+
+    @Test
+    public void testSelectWithoutASTNodes() throws JSQLParserException {
+        String sql = "SELECT a, b FROM mytable WHERE 0 < (SELECT count(*) FROM mytable2) ORDER BY b, c";
+        Statement stmt = CCJSqlParserUtil.parse(sql, parser -> parser.withAstNodes(false));
+        assertEquals(sql, stmt.toString());
+        PlainSelect ps = (PlainSelect) ((Select) stmt).getSelectBody();
+        for (SelectItem item : ps.getSelectItems()) {
+            assertNull(((Column) ((SelectExpressionItem) item).getExpression()).getASTNode());
+        }
+        assertNull(((Table) ps.getFromItem()).getASTNode());
+        assertNull(ps.getASTNode());
+    }
+
+    @Test
+    public void testStatementsWithoutASTNodes() throws JSQLParserException {
+        Statements stmts = CCJSqlParserUtil.parseStatements("select a from b; select c from d",
+                parser -> parser.withAstNodes(false));
+        assertEquals("SELECT a FROM b;\nSELECT c FROM d;\n", stmts.toString());
+        assertNull(((PlainSelect) ((Select) stmts.getStatements().get(1)).getSelectBody()).getASTNode());
+    }
 }
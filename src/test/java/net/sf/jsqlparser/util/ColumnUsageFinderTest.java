@@ -0,0 +1,135 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.util;
+
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.util.ColumnUsageFinder.ColumnUsage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ColumnUsageFinderTest {
+
+    private final ColumnUsageFinder finder = new ColumnUsageFinder();
+
+    private void assertUsages(String sql, String usages) throws JSQLParserException {
+        finder.find(CCJSqlParserUtil.parse(sql));
+        assertEquals(usages, finder.getColumnUsages().toString());
+    }
+
+    @Test
+    public void testClauses() throws JSQLParserException {
+        assertUsages("SELECT a.x, y FROM s.a JOIN b ON a.id = b.id WHERE b.z > 0 GROUP BY a.x, b.y "
+                + "HAVING count(b.w) > 1 ORDER BY a.x",
+                "[s.a.id JOIN, b.id JOIN, s.a.x SELECT, y SELECT, b.z WHERE, s.a.x GROUP_BY, b.y GROUP_BY, "
+                + "b.w HAVING, s.a.x ORDER_BY]");
+    }
+
+    @Test
+    public void testUnqualifiedColumnOfSingleTable() throws JSQLParserException {
+        assertUsages("SELECT x FROM a WHERE y = 1", "[a.x SELECT, a.y WHERE]");
+    }
+
+    @Test
+    public void testAliases() throws JSQLParserException {
+        assertUsages("SELECT T1.x, t2.y FROM a t1, b AS t2 WHERE t1.z = t2.z",
+                "[a.x SELECT, b.y SELECT, a.z WHERE, b.z WHERE]");
+    }
+
+    @Test
+    public void testSubSelect() throws JSQLParserException {
+        assertUsages("SELECT d.v, d.w, d.c FROM (SELECT x AS v, a.y AS w, count(*) AS c FROM a) d",
+                "[a.x SELECT, a.y SELECT, a.x SELECT, a.y SELECT, c SELECT]");
+    }
+
+    @Test
+    public void testUnqualifiedColumnOfDerivedTable() throws JSQLParserException {
+        assertUsages("SELECT v FROM (SELECT x AS v FROM a) d, (SELECT y FROM b) e",
+                "[a.x SELECT, b.y SELECT, a.x SELECT]");
+    }
+
+    @Test
+    public void testWithItem() throws JSQLParserException {
+        assertUsages("WITH w (k) AS (SELECT x FROM a) SELECT w.k, k FROM w JOIN b ON w.k = b.k",
+                "[a.x SELECT, a.x JOIN, b.k JOIN, a.x SELECT, k SELECT]");
+    }
+
+    @Test
+    public void testWithItemsAreScopedToTheirSelect() throws JSQLParserException {
+        assertUsages("SELECT * FROM (WITH a AS (SELECT 1 AS y) SELECT * FROM a) q, a WHERE a.x = 1",
+                "[a.* SELECT, a.x WHERE]");
+    }
+
+    @Test
+    public void testCorrelatedSubSelect() throws JSQLParserException {
+        assertUsages("SELECT x FROM a WHERE EXISTS (SELECT 1 FROM b WHERE b.id = a.id)",
+                "[a.x SELECT, b.id WHERE, a.id WHERE]");
+    }
+
+    @Test
+    public void testAllColumns() throws JSQLParserException {
+        assertUsages("SELECT *, b.* FROM a, b", "[a.* SELECT, b.* SELECT, b.* SELECT]");
+        assertNull(finder.getColumnUsages().get(0).getColumn());
+        assertUsages("SELECT d.x FROM (SELECT * FROM a) d", "[a.* SELECT, a.x SELECT]");
+    }
+
+    @Test
+    public void testSelectItemAliasInOrderBy() throws JSQLParserException {
+        assertUsages("SELECT x + 1 AS v, y AS w FROM a ORDER BY v, w",
+                "[a.x SELECT, a.y SELECT, a.y ORDER_BY]");
+    }
+
+    @Test
+    public void testSetOperation() throws JSQLParserException {
+        assertUsages("(SELECT x FROM a) UNION (SELECT y FROM b) ORDER BY x", "[a.x SELECT, b.y SELECT, a.x ORDER_BY]");
+    }
+
+    @Test
+    public void testUpdate() throws JSQLParserException {
+        assertUsages("UPDATE a SET x = y + 1 WHERE id = 2", "[a.x SET written, a.y SET, a.id WHERE]");
+        ColumnUsage usage = finder.getColumnUsages().get(0);
+        assertTrue(usage.isWritten());
+        assertEquals("x", usage.getColumn().getColumnName());
+        assertUsages("UPDATE a t1 JOIN b t2 ON t1.id = t2.id SET t2.x = t1.x",
+                "[a.id JOIN, b.id JOIN, b.x SET written, a.x SET]");
+    }
+
+    @Test
+    public void testInsert() throws JSQLParserException {
+        assertUsages("INSERT INTO a (x, y) SELECT b.x, y FROM b ON DUPLICATE KEY UPDATE y = 1",
+                "[a.x INSERT written, a.y INSERT written, b.x SELECT, b.y SELECT, a.y SET written]");
+    }
+
+    @Test
+    public void testDeleteAndMerge() throws JSQLParserException {
+        assertUsages("DELETE FROM a WHERE x = 1", "[a.x WHERE]");
+        assertUsages("MERGE INTO a USING b s ON (a.id = s.id) WHEN MATCHED THEN UPDATE SET a.x = s.x "
+                + "WHEN NOT MATCHED THEN INSERT (id, x) VALUES (s.id, s.x)",
+                "[a.id JOIN, b.id JOIN, a.x SET written, b.x SET, a.id INSERT written, a.x INSERT written, "
+                + "b.id INSERT, b.x INSERT]");
+    }
+
+    @Test
+    public void testAmbiguousColumn() throws JSQLParserException {
+        assertUsages("SELECT x FROM a, b", "[x SELECT]");
+        assertNull(finder.getColumnUsages().get(0).getTable());
+    }
+
+    @Test
+    public void testStatementsAndReuse() throws JSQLParserException {
+        finder.find(CCJSqlParserUtil.parseStatements("SELECT x FROM a; CREATE VIEW v AS SELECT y FROM b"));
+        assertEquals("[a.x SELECT, b.y SELECT]", finder.getColumnUsages().toString());
+        assertSame(finder.getColumnUsages(), finder.find(CCJSqlParserUtil.parse("DROP TABLE a")).getColumnUsages());
+        assertTrue(finder.getColumnUsages().isEmpty());
+    }
+}
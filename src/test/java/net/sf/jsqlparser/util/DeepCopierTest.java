@@ -0,0 +1,217 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.DateValue;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.parser.Node;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.Statements;
+import net.sf.jsqlparser.statement.select.Limit;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SubSelect;
+import net.sf.jsqlparser.statement.simpleparsing.CCJSqlParserManagerTest;
+import net.sf.jsqlparser.util.cnfexpression.MultiAndExpression;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+public class DeepCopierTest {
+
+    /**
+     * Copies the statement using the {@link DeepCopier} and checks, that the copy has the same
+     * content and shares no mutable object with the original.
+     */
+    private static void assertDeepCopy(Statement parsed) {
+        Statement copy = new DeepCopier().copyStatement(parsed);
+        assertEquals(parsed.toString(), copy.toString());
+        assertDeepCopyEquals(parsed, copy, parsed.getClass().getSimpleName());
+    }
+
+    /**
+     * Compares all fields of both object graphs. Immutable values have to be equal, all other
+     * objects have to be equal copies, but must not be the same instance. The jjtree nodes are
+     * not part of a copy.
+     */
+    private static void assertDeepCopyEquals(Object original, Object copy, String path) {
+        if (original == null) {
+            assertNull(path, copy);
+            return;
+        }
+        assertNotNull(path, copy);
+        if (original instanceof List) {
+            // the list implementation may differ, e.g. Arrays.asList is copied to an ArrayList
+            assertNotSame(path, original, copy);
+            List<?> originalList = (List<?>) original;
+            List<?> copyList = (List<?>) copy;
+            assertEquals(path, originalList.size(), copyList.size());
+            for (int i = 0; i < originalList.size(); i++) {
+                assertDeepCopyEquals(originalList.get(i), copyList.get(i), path + "[" + i + "]");
+            }
+            return;
+        }
+        assertEquals(path, original.getClass(), copy.getClass());
+        if (original instanceof String || original instanceof Number || original instanceof Boolean
+                || original instanceof Character || original instanceof Enum) {
+            assertEquals(path, original, copy);
+        } else if (original instanceof java.util.Date) {
+            assertNotSame(path, original, copy);
+            assertEquals(path, original, copy);
+        } else {
+            assertNotSame(path, original, copy);
+            for (Class<?> type = original.getClass(); type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()
+                            || Node.class.isAssignableFrom(field.getType())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    try {
+                        assertDeepCopyEquals(field.get(original), field.get(copy), path + "." + field.getName());
+                    } catch (IllegalAccessException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCopyIsIndependentOfTemplate() throws JSQLParserException {
+        Select template = (Select) CCJSqlParserUtil.parse("SELECT a, b FROM tab1 t WHERE t.a = ?");
+        Select copy = new DeepCopier().copyStatement(template);
+
+        PlainSelect plainSelect = (PlainSelect) copy.getSelectBody();
+        EqualsTo tenant = new EqualsTo();
+        tenant.setLeftExpression(new Column(new Table("t"), "tenant"));
+        tenant.setRightExpression(new LongValue(42));
+        plainSelect.setWhere(new AndExpression(plainSelect.getWhere(), tenant));
+        Limit limit = new Limit();
+        limit.setRowCount(new LongValue(10));
+        plainSelect.setLimit(limit);
+        ((Table) plainSelect.getFromItem()).setName("tab2");
+
+        assertEquals("SELECT a, b FROM tab1 t WHERE t.a = ?", template.toString());
+        assertEquals("SELECT a, b FROM tab2 t WHERE t.a = ? AND t.tenant = 42 LIMIT 10", copy.toString());
+    }
+
+    @Test
+    public void testCopyHasNoASTNodes() throws JSQLParserException {
+        Select select = (Select) CCJSqlParserUtil.parse("SELECT a FROM tab1");
+        assertNotNull(((PlainSelect) select.getSelectBody()).getASTNode());
+        Select copy = new DeepCopier().copyStatement(select);
+        assertNull(((PlainSelect) copy.getSelectBody()).getASTNode());
+    }
+
+    @Test
+    public void testCopyExpression() throws JSQLParserException {
+        Expression expression = CCJSqlParserUtil.parseCondExpression(
+                "a IN (1, 2) AND b BETWEEN {d '2019-01-01'} AND ? OR EXISTS (SELECT 1 FROM t WHERE c LIKE 'x%')");
+        Expression copy = new DeepCopier().copyExpression(expression);
+        assertEquals(expression.toString(), copy.toString());
+        assertDeepCopyEquals(expression, copy, "expression");
+    }
+
+    @Test
+    public void testCopyDateValue() {
+        DateValue date = new DateValue("'2019-01-01'");
+        DateValue copy = new DeepCopier().copyExpression(date);
+        assertNotSame(date.getValue(), copy.getValue());
+        assertEquals(date.getValue(), copy.getValue());
+    }
+
+    @Test
+    public void testCopyMultipleExpression() {
+        MultiAndExpression and = new MultiAndExpression(Arrays.<Expression>asList(
+                new Column("a"), new Column("b")));
+        MultiAndExpression copy = new DeepCopier().copyExpression(and);
+        assertEquals(and.toString(), copy.toString());
+        assertNotSame(and.getChild(0), copy.getChild(0));
+    }
+
+    @Test
+    public void testCopySubSelectAsFromItem() throws JSQLParserException {
+        Select select = (Select) CCJSqlParserUtil.parse("SELECT * FROM (SELECT a FROM tab1) x");
+        SubSelect subSelect = (SubSelect) ((PlainSelect) select.getSelectBody()).getFromItem();
+        SubSelect copy = new DeepCopier().copyFromItem(subSelect);
+        assertEquals("(SELECT a FROM tab1) x", copy.toString());
+        assertDeepCopyEquals(subSelect, copy, "subSelect");
+    }
+
+    @Test
+    public void testCopyStatements() throws JSQLParserException {
+        Statements statements = CCJSqlParserUtil.parseStatements(
+                "INSERT INTO tab1 (a, b) VALUES (1, 'x');UPDATE tab1 SET a = 2 WHERE b = 'x';DELETE FROM tab1");
+        Statements copy = new DeepCopier().copyStatements(statements);
+        assertEquals(statements.toString(), copy.toString());
+        for (int i = 0; i < statements.getStatements().size(); i++) {
+            Statement statement = statements.getStatements().get(i);
+            assertDeepCopyEquals(statement, copy.getStatements().get(i), "statement" + i);
+        }
+    }
+
+    /**
+     * Copies every statement of simple_parsing.txt and of the oracle-tests, which the parser
+     * accepts, and compares the copies field by field.
+     */
+    @Test
+    public void testCopyCorpus() throws Exception {
+        int copied = 0;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                DeepCopierTest.class.getResourceAsStream("/simple_parsing.txt"), StandardCharsets.UTF_8))) {
+            String sql;
+            while ((sql = CCJSqlParserManagerTest.getStatement(in)) != null) {
+                assertDeepCopy(CCJSqlParserUtil.parse(sql));
+                copied++;
+            }
+        }
+
+        File oracleTests = new File("target/test-classes/net/sf/jsqlparser/statement/oracle-tests");
+        for (File file : oracleTests.listFiles()) {
+            if (file.isFile()) {
+                copied += copyIfParsed(FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+            }
+        }
+        assertTrue("copied " + copied, copied > 200);
+    }
+
+    private static int copyIfParsed(String sql) throws IOException {
+        Statement statement;
+        try {
+            statement = CCJSqlParserUtil.parse(sql);
+        } catch (JSQLParserException ex) {
+            // the oracle-tests contain statements the parser does not support yet
+            return 0;
+        }
+        assertDeepCopy(statement);
+        return 1;
+    }
+}
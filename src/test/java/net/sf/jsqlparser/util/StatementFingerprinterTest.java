@@ -0,0 +1,101 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.util;
+
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import org.junit.Test;
+
+public class StatementFingerprinterTest {
+
+    private final StatementFingerprinter fingerprinter = new StatementFingerprinter();
+
+    private String normalize(String sql) throws JSQLParserException {
+        return fingerprinter.normalize(CCJSqlParserUtil.parse(sql));
+    }
+
+    private long fingerprint(String sql) throws JSQLParserException {
+        return fingerprinter.fingerprint(CCJSqlParserUtil.parse(sql));
+    }
+
+    @Test
+    public void testLiteralsAreReplaced() throws JSQLParserException {
+        assertEquals("SELECT a FROM tab WHERE b = ? AND c = ? AND d > ? AND e < ? AND f = ? AND g = ? LIMIT ?",
+                normalize("SELECT a FROM tab WHERE b = 1 AND c = 'x' AND d > 2.5 AND e < {d '2019-01-01'} "
+                        + "AND f = ? AND g = -3 LIMIT 10"));
+        assertEquals("SELECT a FROM tab WHERE b = ? AND c = ?",
+                normalize("SELECT a FROM tab WHERE b = 0xFF AND c = {ts '2019-01-01 10:00:00'}"));
+    }
+
+    @Test
+    public void testInListIsCollapsed() throws JSQLParserException {
+        assertEquals("SELECT a FROM tab WHERE b IN (?) AND c NOT IN (?)",
+                normalize("SELECT a FROM tab WHERE b IN (1, 2, 3) AND c NOT IN ('x', 'y')"));
+        assertEquals("SELECT a FROM tab WHERE (b, c) IN (?)",
+                normalize("SELECT a FROM tab WHERE (b, c) IN ('x', 'y')"));
+        assertEquals("SELECT a FROM tab WHERE b IN (SELECT c FROM tab2 WHERE d IN (?))",
+                normalize("SELECT a FROM tab WHERE b IN (SELECT c FROM tab2 WHERE d IN (1, 2))"));
+    }
+
+    @Test
+    public void testValuesRowsAreCollapsed() throws JSQLParserException {
+        assertEquals("INSERT INTO tab (a, b) VALUES (?, ?)",
+                normalize("INSERT INTO tab (a, b) VALUES (1, 'x'), (2, 'y'), (3, 'z')"));
+        assertEquals(fingerprint("INSERT INTO tab (a, b) VALUES (1, 'x')"),
+                fingerprint("INSERT INTO tab (a, b) VALUES (1, 'x'), (2, 'y')"));
+    }
+
+    @Test
+    public void testFingerprintOfSameShape() throws JSQLParserException {
+        assertEquals(fingerprint("SELECT a FROM tab WHERE b IN (1, 2, 3) AND c = 'x'"),
+                fingerprint("SELECT a FROM tab WHERE b IN (5) AND c = ?"));
+        assertEquals(fingerprint("UPDATE tab SET a = 1 WHERE b = 2"),
+                fingerprint("UPDATE tab SET a = 'x' WHERE b = ?"));
+    }
+
+    @Test
+    public void testFingerprintOfDifferentShape() throws JSQLParserException {
+        assertNotEquals(fingerprint("SELECT a FROM tab WHERE b = 1"),
+                fingerprint("SELECT a FROM tab WHERE c = 1"));
+        assertNotEquals(fingerprint("SELECT a FROM tab WHERE b = 1"),
+                fingerprint("SELECT a FROM tab WHERE b > 1"));
+        assertNotEquals(fingerprint("SELECT a FROM tab WHERE b = 1"),
+                fingerprint("SELECT a FROM tab2 WHERE b = 1"));
+    }
+
+    @Test
+    public void testFingerprintIsHashOfNormalizedText() throws JSQLParserException {
+        Statement statement = CCJSqlParserUtil.parse(
+                "SELECT t.a, count(*) FROM tab t JOIN tab2 u ON t.id = u.id WHERE t.b IN (1, 2) "
+                + "AND u.c LIKE 'x%' GROUP BY t.a HAVING count(*) > 3 ORDER BY t.a");
+        assertEquals(StatementFingerprinter.hash(fingerprinter.normalize(statement)),
+                fingerprinter.fingerprint(statement));
+        assertEquals(fingerprinter.fingerprint(statement), fingerprinter.fingerprint(statement));
+    }
+
+    @Test
+    public void testExpression() throws JSQLParserException {
+        assertEquals("a = ? OR b IN (?)",
+                fingerprinter.normalize(CCJSqlParserUtil.parseCondExpression("a = 1 OR b IN (1, 2)")));
+        assertEquals(fingerprinter.fingerprint(CCJSqlParserUtil.parseCondExpression("a = 1")),
+                fingerprinter.fingerprint(CCJSqlParserUtil.parseCondExpression("a = 'x'")));
+    }
+
+    @Test
+    public void testStatementIsNotModified() throws JSQLParserException {
+        String sql = "INSERT INTO tab (a) VALUES (1), (2)";
+        Statement statement = CCJSqlParserUtil.parse(sql);
+        fingerprinter.fingerprint(statement);
+        assertEquals(sql, statement.toString());
+    }
+}
@@ -0,0 +1,159 @@
+/*-
+ * #%L
+ * JSQLParser library
+ * %%
+ * Copyright (C) 2004 - 2019 JSQLParser
+ * %%
+ * Dual licensed under GNU LGPL 2.1 or Apache License 2.0
+ * #L%
+ */
+package net.sf.jsqlparser.util;
+
+import java.util.Set;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Table;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class TableAccessFinderTest {
+
+    private final TableAccessFinder finder = new TableAccessFinder();
+
+    private void assertAccess(String sql, String read, String written) throws JSQLParserException {
+        finder.find(CCJSqlParserUtil.parse(sql));
+        assertEquals(read, finder.getReadTables().toString());
+        assertEquals(written, finder.getWrittenTables().toString());
+    }
+
+    @Test
+    public void testSelect() throws JSQLParserException {
+        assertAccess("SELECT * FROM a, B b JOIN c ON b.x = (SELECT max(y) FROM d) "
+                + "WHERE EXISTS (SELECT 1 FROM A) AND x > ALL (SELECT z FROM e) "
+                + "AND rank() OVER (PARTITION BY (SELECT 1 FROM f) ORDER BY x) = 1", "[a, B, c, d, e, f]", "[]");
+    }
+
+    @Test
+    public void testCaseFoldingKeepsFirstSpelling() throws JSQLParserException {
+        assertAccess("SELECT * FROM Sch.Tab JOIN sch.TAB t2 ON 1 = 1 JOIN tab ON 1 = 1", "[Sch.Tab, tab]", "[]");
+        assertEquals("[Sch.Tab, tab]", finder.getTables().toString());
+    }
+
+    @Test
+    public void testWithItemsAreNotTables() throws JSQLParserException {
+        assertAccess("WITH w AS (SELECT * FROM a) SELECT * FROM W JOIN s.w ON 1 = 1", "[a, s.w]", "[]");
+    }
+
+    @Test
+    public void testWithItemReadingTableOfSameName() throws JSQLParserException {
+        assertAccess("WITH t AS (SELECT * FROM t) SELECT * FROM t", "[t]", "[]");
+        assertAccess("WITH v AS (SELECT * FROM w), w AS (SELECT * FROM v) SELECT * FROM w", "[w]", "[]");
+        assertAccess("WITH RECURSIVE r AS (SELECT 1 FROM a UNION ALL SELECT 1 FROM r) SELECT * FROM r",
+                "[a]", "[]");
+    }
+
+    @Test
+    public void testWithItemsAreScopedToTheirSelect() throws JSQLParserException {
+        assertAccess("SELECT * FROM x WHERE EXISTS (WITH a AS (SELECT 1 FROM b) SELECT * FROM a) "
+                + "AND y IN (SELECT z FROM a)", "[x, b, a]", "[]");
+    }
+
+    @Test
+    public void testSelectInto() throws JSQLParserException {
+        assertAccess("SELECT * INTO b FROM a", "[a]", "[b]");
+    }
+
+    @Test
+    public void testInsert() throws JSQLParserException {
+        assertAccess("INSERT INTO a (x) SELECT x FROM a JOIN b ON a.y = b.y", "[a, b]", "[a]");
+        assertEquals("[a, b]", finder.getTables().toString());
+        assertAccess("INSERT INTO a VALUES ((SELECT 1 FROM b)) ON DUPLICATE KEY UPDATE x = (SELECT 2 FROM c)",
+                "[b, c]", "[a]");
+    }
+
+    @Test
+    public void testUpdate() throws JSQLParserException {
+        assertAccess("UPDATE a SET x = (SELECT y FROM b) WHERE z IN (SELECT z FROM c)", "[b, c]", "[a]");
+        assertAccess("UPDATE a t1 JOIN b t2 ON t1.id = t2.id SET t2.x = t1.x", "[b]", "[a, b]");
+    }
+
+    @Test
+    public void testDelete() throws JSQLParserException {
+        assertAccess("DELETE FROM a WHERE x IN (SELECT x FROM b)", "[b]", "[a]");
+        assertAccess("DELETE t1 FROM a t1 INNER JOIN b t2 ON t1.id = t2.id", "[a, b]", "[a]");
+    }
+
+    @Test
+    public void testMergeReplaceUpsert() throws JSQLParserException {
+        assertAccess("MERGE INTO a USING b ON (a.id = b.id) WHEN MATCHED THEN UPDATE SET a.x = b.x",
+                "[b]", "[a]");
+        assertAccess("REPLACE INTO a (x) VALUES ((SELECT 1 FROM b))", "[b]", "[a]");
+        assertAccess("UPSERT INTO a SELECT * FROM b", "[b]", "[a]");
+    }
+
+    @Test
+    public void testDdl() throws JSQLParserException {
+        assertAccess("CREATE TABLE a (id INT, b_id INT, FOREIGN KEY (b_id) REFERENCES b (id))", "[b]", "[a]");
+        assertAccess("CREATE TABLE a AS SELECT * FROM b", "[b]", "[a]");
+        assertAccess("CREATE VIEW v AS SELECT * FROM a", "[a]", "[v]");
+        assertAccess("ALTER VIEW v AS SELECT * FROM a", "[a]", "[v]");
+        assertAccess("CREATE INDEX i ON a (x)", "[]", "[a]");
+        assertAccess("ALTER TABLE a ADD COLUMN x INT", "[]", "[a]");
+        assertAccess("DROP TABLE a", "[]", "[a]");
+        assertAccess("DROP INDEX i", "[]", "[]");
+        assertAccess("TRUNCATE TABLE a", "[]", "[a]");
+        assertAccess("COMMENT ON TABLE a IS 'x'", "[]", "[a]");
+    }
+
+    @Test
+    public void testOtherStatements() throws JSQLParserException {
+        assertAccess("DESCRIBE a", "[a]", "[]");
+        assertAccess("SHOW COLUMNS FROM a", "[a]", "[]");
+        assertAccess("EXPLAIN SELECT * FROM a", "[a]", "[]");
+        assertAccess("EXECUTE p (SELECT 1 FROM a)", "[a]", "[]");
+        assertAccess("SET x = (SELECT 1 FROM a)", "[a]", "[]");
+        assertAccess("USE db", "[]", "[]");
+        assertAccess("COMMIT", "[]", "[]");
+    }
+
+    @Test
+    public void testStatements() throws JSQLParserException {
+        finder.find(CCJSqlParserUtil.parseStatements(
+                "WITH w AS (SELECT * FROM a) SELECT * FROM w; INSERT INTO b SELECT * FROM w"));
+        assertEquals("[a, w]", finder.getReadTables().toString());
+        assertEquals("[b]", finder.getWrittenTables().toString());
+    }
+
+    @Test
+    public void testExpression() throws JSQLParserException {
+        finder.find(CCJSqlParserUtil.parseCondExpression("x IN (SELECT x FROM a)"));
+        assertEquals("[a]", finder.getReadTables().toString());
+    }
+
+    @Test
+    public void testReuse() throws JSQLParserException {
+        Set<String> tables = finder.getTables();
+        assertAccess("SELECT * FROM a", "[a]", "[]");
+        assertAccess("DELETE FROM b", "[]", "[b]");
+        assertSame(tables, finder.getTables());
+        assertEquals("[b]", tables.toString());
+    }
+
+    @Test
+    public void testExtractTableName() throws JSQLParserException {
+        TableAccessFinder withoutSchema = new TableAccessFinder() {
+            @Override
+            protected String extractTableName(Table table) {
+                return table.getName();
+            }
+        };
+        withoutSchema.find(CCJSqlParserUtil.parse("SELECT * FROM s.a JOIN t.A ON 1 = 1"));
+        assertEquals("[a]", withoutSchema.getTables().toString());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSetsAreUnmodifiable() {
+        finder.getTables().add("a");
+    }
+}
@@ -9,8 +9,12 @@
  */
 package net.sf.jsqlparser.util.cnfexpression;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.util.deparser.ExpressionDeParser;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
@@ -333,4 +337,90 @@ public class CNFTest {
         assertEquals(expected.toString(), result.toString());
     }
 
+    /**
+     * The purpose is to test the clause budget: the OR of three ANDs gives 8 clauses, with a
+     * budget of 4 the first AND is kept as a single element of the clauses.
+     */
+    @Test
+    public void testClauseBudget() throws Exception {
+        Expression expr = CCJSqlParserUtil.parseCondExpression(
+                "S.A = 1 AND S.B = 2 OR S.C = 3 AND S.D = 4 OR S.E = 5 AND S.F = 6");
+        Expression expected = CCJSqlParserUtil.parseCondExpression(
+                "((S.A = 1 AND S.B = 2) OR S.C = 3 OR S.E = 5) AND ((S.A = 1 AND S.B = 2) OR S.C = 3 OR S.F = 6)"
+                + " AND ((S.A = 1 AND S.B = 2) OR S.D = 4 OR S.E = 5) AND ((S.A = 1 AND S.B = 2) OR S.D = 4 OR S.F = 6)");
+        assertEquals(expected.toString(), CNFConverter.convertToCNF(expr, 4).toString());
+        assertEquals(CNFConverter.convertToCNF(expr).toString(), CNFConverter.convertToCNF(expr, 8).toString());
+        assertEquals("((S.A = 1 AND S.B = 2) OR (S.C = 3 AND S.D = 4) OR (S.E = 5 AND S.F = 6))",
+                CNFConverter.convertToCNF(expr, 1).toString());
+    }
+
+    /**
+     * The purpose is to test that a wide OR of ANDs, whose CNF form has 2^40 clauses, is
+     * converted within the budget.
+     */
+    @Test(timeout = 10000)
+    public void testWidePredicate() throws Exception {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            sql.append(i == 0 ? "" : " OR ").append("(S.A = ").append(i).append(" AND S.B = ").append(i).append(")");
+        }
+        Expression expr = CCJSqlParserUtil.parseCondExpression(sql.toString());
+        Expression result = CNFConverter.convertToCNF(expr, 1000);
+        assertEquals(512, result.toString().split("\\) AND \\(").length);
+        assertEquals(expr.toString(), CNFConverter.convertToDNF(expr).toString());
+    }
+
+    /**
+     * The purpose is to test the DNF conversion, the dual of the CNF conversion.
+     */
+    @Test
+    public void testDNF() throws Exception {
+        Expression expr = CCJSqlParserUtil.parseCondExpression(
+                "(S.A = 1 OR S.B = 2) AND NOT (S.C = 3 AND (S.D = 4 OR S.E = 5))");
+        Expression expected = CCJSqlParserUtil.parseCondExpression(
+                "(S.A = 1 AND NOT S.C = 3) OR (S.A = 1 AND NOT S.D = 4 AND NOT S.E = 5)"
+                + " OR (S.B = 2 AND NOT S.C = 3) OR (S.B = 2 AND NOT S.D = 4 AND NOT S.E = 5)");
+        assertEquals(expected.toString(), CNFConverter.convertToDNF(expr).toString());
+        assertEquals("((S.A = 1 OR S.B = 2) AND (NOT S.C = 3 OR (NOT S.D = 4 AND NOT S.E = 5)))",
+                CNFConverter.convertToDNF(expr, 1).toString());
+    }
+
+    /**
+     * The purpose is to test that the multiple expressions are accepted as input.
+     */
+    @Test
+    public void testMultipleExpressions() throws Exception {
+        Expression a = CCJSqlParserUtil.parseCondExpression("S.A = 1");
+        Expression b = CCJSqlParserUtil.parseCondExpression("S.B = 2");
+        Expression c = CCJSqlParserUtil.parseCondExpression("S.C = 3");
+        Expression expr = new MultiOrExpression(new ArrayList<>(Arrays.asList(
+                new MultiAndExpression(new ArrayList<>(Arrays.asList(a, b))), c)));
+        assertEquals("(S.C = 3 OR S.A = 1) AND (S.C = 3 OR S.B = 2)", CNFConverter.convertToCNF(expr).toString());
+        assertEquals("(S.A = 1 OR S.B = 2 OR S.C = 3)", CNFConverter.convertToCNF(
+                CCJSqlParserUtil.parseCondExpression("S.A = 1 OR S.B = 2 OR S.C = 3")).toString());
+    }
+
+    @Test
+    public void testDisjunctionInConjunctionIsParenthesized() throws Exception {
+        Expression a = CCJSqlParserUtil.parseCondExpression("a = 1");
+        Expression b = CCJSqlParserUtil.parseCondExpression("b = 2");
+        Expression c = CCJSqlParserUtil.parseCondExpression("c = 3");
+        Expression expr = new MultiAndExpression(new ArrayList<>(Arrays.asList(
+                new MultiOrExpression(new ArrayList<>(Arrays.asList(a, b))), c,
+                new OrExpression(a, c))));
+        String expected = "(a = 1 OR b = 2) AND c = 3 AND (a = 1 OR c = 3)";
+        assertEquals(expected, expr.toString());
+        ExpressionDeParser deParser = new ExpressionDeParser();
+        expr.accept(deParser);
+        assertEquals(expected, deParser.getBuffer().toString());
+
+        expr = new MultiOrExpression(new ArrayList<>(Arrays.asList(
+                new MultiAndExpression(new ArrayList<>(Arrays.asList(a, b))), c)));
+        assertEquals("a = 1 AND b = 2 OR c = 3", expr.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBudget() throws Exception {
+        CNFConverter.convertToCNF(CCJSqlParserUtil.parseCondExpression("S.A = 1"), 0);
+    }
 }